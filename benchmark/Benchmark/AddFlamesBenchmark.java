@@ -0,0 +1,75 @@
+package Benchmark;
+
+import GameObject.Flame;
+import GameObject.GameObject;
+import GameObject.Player;
+import GameObject.TileMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of the flames of an explosion in the middle of the grid for different bomb radii.
+ * An explosion destroys the brick walls it reaches, so the walls and the flames are restored before each
+ * explosion. The cost of the restoration alone is measured by the restoreGrid benchmark. The flames of the
+ * previous explosion are released to the pool of the grid, as they are when they expire during a game, so
+ * the explosions reuse them instead of allocating new ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddFlamesBenchmark {
+
+    @Param({"1", "3", "5", "10"})
+    public int bombRadius;
+
+    private TileMap tileMap;
+    private GameObject[][] originalWalls;
+    private GameObject[][] walls;
+    private int bombPosX;
+    private int bombPosY;
+
+    @Setup
+    public void setUp() {
+        Player player = Fixtures.createPlayer();
+        tileMap = Fixtures.createTileMap(player, 1);
+        tileMap.setBombRadius(bombRadius);
+        originalWalls = tileMap.getWalls();
+        walls = new GameObject[TileMap.NUM_OF_COLS][TileMap.NUM_OF_ROWS];
+        //Open tile in the middle of the grid.
+        bombPosX = Fixtures.toPixels(15);
+        bombPosY = Fixtures.toPixels(5);
+    }
+
+    @Benchmark
+    public ArrayList<Flame> restoreGrid() {
+        restore();
+        return tileMap.getFlames();
+    }
+
+    @Benchmark
+    public ArrayList<Flame> addFlames() {
+        restore();
+        tileMap.addFlames(bombPosX, bombPosY);
+        return tileMap.getFlames();
+    }
+
+    /**
+     * Put back the walls destroyed by the previous explosion and release its flames to the pool.
+     */
+    private void restore() {
+        for (int col = 0; col < TileMap.NUM_OF_COLS; col++) {
+            System.arraycopy(originalWalls[col], 0, walls[col], 0, TileMap.NUM_OF_ROWS);
+        }
+        tileMap.setWalls(walls);
+        ArrayList<Flame> flames = tileMap.getFlames();
+        for (int i = 0; i < flames.size(); i++) {
+            tileMap.getFlamePool().release(flames.get(i));
+        }
+        flames.clear();
+    }
+}
@@ -0,0 +1,79 @@
+package Benchmark;
+
+import GameObject.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the explosion of a chain of bombs placed on every other open tile of the grid, started by a
+ * single bomb. The walls destroyed by the chain, its flames and the bombs are restored before each chain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChainReactionBenchmark {
+
+    @Param({"8", "32", "128"})
+    public int bombCount;
+
+    private TileMap tileMap;
+    private ExplosionEngine engine;
+    private GameObject[][] originalWalls;
+    private GameObject[][] walls;
+    private ArrayList<Bomb> bombs;
+    private ArrayList<Bomb> placedBombs;
+
+    @Setup
+    public void setUp() {
+        Player player = Fixtures.createPlayer();
+        tileMap = Fixtures.createTileMap(player, 1);
+        tileMap.setBombRadius(2);
+        engine = tileMap.getExplosionEngine();
+        originalWalls = tileMap.getWalls();
+        walls = new GameObject[TileMap.NUM_OF_COLS][TileMap.NUM_OF_ROWS];
+
+        //The bombs are placed on the open tiles of the odd rows, two tiles apart, so each blast reaches the next bomb.
+        placedBombs = new ArrayList<Bomb>();
+        for (int row = 1; row < TileMap.NUM_OF_ROWS - 1 && placedBombs.size() < bombCount; row += 2) {
+            for (int col = 1; col < TileMap.NUM_OF_COLS - 1 && placedBombs.size() < bombCount; col += 2) {
+                placedBombs.add(new Bomb(Fixtures.toPixels(col), Fixtures.toPixels(row)));
+            }
+        }
+        bombs = new ArrayList<Bomb>();
+    }
+
+    @Benchmark
+    public int detonateChain() {
+        restore();
+        bombs.get(0).setVisible(false);
+        return engine.detonate(bombs);
+    }
+
+    /**
+     * Put back the walls destroyed by the previous chain, release its flames to the pool and place the bombs again.
+     */
+    private void restore() {
+        for (int col = 0; col < TileMap.NUM_OF_COLS; col++) {
+            System.arraycopy(originalWalls[col], 0, walls[col], 0, TileMap.NUM_OF_ROWS);
+        }
+        tileMap.setWalls(walls);
+        ArrayList<Flame> flames = tileMap.getFlames();
+        for (int i = 0; i < flames.size(); i++) {
+            tileMap.getFlamePool().release(flames.get(i));
+        }
+        flames.clear();
+        tileMap.getBitboard().syncFlames(flames);
+
+        bombs.clear();
+        for (int i = 0; i < placedBombs.size(); i++) {
+            Bomb bomb = placedBombs.get(i);
+            bomb.reset(bomb.getPosX(), bomb.getPosY());
+            bombs.add(bomb);
+        }
+    }
+}
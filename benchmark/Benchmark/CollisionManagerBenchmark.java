@@ -0,0 +1,61 @@
+package Benchmark;
+
+import GameObject.*;
+import GamePlay.CollisionManager;
+import GamePlay.Coordinate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full pass of collision handling with an increasing number of enemies on the grid.
+ * The enemies are placed on free tiles away from the player, so that the state of the objects is
+ * not modified by the collisions and every invocation does the same amount of work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionManagerBenchmark {
+
+    @Param({"0", "8", "32", "128"})
+    public int enemyCount;
+
+    private Player player;
+    private TileMap tileMap;
+    private CollisionManager collisionManager;
+
+    @Setup
+    public void setUp() {
+        player = Fixtures.createPlayer();
+        tileMap = Fixtures.createTileMap(player, 1);
+        collisionManager = new CollisionManager(player, tileMap, null);
+
+        //Fill the free tiles away from the spawn area of the player with enemies, several per tile if needed.
+        GameObject[][] walls = tileMap.getWalls();
+        ArrayList<Coordinate> freeTiles = new ArrayList<Coordinate>();
+        for (int col = 0; col < TileMap.NUM_OF_COLS; col++) {
+            for (int row = 0; row < TileMap.NUM_OF_ROWS; row++) {
+                if (walls[col][row] == null && row + col > 4) freeTiles.add(new Coordinate(row, col));
+            }
+        }
+        Random random = Fixtures.createRandom();
+        ArrayList<Enemy> enemies = new ArrayList<Enemy>();
+        for (int i = 0; i < enemyCount; i++) {
+            Coordinate tile = freeTiles.get(i % freeTiles.size());
+            enemies.add(new Enemy(EnemyType.BALLOOM, Fixtures.toPixels(tile.getCol()), Fixtures.toPixels(tile.getRow()), random));
+        }
+        tileMap.setEnemies(enemies);
+    }
+
+    @Benchmark
+    public Player handleCollisions() {
+        collisionManager.handleCollisions(tileMap.getWalls(), tileMap.getEnemies(),
+                player.getBombsPlaced(), tileMap.getFlames(), tileMap.getPowerUp(), tileMap.getDoor(), false);
+        return player;
+    }
+}
@@ -0,0 +1,48 @@
+package Benchmark;
+
+import GameObject.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the movement of tens of thousands of enemies during a tick, which runs over the slots of the
+ * enemy store of the grid. The player is hidden, so only the movement of the enemies is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnemyStoreBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int enemyCount;
+
+    private TileMap tileMap;
+
+    @Setup
+    public void setUp() {
+        Player player = Fixtures.createPlayer();
+        tileMap = Fixtures.createTileMap(player, 1);
+
+        EnemyType[] types = EnemyType.values();
+        Random random = Fixtures.createRandom();
+        ArrayList<Enemy> enemies = new ArrayList<Enemy>();
+        for (int i = 0; i < enemyCount; i++) {
+            int col = 1 + 2 * (i % 15);
+            int row = 1 + 2 * ((i / 15) % 6);
+            enemies.add(new Enemy(types[i % types.length], Fixtures.toPixels(col), Fixtures.toPixels(row), random));
+        }
+        tileMap.setEnemies(enemies);
+    }
+
+    @Benchmark
+    public EnemyStore moveEnemies() {
+        tileMap.moveEnemies(Fixtures.toPixels(1), Fixtures.toPixels(1), false);
+        return tileMap.getEnemyStore();
+    }
+}
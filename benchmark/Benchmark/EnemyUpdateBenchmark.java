@@ -0,0 +1,85 @@
+package Benchmark;
+
+import GameObject.*;
+import GameObject.ArtificialIntelligence.PathFinder;
+import GameObject.ArtificialIntelligence.ThinkPhase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the think and commit phases of the update of a horde of high intelligence enemies surrounding
+ * the player, with the think phase running on the calling thread or across the fork-join pool. Every
+ * invocation puts the enemies back on their tiles and empties the path cache, so every chaser needs a
+ * new path, and the frame budget is large enough for every search to finish during the invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnemyUpdateBenchmark {
+
+    @Param({"64", "512", "2048"})
+    public int enemyCount;
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    private static final int PLAYER_COL = 15;
+    private static final int PLAYER_ROW = 7;
+
+    private PathFinder pathFinder;
+    private ThinkPhase thinkPhase;
+    private ArrayList<Enemy> enemies;
+    private int[] spawnX;
+    private int[] spawnY;
+
+    @Setup
+    public void setUp() {
+        Player player = Fixtures.createPlayer();
+        TileMap tileMap = Fixtures.createTileMap(player, 45);
+        pathFinder = tileMap.getPathFinder();
+        pathFinder.setDistanceFieldEnabled(false);
+        pathFinder.getPathScheduler().setFrameBudget(Integer.MAX_VALUE);
+        thinkPhase = tileMap.getThinkPhase();
+        thinkPhase.setParallelThreshold(parallel ? 0 : Integer.MAX_VALUE);
+
+        //Spread the enemies over the tiles close enough to the player to start a chase.
+        EnemyType[] types = {EnemyType.KONDORIA, EnemyType.PASS, EnemyType.PONTAN};
+        Random random = Fixtures.createRandom();
+        enemies = new ArrayList<Enemy>();
+        spawnX = new int[enemyCount];
+        spawnY = new int[enemyCount];
+        int[][] offsets = {{-2, 0}, {2, 0}, {0, -2}, {0, 2}, {-1, 0}, {1, 0}, {0, -1}, {0, 1},
+                           {-1, -1}, {1, 1}, {-1, 1}, {1, -1}, {-2, 1}, {2, -1}, {1, 2}, {-1, -2}};
+        for (int i = 0; i < enemyCount; i++) {
+            int[] offset = offsets[i % offsets.length];
+            spawnX[i] = Fixtures.toPixels(PLAYER_COL + offset[0]);
+            spawnY[i] = Fixtures.toPixels(PLAYER_ROW + offset[1]);
+            enemies.add(new Enemy(types[i % types.length], spawnX[i], spawnY[i], random));
+        }
+        tileMap.setEnemies(enemies);
+    }
+
+    @Benchmark
+    public ArrayList<Enemy> thinkAndCommit() {
+        for (int i = 0; i < enemyCount; i++) {
+            enemies.get(i).setPosX(spawnX[i]);
+            enemies.get(i).setPosY(spawnY[i]);
+        }
+        pathFinder.getPathCache().clear();
+        pathFinder.getPathScheduler().startFrame();
+
+        int playerPosX = Fixtures.toPixels(PLAYER_COL);
+        int playerPosY = Fixtures.toPixels(PLAYER_ROW);
+        thinkPhase.run(enemies, playerPosX, playerPosY);
+        for (int i = 0; i < enemyCount; i++) {
+            enemies.get(i).chasePlayer(playerPosX, playerPosY, thinkPhase.getDistance(i));
+        }
+        return enemies;
+    }
+}
@@ -0,0 +1,65 @@
+package Benchmark;
+
+import GameObject.MovableObject;
+import GameObject.Player;
+import GameObject.TileMap;
+import SystemController.SoundController;
+
+import java.util.Random;
+
+/**
+ * Builds the objects used by the benchmarks from the real stage data of the game. The random number
+ * generators given to the games are seeded so that two runs of a benchmark measure the same grids and enemies.
+ */
+public final class Fixtures {
+
+    public static final long SEED = 321L;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Mute the sounds of the game.
+     */
+    public static void muteSounds() {
+        SoundController.setMuted(true);
+    }
+
+    /**
+     * Create a random number generator for a game, seeded with the seed of the benchmarks.
+     * @return A new Random object.
+     */
+    public static Random createRandom() {
+        return new Random(SEED);
+    }
+
+    /**
+     * Create a player at its spawn location.
+     * @return A new Player object.
+     */
+    public static Player createPlayer() {
+        return new Player(33, 33, true, MovableObject.NORMALSPEED);
+    }
+
+    /**
+     * Create the TileMap of a stage of the game, populated following Stages.gameStages.
+     * @param player The player of the stage.
+     * @param stage The stage number.
+     * @return A new TileMap object, not associated to any user.
+     */
+    public static TileMap createTileMap(Player player, int stage) {
+        muteSounds();
+        TileMap tileMap = new TileMap(player, stage, null, createRandom());
+        player.setTileMap(tileMap);
+        return tileMap;
+    }
+
+    /**
+     * Convert a tile column or row to the pixel coordinate of its top left corner.
+     * @param tile The column or row of the tile.
+     * @return The corresponding x or y coordinate.
+     */
+    public static int toPixels(int tile) {
+        return tile * TileMap.TILE_SIDE_LENGTH;
+    }
+}
@@ -0,0 +1,59 @@
+package Benchmark;
+
+import GamePlay.GamePlayManager;
+import SystemController.GameFileManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving a game in progress and loading it back, for games at different stages.
+ * The files are written to a temporary directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameFileManagerBenchmark {
+
+    private static final String USER_NAME = "benchmark";
+    private static final String FILE_NAME = "benchmarkSave";
+
+    @Param({"1", "45"})
+    public int stage;
+
+    private GamePlayManager gamePlayManager;
+    private File directory;
+
+    @Setup
+    public void setUp() throws Exception {
+        Fixtures.muteSounds();
+        gamePlayManager = new GamePlayManager(stage, Fixtures.createRandom());
+
+        File root = File.createTempFile("bomberman", "saves");
+        root.delete();
+        directory = new File(root, USER_NAME);
+        directory.mkdirs();
+        GameFileManager.saveDirectory = root.getPath() + File.separator;
+        GameFileManager.setUserName(USER_NAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) file.delete();
+        }
+        directory.delete();
+        directory.getParentFile().delete();
+    }
+
+    @Benchmark
+    public GamePlayManager saveAndLoadGame() {
+        GameFileManager.saveGame(gamePlayManager, FILE_NAME);
+        return GameFileManager.loadGame(FILE_NAME);
+    }
+}
@@ -0,0 +1,68 @@
+package Benchmark;
+
+import GameObject.ArtificialIntelligence.PathFinder;
+import GameObject.GameObject;
+import GameObject.Player;
+import GameObject.TileMap;
+import GamePlay.Coordinate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the A* search used by the high intelligence enemies, between the spawn location of the
+ * player and the opposite corner of the grid, on the walls generated for different stages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathFinderBenchmark {
+
+    @Param({"1", "20", "45"})
+    public int stage;
+
+    @Param({"false", "true"})
+    public boolean wallPass;
+
+    private PathFinder pathFinder;
+    private int start;
+    private int goal = -1;
+    private int goalCol;
+    private int goalRow;
+
+    @Setup
+    public void setUp() {
+        Player player = Fixtures.createPlayer();
+        TileMap tileMap = Fixtures.createTileMap(player, stage);
+        pathFinder = new PathFinder();
+        pathFinder.updateGraph(tileMap.getWalls());
+        //The goal is the free tile closest to the corner opposite to the spawn location of the player.
+        GameObject[][] walls = tileMap.getWalls();
+        for (int col = TileMap.NUM_OF_COLS - 2; col > 0 && goal == -1; col--) {
+            for (int row = TileMap.NUM_OF_ROWS - 2; row > 0 && goal == -1; row--) {
+                if (walls[col][row] == null) {
+                    goalCol = col;
+                    goalRow = row;
+                    //The graph only holds the interior of the grid, without the surrounding concrete walls.
+                    goal = pathFinder.toIndex(row - 1, col - 1);
+                }
+            }
+        }
+        start = pathFinder.toIndex(0, 0);
+    }
+
+    @Benchmark
+    public ArrayList<Coordinate> aStar() {
+        return pathFinder.aStar(start, goal, wallPass);
+    }
+
+    @Benchmark
+    public ArrayList<Coordinate> findPath() {
+        return pathFinder.findPath(Fixtures.toPixels(1), Fixtures.toPixels(1),
+                Fixtures.toPixels(goalCol), Fixtures.toPixels(goalRow), wallPass);
+    }
+}
@@ -0,0 +1,75 @@
+package Benchmark;
+
+import GameObject.ArtificialIntelligence.DistanceField;
+import GameObject.ArtificialIntelligence.PathFinder;
+import GameObject.ArtificialIntelligence.SearchAlgorithm;
+import GameObject.Player;
+import GameObject.TileMap;
+import GamePlay.Coordinate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the A* algorithm and the Jump Point Search between the spawn location of the player and
+ * the furthest tile it can reach, on a grid cleared of brick walls and on the brick walls generated
+ * for a late stage. Besides the time
+ * per search, the number of tiles expanded by each search is reported as a secondary result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathSearchBenchmark {
+
+    @Param({"A_STAR", "JUMP_POINT_SEARCH"})
+    public SearchAlgorithm algorithm;
+
+    @Param({"cleared", "dense"})
+    public String layout;
+
+    private PathFinder pathFinder;
+    private int start;
+    private int goal;
+
+    /**
+     * Number of tiles expanded by the searches, reported by JMH alongside the time per search.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ExpandedNodes {
+        public long expandedNodes;
+    }
+
+    @Setup
+    public void setUp() {
+        pathFinder = new PathFinder();
+        if (layout.equals("dense")) {
+            Player player = Fixtures.createPlayer();
+            TileMap tileMap = Fixtures.createTileMap(player, 45);
+            pathFinder.updateGraph(tileMap.getWalls());
+        }
+        pathFinder.setSearchAlgorithm(algorithm);
+
+        //The goal is the reachable tile furthest from the start, so a path always exists.
+        start = pathFinder.toIndex(0, 0);
+        DistanceField distanceField = new DistanceField(pathFinder, false);
+        distanceField.update(start);
+        for (int index = 0; index < pathFinder.getNumOfTiles(); index++) {
+            int distance = distanceField.getDistance(index);
+            if (distance != DistanceField.UNREACHABLE && distance > distanceField.getDistance(goal)) {
+                goal = index;
+            }
+        }
+    }
+
+    @Benchmark
+    public ArrayList<Coordinate> findShortestPath(ExpandedNodes counters) {
+        ArrayList<Coordinate> path = pathFinder.findShortestPath(start, goal, false);
+        counters.expandedNodes += pathFinder.getLastExpandedNodes();
+        return path;
+    }
+}
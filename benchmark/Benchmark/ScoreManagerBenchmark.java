@@ -0,0 +1,52 @@
+package Benchmark;
+
+import GameObject.Enemy;
+import GameObject.EnemyType;
+import GameObject.KillSet;
+import GamePlay.Coordinate;
+import GamePlay.ScoreManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the computation of the score obtained from the enemies killed during a tick, with the kills
+ * split between two bombs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreManagerBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int kills;
+
+    private ScoreManager scoreManager;
+    private ArrayList<KillSet> enemiesKilled;
+
+    @Setup
+    public void setUp() {
+        Fixtures.muteSounds();
+        Random random = Fixtures.createRandom();
+        scoreManager = new ScoreManager();
+        enemiesKilled = new ArrayList<KillSet>();
+        EnemyType[] types = EnemyType.values();
+        Coordinate[] bombs = {new Coordinate(5, 5), new Coordinate(7, 21)};
+        for (int i = 0; i < kills; i++) {
+            Coordinate bomb = bombs[i % bombs.length];
+            Coordinate death = new Coordinate(bomb.getRow(), bomb.getCol() + i);
+            Enemy enemy = new Enemy(types[i % types.length], Fixtures.toPixels(death.getCol()), Fixtures.toPixels(death.getRow()), random);
+            enemiesKilled.add(new KillSet(death, bomb, enemy));
+        }
+    }
+
+    @Benchmark
+    public int determineScoreFromKills() {
+        return scoreManager.determineScoreFromKills(enemiesKilled);
+    }
+}
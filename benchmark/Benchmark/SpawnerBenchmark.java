@@ -0,0 +1,47 @@
+package Benchmark;
+
+import GameObject.Enemy;
+import GameObject.GameObject;
+import GameObject.Stages;
+import GamePlay.Spawner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generation of the walls and the enemies of a stage, as done every time a stage begins.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnerBenchmark {
+
+    @Param({"1", "20", "45"})
+    public int stage;
+
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        Fixtures.muteSounds();
+        random = Fixtures.createRandom();
+    }
+
+    @Benchmark
+    public GameObject[][] generateWalls() {
+        return new Spawner(Stages.gameStages[stage], random).generateWalls();
+    }
+
+    @Benchmark
+    public ArrayList<Enemy> generateWallsAndEnemies() {
+        //The enemies are placed on the free tiles found while generating the walls.
+        Spawner spawner = new Spawner(Stages.gameStages[stage], random);
+        spawner.generateWalls();
+        return spawner.generateEnemies();
+    }
+}
@@ -0,0 +1,328 @@
+package GameObject.ArtificialIntelligence;
+
+import GamePlay.Coordinate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Search state of the A* algorithm run by the PathFinder. The state is not shared between threads:
+ * each thread keeps its own instance, so several searches can run at the same time on the same graph,
+ * or on the graphs of different games, without corrupting each other. The arrays are reused from one
+ * search to the next. Subclasses can change which tiles are reached from an expanded tile.
+ *
+ * A search can also be run in slices: startSearch prepares it, resume expands a limited number of
+ * tiles and can be called again until the search is finished, and getPath returns the result.
+ */
+public class AStarSearch {
+
+    protected static final int NO_PARENT = -1;
+
+    protected PathFinder pathFinder;
+    protected int graphRows;
+    protected int graphCols;
+    // Number of bits of the open set keys holding the estimated cost to the destination,
+    // which is at most graphRows + graphCols.
+    private int heuristicBits;
+
+    // Search arrays, indexed by tile. They are only valid for the tiles stamped
+    // with the current generation.
+    private int[] costFromStart;
+    protected int[] parent;
+    private int[] visitedGeneration;
+    private int[] closedGeneration;
+    private int[] pathScratch;
+    private int generation;
+
+    // Binary heap used as the open set of the search.
+    private int[] openSetNodes;
+    private int[] openSetKeys;
+    private int openSetSize;
+    // Number of tiles expanded by the last search.
+    private int expandedNodes;
+
+    // Query of the current search, kept so that it can be resumed.
+    private int startIndex;
+    private int goalIndex;
+    private boolean enemyHasWallPass;
+    private boolean finished;
+    private boolean pathFound;
+
+    /**
+     * The A* algorithm calculates the shortest path between two specified tiles in the graph,
+     * it is similar to a Dijkstra's algorithm but with certain heuristics to optimize it in
+     * a number of ways. The open set is a binary heap ordered by
+     * the overall cost of the tiles, and the cost, parent and closed values of a tile are only valid when
+     * they are stamped with the generation of the current search, so nothing is cleared between calls.
+     * @param pathFinder The PathFinder holding the graph representation of the grid.
+     * @param startIndex The index of the starting tile, as returned by toIndex.
+     * @param goalIndex The index of the destination tile, as returned by toIndex.
+     * @param enemyHasWallPass Boolean specifying whether the enemy can go walk through brick walls.
+     * @return An ArrayList containing the set of coordinates that we need to traverse in order to go
+     * from the starting tile to the destination tile. If no path exists, it only contains the starting tile.
+     */
+    public ArrayList<Coordinate> findPath(PathFinder pathFinder, int startIndex, int goalIndex, boolean enemyHasWallPass) {
+        startSearch(pathFinder, startIndex, goalIndex, enemyHasWallPass);
+        resume(Integer.MAX_VALUE);
+        return getPath();
+    }
+
+    /**
+     * Prepares a search between two tiles, without expanding any tile yet.
+     * @param pathFinder The PathFinder holding the graph representation of the grid.
+     * @param startIndex The index of the starting tile, as returned by toIndex.
+     * @param goalIndex The index of the destination tile, as returned by toIndex.
+     * @param enemyHasWallPass Boolean specifying whether the enemy can go walk through brick walls.
+     */
+    public void startSearch(PathFinder pathFinder, int startIndex, int goalIndex, boolean enemyHasWallPass) {
+        prepare(pathFinder);
+        this.startIndex = startIndex;
+        this.goalIndex = goalIndex;
+        this.enemyHasWallPass = enemyHasWallPass;
+        this.finished = false;
+        this.pathFound = false;
+
+        visitedGeneration[startIndex] = generation;
+        costFromStart[startIndex] = 0;
+        parent[startIndex] = NO_PARENT;
+        pushToOpenSet(startIndex, 0, pathFinder.estimateDistance(startIndex, goalIndex));
+    }
+
+    /**
+     * Continues the current search until it is finished or the number of tiles passed has been expanded.
+     * A search started with startSearch finishes within a single call if and only if it needs at most
+     * maxExpandedNodes expansions, which is the number getExpandedNodes returns once it is finished.
+     * The graph must not change between the calls, otherwise the search has to be started again.
+     * @param maxExpandedNodes The maximum number of tiles expanded by this call.
+     * @return A boolean specifying whether the search is finished.
+     */
+    public boolean resume(int maxExpandedNodes) {
+        int expandedBefore = expandedNodes;
+        while (!finished && openSetSize > 0) {
+            int current = openSetNodes[0];
+
+            // A tile can be in the heap multiple times if a cheaper way to reach it was found
+            // after it was first added. Only its first removal is expanded.
+            if (closedGeneration[current] == generation) {
+                popFromOpenSet();
+                continue;
+            }
+
+            // If the current tile equals the destination, we have found a path
+            // connecting the two tiles.
+            if (current == goalIndex) {
+                pathFound = true;
+                break;
+            }
+
+            // Only the expansions are limited, reaching the destination does not use the budget.
+            if (expandedNodes - expandedBefore >= maxExpandedNodes) return false;
+            popFromOpenSet();
+            closedGeneration[current] = generation;
+            expandedNodes++;
+            expand(current, goalIndex, enemyHasWallPass);
+        }
+        finished = true;
+        return true;
+    }
+
+    /**
+     * Get the result of the current search, once it is finished.
+     * @return An ArrayList containing the set of coordinates that we need to traverse in order to go
+     * from the starting tile to the destination tile. If no path exists, it only contains the starting tile.
+     */
+    public ArrayList<Coordinate> getPath() {
+        // In certain scenarios the enemy won't be able to find a path to the player
+        // because they are cutoff by the presence of brick walls. The enemy then stays on its tile.
+        if (!pathFound) {
+            ArrayList<Coordinate> coordinates = new ArrayList<Coordinate>();
+            coordinates.add(pathFinder.toCoordinate(startIndex));
+            return coordinates;
+        }
+
+        return buildPath(goalIndex);
+    }
+
+    /**
+     * Reaches the tiles adjacent to the tile being expanded. Moving to an adjacent tile costs 1,
+     * plus an extra cost if the tile is endangered by a bomb or a flame.
+     * @param current The index of the tile being expanded.
+     * @param goalIndex The index of the destination tile.
+     * @param enemyHasWallPass Boolean specifying whether the enemy can go walk through brick walls.
+     */
+    protected void expand(int current, int goalIndex, boolean enemyHasWallPass) {
+        int row = current / graphCols;
+        int col = current % graphCols;
+        if (row > 0 && pathFinder.isPassable(current - graphCols, enemyHasWallPass)) {
+            relaxNeighbor(current, current - graphCols, pathFinder.getStepCost(current - graphCols), goalIndex);
+        }
+        if (row < graphRows - 1 && pathFinder.isPassable(current + graphCols, enemyHasWallPass)) {
+            relaxNeighbor(current, current + graphCols, pathFinder.getStepCost(current + graphCols), goalIndex);
+        }
+        if (col > 0 && pathFinder.isPassable(current - 1, enemyHasWallPass)) {
+            relaxNeighbor(current, current - 1, pathFinder.getStepCost(current - 1), goalIndex);
+        }
+        if (col < graphCols - 1 && pathFinder.isPassable(current + 1, enemyHasWallPass)) {
+            relaxNeighbor(current, current + 1, pathFinder.getStepCost(current + 1), goalIndex);
+        }
+    }
+
+    /**
+     * Updates the cost of reaching a tile if going through the current tile is cheaper than
+     * the best way found so far, and adds it to the open set.
+     * @param current The index of the tile being expanded.
+     * @param neighbor The index of the tile reached, which must be passable.
+     * @param stepCost The cost of going from the current tile to the tile reached.
+     * @param goalIndex The index of the destination tile.
+     */
+    protected void relaxNeighbor(int current, int neighbor, int stepCost, int goalIndex) {
+        if (closedGeneration[neighbor] == generation) return;
+
+        int nextG = costFromStart[current] + stepCost;
+        if (visitedGeneration[neighbor] != generation || nextG < costFromStart[neighbor]) {
+            visitedGeneration[neighbor] = generation;
+            costFromStart[neighbor] = nextG;
+            parent[neighbor] = current;
+            pushToOpenSet(neighbor, nextG, pathFinder.estimateDistance(neighbor, goalIndex));
+        }
+    }
+
+    /**
+     * Follows the parent references from the destination back to the start, and builds the path
+     * from the start to the destination. Contiguous links are left out, for example if the path
+     * traverses the coordinates (0,1) -> (0,2) -> (0,3), the middle link is not needed by the
+     * traversal algorithm and the chain becomes (0,1) -> (0,3).
+     * @param goalIndex The index of the destination tile.
+     * @return An ArrayList containing the start, the turns taken, and the destination.
+     */
+    private ArrayList<Coordinate> buildPath(int goalIndex) {
+        int length = 0;
+        for (int index = goalIndex; index != NO_PARENT; index = parent[index]) {
+            pathScratch[length++] = index;
+        }
+
+        // The scratch array holds the path from the destination to the start, we invert it.
+        ArrayList<Coordinate> coordinates = new ArrayList<Coordinate>();
+        for (int i = length - 1; i >= 0; i--) {
+            boolean isEndpoint = i == 0 || i == length - 1;
+            if (isEndpoint || !isStraightLink(pathScratch[i + 1], pathScratch[i], pathScratch[i - 1])) {
+                coordinates.add(pathFinder.toCoordinate(pathScratch[i]));
+            }
+        }
+        return coordinates;
+    }
+
+    /**
+     * Determine whether three consecutive tiles of a path lie on the same row or column. The tiles
+     * don't need to be adjacent, the tiles reached by a jump lie further away.
+     * @param previous The index of the first tile.
+     * @param middle The index of the second tile.
+     * @param next The index of the third tile.
+     * @return A boolean specifying whether the middle tile can be left out of the path.
+     */
+    private boolean isStraightLink(int previous, int middle, int next) {
+        boolean sameRow = previous / graphCols == middle / graphCols && middle / graphCols == next / graphCols;
+        boolean sameCol = previous % graphCols == middle % graphCols && middle % graphCols == next % graphCols;
+        return sameRow || sameCol;
+    }
+
+    /**
+     * Starts a new search by advancing the generation used to stamp the search arrays,
+     * which invalidates the values left by the previous search.
+     * @param pathFinder The PathFinder holding the graph searched.
+     */
+    private void prepare(PathFinder pathFinder) {
+        this.pathFinder = pathFinder;
+        this.graphRows = pathFinder.getGraphRows();
+        this.graphCols = pathFinder.getGraphCols();
+        this.heuristicBits = 32 - Integer.numberOfLeadingZeros(graphRows + graphCols);
+
+        // The arrays are allocated again if this thread searches a graph of a different size.
+        int numOfTiles = pathFinder.getNumOfTiles();
+        if (costFromStart == null || costFromStart.length != numOfTiles) {
+            costFromStart = new int[numOfTiles];
+            parent = new int[numOfTiles];
+            visitedGeneration = new int[numOfTiles];
+            closedGeneration = new int[numOfTiles];
+            pathScratch = new int[numOfTiles];
+            // Every tile is added at most once per edge leading to it, plus the start.
+            openSetNodes = new int[4 * numOfTiles + 1];
+            openSetKeys = new int[4 * numOfTiles + 1];
+            generation = 0;
+        }
+
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(visitedGeneration, 0);
+            Arrays.fill(closedGeneration, 0);
+            generation = 1;
+        }
+        openSetSize = 0;
+        expandedNodes = 0;
+    }
+
+    /**
+     * Adds a tile to the open set. Tiles are ordered by their overall cost, ties are broken in favour
+     * of the tile closest to the destination.
+     * @param index The index of the tile.
+     * @param costFromStart The cost to reach the tile from the start.
+     * @param estimatedCost The estimated cost to reach the destination from the tile.
+     */
+    private void pushToOpenSet(int index, int costFromStart, int estimatedCost) {
+        int key = ((costFromStart + estimatedCost) << heuristicBits) | estimatedCost;
+
+        // Sift the new entry up from the bottom of the heap.
+        int position = openSetSize++;
+        while (position > 0) {
+            int parentPosition = (position - 1) >> 1;
+            if (openSetKeys[parentPosition] <= key) break;
+            openSetNodes[position] = openSetNodes[parentPosition];
+            openSetKeys[position] = openSetKeys[parentPosition];
+            position = parentPosition;
+        }
+        openSetNodes[position] = index;
+        openSetKeys[position] = key;
+    }
+
+    /**
+     * Removes the tile with the lowest overall cost from the open set.
+     * @return The index of the tile removed.
+     */
+    private int popFromOpenSet() {
+        int top = openSetNodes[0];
+        int lastNode = openSetNodes[--openSetSize];
+        int lastKey = openSetKeys[openSetSize];
+
+        // Sift the last entry down from the top of the heap.
+        int position = 0;
+        int half = openSetSize >> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < openSetSize && openSetKeys[child + 1] < openSetKeys[child]) child++;
+            if (lastKey <= openSetKeys[child]) break;
+            openSetNodes[position] = openSetNodes[child];
+            openSetKeys[position] = openSetKeys[child];
+            position = child;
+        }
+        openSetNodes[position] = lastNode;
+        openSetKeys[position] = lastKey;
+        return top;
+    }
+
+    /**
+     * Determine whether the current search is finished.
+     * @return A boolean specifying whether the result of the search is available.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Get the number of tiles expanded by the last search run by this instance. Used to compare
+     * the amount of work done by the different search algorithms.
+     * @return An integer representing the number of tiles removed from the open set and expanded.
+     */
+    public int getExpandedNodes() {
+        return expandedNodes;
+    }
+}
@@ -7,7 +7,6 @@ import GameObject.Direction;
 import GameObject.Enemy;
 
 import java.io.Serializable;
-import java.util.Random;
 
 /**
  * Used as a template for the 3 different levels of artificial intelligence present in the game,
@@ -16,8 +15,6 @@ import java.util.Random;
  */
 public abstract class ArtificialIntelligence implements Serializable {
 
-    public static final Random random = new Random();
-
     /**
      * Abstract method implemented by the three levels of intelligence present in the game used
      * to control the movement of the enemy on the grid.
@@ -35,6 +32,20 @@ public abstract class ArtificialIntelligence implements Serializable {
      */
     public abstract void chasePlayer(int playerPosX, int playerPosY, int distanceBetweenEnemyAndPlayer, Enemy enemy);
 
+    /**
+     * Prepares ahead of time the work chasePlayer will need, such as the path searches. It only reads
+     * the grid and the enemy, and may run on another thread at the same time as the other enemies.
+     * Nothing needs to be prepared by default.
+     * @param playerPosX x coordinate of the player object on the grid.
+     * @param playerPosY y coordinate of the player object on the grid.
+     * @param distanceBetweenEnemyAndPlayer Distance between the center of the player object
+     *                                      and the center of the enemy object.
+     * @param enemy Enemy object that is about to chase the player.
+     */
+    public void think(int playerPosX, int playerPosY, int distanceBetweenEnemyAndPlayer, Enemy enemy) {
+
+    }
+
     /**
      * Displaced the object in one of the four cardinal directions based on the directionOfMovement attribute
      */
@@ -0,0 +1,79 @@
+package GameObject.ArtificialIntelligence;
+
+import GameObject.TileBitboard;
+
+/**
+ * Keeps track of the tiles of the graph that are dangerous for the enemies: the tiles covered by the
+ * flames present on the grid, and the tiles the blast of a placed bomb will reach when it explodes.
+ * Every dangerous tile gets an extra cost in the PathFinder, so the searches route the enemies around
+ * them when a safe detour exists, and straight through them otherwise.
+ *
+ * The danger is read from the flame and blast masks of the TileBitboard once per tick. The masks are
+ * compared word by word with the ones seen on the last update, so only the tiles whose danger changed
+ * are visited, and the cost of an update does not depend on the number of bombs and flames.
+ */
+public class DangerMap {
+
+    // Extra cost of entering a tile covered by a flame, or reached by the blast of a bomb.
+    public static final int FLAME_COST = 24;
+    public static final int BLAST_COST = 8;
+
+    private final PathFinder pathFinder;
+
+    // Flame and blast masks seen on the last update, allocated on the first one.
+    private long[] flames;
+    private long[] blasts;
+
+    /**
+     * Creates an empty danger map over the graph of a path finder.
+     * @param pathFinder The PathFinder whose step costs are updated.
+     */
+    public DangerMap(PathFinder pathFinder) {
+        this.pathFinder = pathFinder;
+    }
+
+    /**
+     * Brings the danger up to date with the bombs and flames present on the grid.
+     * @param bitboard The TileBitboard of the grid, with its bomb and flame masks up to date.
+     */
+    public synchronized void update(TileBitboard bitboard) {
+        if (flames == null || flames.length != bitboard.getNumOfWords()) {
+            flames = bitboard.newMask();
+            blasts = bitboard.newMask();
+        }
+
+        long[] newFlames = bitboard.getFlames();
+        long[] newBlasts = bitboard.getBlasts();
+        int numOfCols = bitboard.getNumOfCols();
+        for (int word = 0; word < flames.length; word++) {
+            long changed = (flames[word] ^ newFlames[word]) | (blasts[word] ^ newBlasts[word]);
+            flames[word] = newFlames[word];
+            blasts[word] = newBlasts[word];
+
+            // Visit the bits that changed, lowest first.
+            while (changed != 0) {
+                long tile = Long.lowestOneBit(changed);
+                int bit = word * 64 + Long.numberOfTrailingZeros(tile);
+                changed &= ~tile;
+                int cost = (flames[word] & tile) != 0 ? FLAME_COST : (blasts[word] & tile) != 0 ? BLAST_COST : 0;
+
+                // A tile of the graph is one row and one column away from the same tile of the map.
+                int row = bit / numOfCols - 1;
+                int col = bit % numOfCols - 1;
+                if (row >= 0 && row < pathFinder.getGraphRows() && col >= 0 && col < pathFinder.getGraphCols()) {
+                    pathFinder.setDangerCost(pathFinder.toIndex(row, col), cost);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the extra cost of entering a tile. A flame is more dangerous than a blast that did not happen yet.
+     * @param index The index of the tile in the graph.
+     * @return FLAME_COST if a flame covers the tile, BLAST_COST if the blast of a bomb will reach it,
+     * or 0 if the tile is safe.
+     */
+    public synchronized int getDangerCost(int index) {
+        return pathFinder.getStepCost(index) - 1;
+    }
+}
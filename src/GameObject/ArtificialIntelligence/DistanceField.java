@@ -0,0 +1,178 @@
+package GameObject.ArtificialIntelligence;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Holds the cost of the cheapest path from every tile of the graph to the tile where the player is located.
+ * It is computed with a single search starting at the player, and shared by all the enemies chasing
+ * the player: an enemy reaches the player by always moving to the neighbouring tile one step closer
+ * to it. When no tile is endangered every step costs 1 and the cost is the distance in tiles.
+ * The search only runs again when the player changes tile or the graph changes.
+ * Enemies with and without wallPass use separate distance fields. The methods are synchronized,
+ * so the distance field can be read from several threads.
+ */
+public class DistanceField implements Serializable {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    public static final int NO_TILE = -1;
+
+    private PathFinder pathFinder;
+    private boolean wallPass;
+
+    // Search arrays, recreated after the distance field is loaded from a saved game.
+    private transient int[] distances;
+    private transient int[] queue;
+    private transient boolean[] inQueue;
+    private transient boolean computed;
+    private int goalIndex = NO_TILE;
+    private int graphVersion;
+    private int computations;
+
+    /**
+     * Creates a distance field over the graph of a path finder.
+     * @param pathFinder The PathFinder holding the graph representation of the grid.
+     * @param wallPass Boolean specifying whether the distances are computed for enemies
+     *                 that walk through brick walls.
+     */
+    public DistanceField(PathFinder pathFinder, boolean wallPass) {
+        this.pathFinder = pathFinder;
+        this.wallPass = wallPass;
+    }
+
+    /**
+     * Makes sure the distances lead to the tile passed. The distances are only computed
+     * again if the tile or the graph changed since the last time they were computed.
+     * @param goalIndex The index of the tile where the player is located.
+     */
+    public synchronized void update(int goalIndex) {
+        if (computed && goalIndex == this.goalIndex && graphVersion == pathFinder.getGraphVersion()) return;
+        compute(goalIndex);
+    }
+
+    /**
+     * Computes the distance from every tile of the graph to the tile passed. The search walks the tiles
+     * in breadth first order, and a tile reached again through a cheaper path is added back to the queue,
+     * which is only needed when some tiles are endangered. Without danger, every tile is visited once.
+     * @param goalIndex The index of the tile where the player is located.
+     */
+    private void compute(int goalIndex) {
+        if (distances == null) {
+            distances = new int[pathFinder.getNumOfTiles()];
+            queue = new int[pathFinder.getNumOfTiles()];
+            inQueue = new boolean[pathFinder.getNumOfTiles()];
+        }
+        Arrays.fill(distances, UNREACHABLE);
+        this.goalIndex = goalIndex;
+        this.graphVersion = pathFinder.getGraphVersion();
+        this.computed = true;
+        computations++;
+
+        // Enemies can't step on the tile of the player if they can't walk through it.
+        if (!pathFinder.isPassable(goalIndex, wallPass)) return;
+
+        int graphRows = pathFinder.getGraphRows();
+        int graphCols = pathFinder.getGraphCols();
+        // The queue is circular, a tile is never in it twice at the same time.
+        int head = 0;
+        int size = 1;
+        distances[goalIndex] = 0;
+        queue[0] = goalIndex;
+        inQueue[goalIndex] = true;
+
+        while (size > 0) {
+            int current = queue[head];
+            head = (head + 1) % queue.length;
+            size--;
+            inQueue[current] = false;
+
+            // Moving from a neighbour to the current tile costs the step cost of the current tile.
+            int nextDistance = distances[current] + pathFinder.getStepCost(current);
+            int row = current / graphCols;
+            int col = current % graphCols;
+
+            if (row > 0) size = visit(current - graphCols, nextDistance, head, size);
+            if (row < graphRows - 1) size = visit(current + graphCols, nextDistance, head, size);
+            if (col > 0) size = visit(current - 1, nextDistance, head, size);
+            if (col < graphCols - 1) size = visit(current + 1, nextDistance, head, size);
+        }
+    }
+
+    /**
+     * Sets the distance of a tile if the path found is cheaper than the one known, and adds it to
+     * the queue of the search.
+     * @param index The index of the tile reached.
+     * @param distance The distance from the tile to the player.
+     * @param head The position of the start of the queue.
+     * @param size The number of tiles in the queue.
+     * @return The new number of tiles in the queue.
+     */
+    private int visit(int index, int distance, int head, int size) {
+        if (distance >= distances[index] || !pathFinder.isPassable(index, wallPass)) return size;
+        distances[index] = distance;
+        if (inQueue[index]) return size;
+        queue[(head + size) % queue.length] = index;
+        inQueue[index] = true;
+        return size + 1;
+    }
+
+    /**
+     * Get the distance in tiles between a tile and the player.
+     * @param index The index of the tile.
+     * @return An integer representing the distance, or UNREACHABLE if there is no path to the player.
+     */
+    public synchronized int getDistance(int index) {
+        return computed ? distances[index] : UNREACHABLE;
+    }
+
+    /**
+     * Get the neighbouring tile that is one step closer to the player.
+     * @param index The index of the tile where the enemy is located.
+     * @return The index of the next tile to go to, or NO_TILE if the enemy already reached the
+     * player or no path exists.
+     */
+    public synchronized int getNextTile(int index) {
+        int distance = getDistance(index);
+        if (distance == UNREACHABLE || distance == 0) return NO_TILE;
+
+        int graphRows = pathFinder.getGraphRows();
+        int graphCols = pathFinder.getGraphCols();
+        int row = index / graphCols;
+        int col = index % graphCols;
+
+        // The neighbours are checked in the same order used by the A* algorithm.
+        if (row > 0 && isNextStep(index - graphCols, distance)) return index - graphCols;
+        if (row < graphRows - 1 && isNextStep(index + graphCols, distance)) return index + graphCols;
+        if (col > 0 && isNextStep(index - 1, distance)) return index - 1;
+        if (col < graphCols - 1 && isNextStep(index + 1, distance)) return index + 1;
+        return NO_TILE;
+    }
+
+    /**
+     * Determine whether moving to a neighbouring tile follows a cheapest path to the player.
+     * @param neighbor The index of the neighbouring tile.
+     * @param distance The distance from the tile where the enemy is located to the player.
+     * @return A boolean specifying whether the distance of the neighbour plus the cost of moving
+     * to it equals the distance of the enemy.
+     */
+    private boolean isNextStep(int neighbor, int distance) {
+        return distances[neighbor] != UNREACHABLE && distances[neighbor] + pathFinder.getStepCost(neighbor) == distance;
+    }
+
+    /**
+     * Get the tile the distances lead to.
+     * @return The index of the tile where the player was located the last time the distances were computed.
+     */
+    public synchronized int getGoalIndex() {
+        return goalIndex;
+    }
+
+    /**
+     * Get the number of times the distances were computed. Used to verify that the search
+     * does not run again when nothing changed.
+     * @return An integer representing the number of breadth first searches performed.
+     */
+    public synchronized int getComputations() {
+        return computations;
+    }
+}
@@ -14,20 +14,16 @@ import java.util.ArrayList;
 /**
  * Class used to establish the logic implemented by high intelligence enemies. High intelligence enemies
  * are capable of finding the shortest path from their location to the player if the player is within
- * a two tile radius. For this purpose we use the A* path finding algorithm. It also specifies
- * how the high intelligence enemies move on the grid.
+ * a two tile radius. For this purpose they follow the distance field to the player shared by all
+ * the enemies, or compute their own path with the A* path finding algorithm. It also specifies
+ * how the high intelligence enemies move on the grid. The state of the chase is kept by each enemy,
+ * so a single instance is shared by all the high intelligence enemies.
  */
 public class HighIntelligence extends ArtificialIntelligence implements Serializable {
 
     // Maximum distance at which the player will be chased.
     public static final int CHASE_THRESHOLD = 85;
 
-    public static PathFinder pathFinder;
-    //List of tiles that connect the current position of the enemy to the position of the player.
-    private ArrayList<Coordinate> pathToPlayer;
-    private boolean chaseEnabled;
-    private Coordinate nextDestination;
-
     /**
      * The chasePlayer method determines whether the enemy should initiate
      * movement in the direction of the enemy.
@@ -48,25 +44,67 @@ public class HighIntelligence extends ArtificialIntelligence implements Serializ
         // to the player is less than 85 (the diagonal length of two tiles combined).
         // Here we meet the requirement that the enemy should only recalculate the path
         //to the player once it has traversed one tile.
+        // The path finder belongs to the grid the enemy is placed on.
+        PathFinder pathFinder = enemy.getPathFinder();
+        if (pathFinder == null) return;
+
         if (enemyAtCenterOfTile && distanceFromEnemyToPlayer < CHASE_THRESHOLD) {
 
-            pathToPlayer = pathFinder.findPath(playerPosX, playerPosY, enemy.getPosX(), enemy.getPosY(), enemy.hasWallPass());
-            if (pathToPlayer != null) {
-                pathToPlayer.remove(0);
-                setNextDestination();
-                chaseEnabled = true;
+            if (pathFinder.isDistanceFieldEnabled()) {
+                // The distance field is shared by all the chasers, it is only computed
+                // again when the player changes tile or the walls change.
+                pathFinder.setPlayerPosition(playerPosX, playerPosY);
+                enemy.setPathToPlayer(null);
+                enemy.setFollowingDistanceField(true);
+                enemy.setChaseEnabled(setNextDestinationFromDistanceField(enemy));
+                return;
+            }
+
+            // The search runs within the budget of the frame. Until it finishes, the enemy
+            // keeps following the path it had before.
+            enemy.setFollowingDistanceField(false);
+            ArrayList<Coordinate> path = pathFinder.requestPath(enemy, playerPosX, playerPosY,
+                    enemy.getPosX(), enemy.getPosY(), enemy.hasWallPass());
+            if (path != null) {
+                path.remove(0);
+                enemy.setPathToPlayer(path);
+                setNextDestination(enemy);
+                enemy.setChaseEnabled(true);
             }
         }
     }
 
+    /**
+     * Runs ahead of time the path search chasePlayer is about to request, under the same conditions.
+     * @param playerPosX x coordinate of the player object on the grid.
+     * @param playerPosY y coordinate of the player object on the grid.
+     * @param distanceFromEnemyToPlayer Integer representing the distance from
+     *                                  the center of the enemy object to the
+     *                                  center of the player object.
+     * @param enemy Enemy object that is about to chase the player.
+     */
+    @Override
+    public void think(int playerPosX, int playerPosY, int distanceFromEnemyToPlayer, Enemy enemy) {
+        PathFinder pathFinder = enemy.getPathFinder();
+        if (pathFinder == null || pathFinder.isDistanceFieldEnabled()) return;
+
+        boolean enemyAtCenterOfTile =
+                enemy.getPosX() % TileMap.TILE_SIDE_LENGTH == 0 && enemy.getPosY() % TileMap.TILE_SIDE_LENGTH == 0;
+        if (enemyAtCenterOfTile && distanceFromEnemyToPlayer < CHASE_THRESHOLD) {
+            pathFinder.prefetchPath(enemy, playerPosX, playerPosY, enemy.getPosX(), enemy.getPosY(), enemy.hasWallPass());
+        }
+    }
+
     /**
      * This method sets the next destination the enemy needs to go to in order
      * to arrive at the location of the player. It is called every time the enemy
      * arrives at a destination specified by the A* algorithm.
+     * @param enemy The enemy chasing the player.
      * @return A boolean specifying whether the next destination was set successfully,
      * or not.
      */
-    public boolean setNextDestination() {
+    public boolean setNextDestination(Enemy enemy) {
+        ArrayList<Coordinate> pathToPlayer = enemy.getPathToPlayer();
         if (pathToPlayer == null || pathToPlayer.isEmpty()) {
             return false;
         }
@@ -76,7 +114,29 @@ public class HighIntelligence extends ArtificialIntelligence implements Serializ
         Coordinate nextPositionOnGrid = pathToPlayer.remove(0);
         int nextRow = nextPositionOnGrid.getRow();
         int nextCol = nextPositionOnGrid.getCol();
-        nextDestination = new Coordinate((nextCol + 1) * TileMap.TILE_SIDE_LENGTH, (nextRow + 1) * TileMap.TILE_SIDE_LENGTH);
+        enemy.setNextDestination((nextCol + 1) * TileMap.TILE_SIDE_LENGTH, (nextRow + 1) * TileMap.TILE_SIDE_LENGTH);
+        return true;
+    }
+
+    /**
+     * Sets the next destination of the enemy to the adjacent tile that is one step closer to the
+     * player, according to the distance field. It is called every time the enemy arrives at a
+     * destination while following the distance field.
+     * @param enemy The enemy chasing the player.
+     * @return A boolean specifying whether the next destination was set successfully,
+     * or not.
+     */
+    private boolean setNextDestinationFromDistanceField(Enemy enemy) {
+        PathFinder pathFinder = enemy.getPathFinder();
+        int nextTile = pathFinder.getNextTileTowardsPlayer(enemy.getPosX(), enemy.getPosY(), enemy.hasWallPass());
+        if (nextTile == DistanceField.NO_TILE) {
+            enemy.clearNextDestination();
+            return false;
+        }
+
+        int nextRow = nextTile / pathFinder.getGraphCols();
+        int nextCol = nextTile % pathFinder.getGraphCols();
+        enemy.setNextDestination((nextCol + 1) * TileMap.TILE_SIDE_LENGTH, (nextRow + 1) * TileMap.TILE_SIDE_LENGTH);
         return true;
     }
 
@@ -93,15 +153,15 @@ public class HighIntelligence extends ArtificialIntelligence implements Serializ
         int enemyPosY = enemy.getPosY();
 
         // If the chase is enabled, move toward the next destination in the path towards the player.
-        if (chaseEnabled) {
+        if (enemy.isChaseEnabled()) {
 
-            if (nextDestination == null) {
-                chaseEnabled = false;
+            if (!enemy.hasNextDestination()) {
+                enemy.setChaseEnabled(false);
                 return;
             }
 
-            int nextX = nextDestination.getRow();
-            int nextY = nextDestination.getCol();
+            int nextX = enemy.getNextDestinationX();
+            int nextY = enemy.getNextDestinationY();
             boolean enemyIsAtNextRow = (Math.abs(enemyPosY - nextY) <= 1);
             boolean enemyIsAtNextCol = (Math.abs(enemyPosX - nextX) <= 1);
             if (enemyIsAtNextRow && enemyIsAtNextCol) {
@@ -110,12 +170,13 @@ public class HighIntelligence extends ArtificialIntelligence implements Serializ
                 enemy.setPosY(nextY);
                 enemy.setPosX(nextX);
 
-                boolean nextDestinationExists = setNextDestination();
+                boolean nextDestinationExists =
+                        enemy.isFollowingDistanceField() ? setNextDestinationFromDistanceField(enemy) : setNextDestination(enemy);
                 if (!nextDestinationExists) {
                     // If there is no next destination, then we have reached the end of the chase.
                     // So we move the enemy using its standard movement method inherited from AI.
                     moveEnemyOnBoard(enemy);
-                    chaseEnabled = false;
+                    enemy.setChaseEnabled(false);
                     return;
                 }
             }
@@ -143,9 +204,9 @@ public class HighIntelligence extends ArtificialIntelligence implements Serializ
             // then determine if we should turn in a random direction.
             Direction directionOfMovement = enemy.getDirectionOfMovement();
 
-            boolean shouldTurn = random.nextFloat() <= 0.1f;
+            boolean shouldTurn = enemy.getRandom().nextFloat() <= 0.1f;
             if (randomTurnOnIntersection(enemyPosX, enemyPosY, shouldTurn)) {
-                enemy.setDirectionOfMovement(Direction.getRandomPerpendicularDirection(directionOfMovement));
+                enemy.setDirectionOfMovement(Direction.getRandomPerpendicularDirection(directionOfMovement, enemy.getRandom()));
                 enemy.setPosX(enemyPosX - enemyPosX % TileMap.TILE_SIDE_LENGTH);
                 enemy.setPosY(enemyPosY - enemyPosY % TileMap.TILE_SIDE_LENGTH);
             }
@@ -169,13 +230,4 @@ public class HighIntelligence extends ArtificialIntelligence implements Serializ
         }
     }
 
-    /**
-     * Set the path Finder object used by the high intelligence enemy to calculate the path shortest
-     * path to the player.
-     * @param pathFinder
-     */
-    public static void setPathFinder(PathFinder pathFinder) {
-        HighIntelligence.pathFinder = pathFinder;
-    }
-
 }
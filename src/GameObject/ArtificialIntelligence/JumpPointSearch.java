@@ -0,0 +1,121 @@
+package GameObject.ArtificialIntelligence;
+
+/**
+ * Jump Point Search over the 4-connected graph of the grid. Since every move costs the same, the
+ * search does not add every adjacent tile to the open set: it keeps moving in a straight line and
+ * only stops at the tiles where the path may have to turn, called jump points. The path returned is
+ * made of these turning points, like the paths of the A* algorithm.
+ *
+ * The rules are the ones of the 4-connected variant: a horizontal jump stops next to an obstacle that
+ * opens up above or below it, and a vertical jump stops where such an obstacle opens up to its sides,
+ * or where a horizontal jump started from it finds a jump point.
+ */
+public class JumpPointSearch extends AStarSearch {
+
+    /**
+     * Reaches the jump points found from the tile being expanded. The start is expanded in the four
+     * directions, other tiles continue in the direction they were reached from and turn to both sides.
+     * @param current The index of the tile being expanded.
+     * @param goalIndex The index of the destination tile.
+     * @param enemyHasWallPass Boolean specifying whether the enemy can go walk through brick walls.
+     */
+    @Override
+    protected void expand(int current, int goalIndex, boolean enemyHasWallPass) {
+        int row = current / graphCols;
+        int col = current % graphCols;
+        int parentIndex = parent[current];
+
+        if (parentIndex == NO_PARENT) {
+            jumpFrom(current, row, col, -1, 0, goalIndex, enemyHasWallPass);
+            jumpFrom(current, row, col, 1, 0, goalIndex, enemyHasWallPass);
+            jumpFrom(current, row, col, 0, -1, goalIndex, enemyHasWallPass);
+            jumpFrom(current, row, col, 0, 1, goalIndex, enemyHasWallPass);
+            return;
+        }
+
+        int rowDirection = Integer.signum(row - parentIndex / graphCols);
+        int colDirection = Integer.signum(col - parentIndex % graphCols);
+        if (colDirection != 0) {
+            jumpFrom(current, row, col, 0, colDirection, goalIndex, enemyHasWallPass);
+            jumpFrom(current, row, col, -1, 0, goalIndex, enemyHasWallPass);
+            jumpFrom(current, row, col, 1, 0, goalIndex, enemyHasWallPass);
+        } else {
+            jumpFrom(current, row, col, rowDirection, 0, goalIndex, enemyHasWallPass);
+            jumpFrom(current, row, col, 0, -1, goalIndex, enemyHasWallPass);
+            jumpFrom(current, row, col, 0, 1, goalIndex, enemyHasWallPass);
+        }
+    }
+
+    /**
+     * Jumps from the tile being expanded in the direction passed, and adds the jump point found
+     * to the open set. The cost of the jump is the number of tiles traversed.
+     * @param current The index of the tile being expanded.
+     * @param row The row of the tile being expanded.
+     * @param col The column of the tile being expanded.
+     * @param rowDirection The direction of the jump along the rows: -1, 0 or 1.
+     * @param colDirection The direction of the jump along the columns: -1, 0 or 1.
+     * @param goalIndex The index of the destination tile.
+     * @param enemyHasWallPass Boolean specifying whether the enemy can go walk through brick walls.
+     */
+    private void jumpFrom(int current, int row, int col, int rowDirection, int colDirection,
+                          int goalIndex, boolean enemyHasWallPass) {
+        int jumpPoint = jump(row + rowDirection, col + colDirection, rowDirection, colDirection,
+                goalIndex, enemyHasWallPass);
+        if (jumpPoint != DistanceField.NO_TILE) {
+            relaxNeighbor(current, jumpPoint, pathFinder.estimateDistance(current, jumpPoint), goalIndex);
+        }
+    }
+
+    /**
+     * Moves in a straight line from the tile passed until a jump point is found.
+     * @param row The row of the first tile of the jump.
+     * @param col The column of the first tile of the jump.
+     * @param rowDirection The direction of the jump along the rows: -1, 0 or 1.
+     * @param colDirection The direction of the jump along the columns: -1, 0 or 1.
+     * @param goalIndex The index of the destination tile.
+     * @param enemyHasWallPass Boolean specifying whether the enemy can go walk through brick walls.
+     * @return The index of the jump point, or DistanceField.NO_TILE if the jump ends against an obstacle.
+     */
+    private int jump(int row, int col, int rowDirection, int colDirection, int goalIndex, boolean enemyHasWallPass) {
+        while (isWalkable(row, col, enemyHasWallPass)) {
+            int index = row * graphCols + col;
+            if (index == goalIndex) return index;
+
+            if (colDirection != 0) {
+                // Moving horizontally, stop if a tile above or below opens up after an obstacle.
+                if ((isWalkable(row - 1, col, enemyHasWallPass) && !isWalkable(row - 1, col - colDirection, enemyHasWallPass))
+                        || (isWalkable(row + 1, col, enemyHasWallPass) && !isWalkable(row + 1, col - colDirection, enemyHasWallPass))) {
+                    return index;
+                }
+            } else {
+                // Moving vertically, stop if a tile to a side opens up after an obstacle.
+                if ((isWalkable(row, col - 1, enemyHasWallPass) && !isWalkable(row - rowDirection, col - 1, enemyHasWallPass))
+                        || (isWalkable(row, col + 1, enemyHasWallPass) && !isWalkable(row - rowDirection, col + 1, enemyHasWallPass))) {
+                    return index;
+                }
+
+                // Also stop if a horizontal jump from this tile finds a jump point.
+                if (jump(row, col + 1, 0, 1, goalIndex, enemyHasWallPass) != DistanceField.NO_TILE
+                        || jump(row, col - 1, 0, -1, goalIndex, enemyHasWallPass) != DistanceField.NO_TILE) {
+                    return index;
+                }
+            }
+
+            row += rowDirection;
+            col += colDirection;
+        }
+        return DistanceField.NO_TILE;
+    }
+
+    /**
+     * Determine whether a tile can be traversed. Tiles outside the graph can't.
+     * @param row The row of the tile.
+     * @param col The column of the tile.
+     * @param enemyHasWallPass Boolean specifying whether the enemy can go walk through brick walls.
+     * @return A boolean specifying whether the tile is inside the graph and passable.
+     */
+    private boolean isWalkable(int row, int col, boolean enemyHasWallPass) {
+        return row >= 0 && row < graphRows && col >= 0 && col < graphCols
+                && pathFinder.isPassable(row * graphCols + col, enemyHasWallPass);
+    }
+}
@@ -33,9 +33,9 @@ public class MediumIntelligence extends ArtificialIntelligence implements Serial
         int posY = enemy.getPosY();
         Direction directionOfMovement = enemy.getDirectionOfMovement();
 
-        boolean shouldTurn = random.nextFloat() <= 0.1f;
+        boolean shouldTurn = enemy.getRandom().nextFloat() <= 0.1f;
         if (randomTurnOnIntersection(posX, posY, shouldTurn)) {
-            enemy.setDirectionOfMovement(Direction.getRandomPerpendicularDirection(directionOfMovement));
+            enemy.setDirectionOfMovement(Direction.getRandomPerpendicularDirection(directionOfMovement, enemy.getRandom()));
             enemy.setPosX(posX - posX % TileMap.TILE_SIDE_LENGTH);
             enemy.setPosY(posY - posY % TileMap.TILE_SIDE_LENGTH);
 
@@ -69,19 +69,15 @@ public class MediumIntelligence extends ArtificialIntelligence implements Serial
                 enemy.setPosY(enemyPosY - enemyPosY % TileMap.TILE_SIDE_LENGTH);
                 if (playerPosX > enemyPosX) {
                     enemy.setDirectionOfMovement(Direction.EAST);
-                    System.out.println("going east");
                 } else {
                     enemy.setDirectionOfMovement(Direction.WEST);
-                    System.out.println("going west");
                 }
             } else {
                 enemy.setPosX(enemyPosX - enemyPosX % TileMap.TILE_SIDE_LENGTH);
                 if (playerPosY > enemyPosY) {
                     enemy.setDirectionOfMovement(Direction.SOUTH);
-                    System.out.println("going south");
                 } else {
                     enemy.setDirectionOfMovement(Direction.NORTH);
-                    System.out.println("going north");
                 }
             }
         }
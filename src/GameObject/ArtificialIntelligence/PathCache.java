@@ -0,0 +1,159 @@
+package GameObject.ArtificialIntelligence;
+
+import GamePlay.Coordinate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the paths computed by the A* algorithm, used by the PathFinder to answer repeated
+ * queries between the same tiles without running a search. Paths are keyed by the packed indices of
+ * the starting and destination tiles plus the wallPass flag, and tagged with the version of the graph
+ * they were computed on: once a brick wall is destroyed the graph version changes and the older paths
+ * are no longer returned. When the cache is full the least recently used path is evicted.
+ * The methods are synchronized, so the cache can be queried from several threads.
+ */
+public class PathCache {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int capacity;
+    private final LinkedHashMap<Integer, CachedPath> paths;
+    private long hits;
+    private long misses;
+
+    /**
+     * A path stored in the cache, along with the version of the graph it was computed on.
+     */
+    private static class CachedPath {
+        private final ArrayList<Coordinate> path;
+        private final int graphVersion;
+
+        private CachedPath(ArrayList<Coordinate> path, int graphVersion) {
+            this.path = path;
+            this.graphVersion = graphVersion;
+        }
+    }
+
+    /**
+     * Creates a cache holding at most DEFAULT_CAPACITY paths.
+     */
+    public PathCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a cache holding at most the number of paths passed.
+     * @param capacity The maximum number of paths kept in the cache.
+     */
+    public PathCache(final int capacity) {
+        this.capacity = capacity;
+        // Iterating in access order makes the first entry the least recently used one.
+        this.paths = new LinkedHashMap<Integer, CachedPath>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedPath> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Get the path between two tiles if it was computed on the current version of the graph.
+     * @param startIndex The index of the starting tile.
+     * @param goalIndex The index of the destination tile.
+     * @param wallPass Boolean specifying whether the path goes through brick walls.
+     * @param graphVersion The current version of the graph.
+     * @return A copy of the cached path, which the caller is free to modify, or null if
+     * the path is not cached.
+     */
+    public synchronized ArrayList<Coordinate> get(int startIndex, int goalIndex, boolean wallPass, int graphVersion) {
+        Integer key = toKey(startIndex, goalIndex, wallPass);
+        CachedPath cachedPath = paths.get(key);
+
+        if (cachedPath == null || cachedPath.graphVersion != graphVersion) {
+            // Paths computed on an older graph may cross walls that were placed since.
+            if (cachedPath != null) paths.remove(key);
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return new ArrayList<Coordinate>(cachedPath.path);
+    }
+
+    /**
+     * Determine whether a path is stored for a query, whatever the version of the graph it was computed on.
+     * Unlike get, it does not count a hit or a miss and does not change the order of eviction.
+     * @param startIndex The index of the starting tile.
+     * @param goalIndex The index of the destination tile.
+     * @param wallPass Boolean specifying whether the path goes through brick walls.
+     * @return A boolean specifying whether a path is stored for the query.
+     */
+    public synchronized boolean contains(int startIndex, int goalIndex, boolean wallPass) {
+        return paths.containsKey(toKey(startIndex, goalIndex, wallPass));
+    }
+
+    /**
+     * Stores the path between two tiles.
+     * @param startIndex The index of the starting tile.
+     * @param goalIndex The index of the destination tile.
+     * @param wallPass Boolean specifying whether the path goes through brick walls.
+     * @param graphVersion The version of the graph the path was computed on.
+     * @param path The path computed by the A* algorithm. A copy is stored.
+     */
+    public synchronized void put(int startIndex, int goalIndex, boolean wallPass, int graphVersion, ArrayList<Coordinate> path) {
+        paths.put(toKey(startIndex, goalIndex, wallPass), new CachedPath(new ArrayList<Coordinate>(path), graphVersion));
+    }
+
+    /**
+     * Packs the indices of the two tiles and the wallPass flag in a single integer.
+     * @param startIndex The index of the starting tile.
+     * @param goalIndex The index of the destination tile.
+     * @param wallPass Boolean specifying whether the path goes through brick walls.
+     * @return An integer identifying the query.
+     */
+    static Integer toKey(int startIndex, int goalIndex, boolean wallPass) {
+        // Tile indices are well below 2^14 for any realistic map, so the key fits in an int.
+        return (startIndex << 16 | goalIndex) << 1 | (wallPass ? 1 : 0);
+    }
+
+    /**
+     * Removes every path from the cache. The hit and miss counters are kept.
+     */
+    public synchronized void clear() {
+        paths.clear();
+    }
+
+    /**
+     * Get the number of paths currently stored.
+     * @return An integer representing the number of paths in the cache.
+     */
+    public synchronized int size() {
+        return paths.size();
+    }
+
+    /**
+     * Get the maximum number of paths stored.
+     * @return An integer representing the capacity of the cache.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the number of queries answered from the cache.
+     * @return A long representing the number of cache hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of queries that required a search.
+     * @return A long representing the number of cache misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
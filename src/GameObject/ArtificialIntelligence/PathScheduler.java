@@ -0,0 +1,371 @@
+package GameObject.ArtificialIntelligence;
+
+import GamePlay.Coordinate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * Limits the number of tiles the searches of the enemies can expand during a single frame, so the
+ * duration of a frame does not grow when many enemies ask for a path at the same time. A search that
+ * does not fit in the budget of the frame is suspended, and resumed on the following frames. The
+ * suspended searches are resumed in round-robin order, each one getting an equal share of the budget
+ * of the frame, so none of them waits for the others to finish.
+ *
+ * Every enemy has at most one search running. While it runs, the enemy keeps following the path it
+ * had before. A path that finishes after the enemy left its starting tile is still used if the enemy
+ * is standing on its first segment, otherwise the enemy asks for a new one. A finished path is dropped
+ * if the player moved to another tile or the graph changed before the enemy asked for it again.
+ *
+ * The searches can also be started ahead of the requests, on other threads, during the think phase of
+ * the enemies. A search started ahead expands at most the budget of a frame, and the request that needs
+ * it takes it over instead of starting its own. The tiles it already expanded are charged to the budget
+ * as if the request expanded them, on the frame of the request and the following ones, before the search
+ * goes on. So no search runs twice, and the enemies get the same paths on the same frames whether the
+ * searches were started ahead or not.
+ */
+public class PathScheduler {
+
+    public static final int DEFAULT_FRAME_BUDGET = 600;
+
+    private final PathFinder pathFinder;
+    private int frameBudget = DEFAULT_FRAME_BUDGET;
+    private int remainingBudget = DEFAULT_FRAME_BUDGET;
+
+    // The searches of the enemies, by enemy, and the order in which the suspended ones are resumed.
+    private final IdentityHashMap<Object, PathRequest> requests = new IdentityHashMap<Object, PathRequest>();
+    private final ArrayDeque<PathRequest> suspended = new ArrayDeque<PathRequest>();
+    // Searches started ahead of the requests during the current frame, by query.
+    private final HashMap<Integer, PrefetchedPath> prefetched = new HashMap<Integer, PrefetchedPath>();
+    // Searches that are not in use, reused by the next requests.
+    private final ArrayList<AStarSearch> aStarSearches = new ArrayList<AStarSearch>();
+    private final ArrayList<JumpPointSearch> jumpPointSearches = new ArrayList<JumpPointSearch>();
+    private long suspensions;
+    private long prefetchedSearchesUsed;
+
+    /**
+     * The search of an enemy, running or finished.
+     */
+    private static class PathRequest {
+        private final Object requester;
+        private AStarSearch search;
+        private int startIndex;
+        private int goalIndex;
+        private boolean wallPass;
+        private int graphVersion;
+        // Tiles expanded by the search ahead of the request, not charged to a budget yet.
+        private int unchargedNodes;
+        private ArrayList<Coordinate> path;
+
+        private PathRequest(Object requester) {
+            this.requester = requester;
+        }
+    }
+
+    /**
+     * A search started ahead of the request, along with the state of the graph it runs on.
+     */
+    private static class PrefetchedPath {
+        private final int graphVersion;
+        private final AStarSearch search;
+
+        private PrefetchedPath(int graphVersion, AStarSearch search) {
+            this.graphVersion = graphVersion;
+            this.search = search;
+        }
+    }
+
+    /**
+     * Creates a scheduler for the searches run on the graph of a path finder.
+     * @param pathFinder The PathFinder holding the graph representation of the grid.
+     */
+    public PathScheduler(PathFinder pathFinder) {
+        this.pathFinder = pathFinder;
+    }
+
+    /**
+     * Starts a new frame: the budget is restored and the suspended searches are resumed in
+     * round-robin order until they finish or the budget runs out. Every search expands at most an
+     * equal share of the budget left before the next one runs, and the share of the searches that
+     * finish early goes to the others. The budget left is used by the searches requested during the frame.
+     */
+    public synchronized void startFrame() {
+        remainingBudget = frameBudget;
+        releasePrefetchedSearches();
+        while (remainingBudget > 0 && !suspended.isEmpty()) {
+            int share = (remainingBudget + suspended.size() - 1) / suspended.size();
+            PathRequest request = suspended.poll();
+            if (!run(request, share)) suspended.add(request);
+        }
+    }
+
+    /**
+     * Asks for the path between the tile of an enemy and the tile of the player. The path is returned
+     * right away if it is cached, if a previous search of the enemy finished with a path to the same
+     * goal, on the current graph, that can still be followed from its tile, or if the search fits in
+     * the budget left for the frame.
+     * Otherwise the search goes on during the next frames, and null is returned in the meantime.
+     * @param requester The enemy asking for the path.
+     * @param startIndex The index of the tile where the enemy is located.
+     * @param goalIndex The index of the tile where the player is located.
+     * @param wallPass Boolean specifying whether the enemy can go walk through brick walls.
+     * @return An ArrayList containing the path from the tile of the enemy to the player, or null
+     * if the path is not available yet.
+     */
+    public synchronized ArrayList<Coordinate> requestPath(Object requester, int startIndex, int goalIndex, boolean wallPass) {
+        PathRequest request = requests.get(requester);
+        if (request != null) {
+            // A search that is still running is not started again, the enemy keeps its previous path.
+            if (request.path == null) return null;
+            requests.remove(requester);
+            // A path to where the player used to be, or priced on an older graph, is not followed.
+            if (request.goalIndex == goalIndex && request.wallPass == wallPass
+                    && request.graphVersion == pathFinder.getGraphVersion()) {
+                ArrayList<Coordinate> path = followFrom(request.path, pathFinder.toCoordinate(startIndex));
+                if (path != null) return path;
+            }
+        }
+
+        ArrayList<Coordinate> path = pathFinder.getPathCache().get(startIndex, goalIndex, wallPass, pathFinder.getGraphVersion());
+        if (path != null) return path;
+
+        request = new PathRequest(requester);
+        request.startIndex = startIndex;
+        request.goalIndex = goalIndex;
+        request.wallPass = wallPass;
+        requests.put(requester, request);
+
+        // A search started ahead of the request is taken over, its tiles are charged as it goes on.
+        PrefetchedPath prefetchedPath = prefetched.remove(PathCache.toKey(startIndex, goalIndex, wallPass));
+        if (prefetchedPath != null && prefetchedPath.graphVersion == pathFinder.getGraphVersion()
+                && isSelectedAlgorithm(prefetchedPath.search)) {
+            request.search = prefetchedPath.search;
+            request.graphVersion = prefetchedPath.graphVersion;
+            request.unchargedNodes = prefetchedPath.search.getExpandedNodes();
+            prefetchedSearchesUsed++;
+        } else {
+            if (prefetchedPath != null) releaseSearch(prefetchedPath.search);
+            start(request);
+        }
+
+        if (remainingBudget > 0 && run(request, remainingBudget)) {
+            requests.remove(requester);
+            return request.path;
+        }
+        suspensions++;
+        suspended.add(request);
+        return null;
+    }
+
+    /**
+     * Starts ahead of time the search the next request of an enemy would start, so the request can
+     * take it over. The search expands at most the budget of a frame, which is the most the request
+     * could expand before it is suspended. Nothing is searched if the enemy already has a search, if
+     * the path is cached, or if the same query was already started during the frame. The search runs
+     * on the calling thread, outside of the lock of the scheduler, so several searches can run at the
+     * same time as long as the graph does not change.
+     * @param requester The enemy that is about to ask for the path.
+     * @param startIndex The index of the tile where the enemy is located.
+     * @param goalIndex The index of the tile where the player is located.
+     * @param wallPass Boolean specifying whether the enemy can go walk through brick walls.
+     */
+    public void prefetch(Object requester, int startIndex, int goalIndex, boolean wallPass) {
+        AStarSearch search;
+        int maxExpandedNodes;
+        synchronized (this) {
+            if (requests.containsKey(requester) || pathFinder.getPathCache().contains(startIndex, goalIndex, wallPass)) return;
+            Integer key = PathCache.toKey(startIndex, goalIndex, wallPass);
+            if (prefetched.containsKey(key)) return;
+            search = takeSearch();
+            maxExpandedNodes = frameBudget;
+            prefetched.put(key, new PrefetchedPath(pathFinder.getGraphVersion(), search));
+        }
+
+        // The search is only handed to a request once the think phase is over.
+        search.startSearch(pathFinder, startIndex, goalIndex, wallPass);
+        search.resume(maxExpandedNodes);
+    }
+
+    /**
+     * Starts the search of a request on the current version of the graph.
+     * @param request The request whose search is started.
+     */
+    private void start(PathRequest request) {
+        if (request.search == null) request.search = takeSearch();
+        request.graphVersion = pathFinder.getGraphVersion();
+        request.unchargedNodes = 0;
+        request.search.startSearch(pathFinder, request.startIndex, request.goalIndex, request.wallPass);
+    }
+
+    /**
+     * Runs the search of a request for a number of tiles. A search is started again if the graph
+     * changed since it was started, since the tiles expanded may no longer be valid. The tiles a
+     * search started ahead of the request already expanded are charged first.
+     * @param request The request whose search runs.
+     * @param budget The maximum number of tiles expanded.
+     * @return A boolean specifying whether the search finished, in which case its path is stored
+     * in the request and in the cache.
+     */
+    private boolean run(PathRequest request, int budget) {
+        if (request.graphVersion != pathFinder.getGraphVersion()) start(request);
+
+        int charged = Math.min(request.unchargedNodes, budget);
+        request.unchargedNodes -= charged;
+        remainingBudget -= charged;
+        if (request.unchargedNodes > 0) return false;
+
+        // The search finishes within the call if and only if it needs at most the budget left,
+        // the same as if it had expanded every tile now.
+        AStarSearch search = request.search;
+        int expandedBefore = search.getExpandedNodes();
+        boolean finished = search.resume(budget - charged);
+        remainingBudget -= search.getExpandedNodes() - expandedBefore;
+        if (!finished) return false;
+
+        request.path = search.getPath();
+        pathFinder.getPathCache().put(request.startIndex, request.goalIndex, request.wallPass, request.graphVersion, request.path);
+        releaseSearch(search);
+        request.search = null;
+        return true;
+    }
+
+    /**
+     * Get the part of a path that starts at the tile of the enemy. The enemy may have moved since
+     * the path was requested, the path can only be followed if the enemy stands on its first segment.
+     * @param path The path found by the search, starting at the tile where the search started.
+     * @param tile The tile where the enemy is located now.
+     * @return An ArrayList containing the path starting at the tile of the enemy, or null if the
+     * enemy left the path.
+     */
+    private ArrayList<Coordinate> followFrom(ArrayList<Coordinate> path, Coordinate tile) {
+        Coordinate start = path.get(0);
+        if (start.equals(tile)) return path;
+        if (path.size() < 2) return null;
+
+        Coordinate next = path.get(1);
+        boolean onSegment = (tile.getRow() == start.getRow() && tile.getRow() == next.getRow()
+                && isBetween(tile.getCol(), start.getCol(), next.getCol()))
+                || (tile.getCol() == start.getCol() && tile.getCol() == next.getCol()
+                && isBetween(tile.getRow(), start.getRow(), next.getRow()));
+        if (!onSegment) return null;
+
+        path.set(0, tile);
+        if (tile.equals(next)) path.remove(1);
+        return path;
+    }
+
+    /**
+     * Determine whether a value lies between two others, in any order.
+     * @param value The value tested.
+     * @param bound1 The first bound, included.
+     * @param bound2 The second bound, included.
+     * @return A boolean specifying whether the value lies between the bounds.
+     */
+    private boolean isBetween(int value, int bound1, int bound2) {
+        return Math.min(bound1, bound2) <= value && value <= Math.max(bound1, bound2);
+    }
+
+    /**
+     * Gives back the searches started ahead of the requests that no request took over.
+     */
+    private void releasePrefetchedSearches() {
+        for (PrefetchedPath prefetchedPath : prefetched.values()) {
+            releaseSearch(prefetchedPath.search);
+        }
+        prefetched.clear();
+    }
+
+    /**
+     * Determine whether a search runs the algorithm currently selected in the path finder.
+     * @param search The search tested.
+     * @return A boolean specifying whether the search can be used by a new request.
+     */
+    private boolean isSelectedAlgorithm(AStarSearch search) {
+        return (search instanceof JumpPointSearch) == pathFinder.usesJumpPointSearch();
+    }
+
+    /**
+     * Get a search that is not in use, of the algorithm selected in the path finder.
+     * @return An AStarSearch ready to be started.
+     */
+    private AStarSearch takeSearch() {
+        if (pathFinder.usesJumpPointSearch()) {
+            return jumpPointSearches.isEmpty() ? new JumpPointSearch() : jumpPointSearches.remove(jumpPointSearches.size() - 1);
+        }
+        return aStarSearches.isEmpty() ? new AStarSearch() : aStarSearches.remove(aStarSearches.size() - 1);
+    }
+
+    /**
+     * Keeps a search that is no longer in use, so it can be reused by the next requests.
+     * @param search The search released.
+     */
+    private void releaseSearch(AStarSearch search) {
+        if (search instanceof JumpPointSearch) {
+            jumpPointSearches.add((JumpPointSearch) search);
+        } else {
+            aStarSearches.add(search);
+        }
+    }
+
+    /**
+     * Forgets the search of an enemy, for example once it has been killed.
+     * @param requester The enemy whose search is cancelled.
+     */
+    public synchronized void cancel(Object requester) {
+        PathRequest request = requests.remove(requester);
+        if (request == null) return;
+        suspended.remove(request);
+        if (request.search != null) releaseSearch(request.search);
+    }
+
+    /**
+     * Get the number of tiles the searches can expand during a frame.
+     * @return An integer representing the budget of a frame.
+     */
+    public synchronized int getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     * Set the number of tiles the searches can expand during a frame.
+     * @param frameBudget An integer representing the budget of a frame, at least 1.
+     */
+    public synchronized void setFrameBudget(int frameBudget) {
+        this.frameBudget = Math.max(1, frameBudget);
+        this.remainingBudget = Math.min(remainingBudget, this.frameBudget);
+    }
+
+    /**
+     * Get the number of tiles that can still be expanded during the current frame.
+     * @return An integer representing the budget left.
+     */
+    public synchronized int getRemainingBudget() {
+        return remainingBudget;
+    }
+
+    /**
+     * Get the number of searches currently suspended.
+     * @return An integer representing the number of searches waiting for the next frame.
+     */
+    public synchronized int getNumOfSuspendedSearches() {
+        return suspended.size();
+    }
+
+    /**
+     * Get the number of searches that did not fit in the frame they were requested in.
+     * @return A long representing the number of searches suspended since the scheduler was created.
+     */
+    public synchronized long getSuspensions() {
+        return suspensions;
+    }
+
+    /**
+     * Get the number of requests that took over a search started ahead of time instead of starting one.
+     * @return A long representing the number of searches started ahead of time that were used.
+     */
+    public synchronized long getPrefetchedSearchesUsed() {
+        return prefetchedSearchesUsed;
+    }
+}
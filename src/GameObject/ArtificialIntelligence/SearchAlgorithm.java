@@ -0,0 +1,12 @@
+package GameObject.ArtificialIntelligence;
+
+/**
+ * Algorithms the PathFinder can use to find the shortest path between two tiles. Both find paths
+ * of the same length, they only differ in the number of tiles they expand on the way.
+ */
+public enum SearchAlgorithm {
+    // Expands the four tiles adjacent to every tile reached.
+    A_STAR,
+    // Only expands the tiles where the path may turn, skipping the straight lines in between.
+    JUMP_POINT_SEARCH
+}
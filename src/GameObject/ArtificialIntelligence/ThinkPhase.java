@@ -0,0 +1,173 @@
+package GameObject.ArtificialIntelligence;
+
+import GameObject.Enemy;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * First phase of the update of the enemies that chase the player. For every enemy it computes the distance
+ * to the player and starts the path search chasePlayer is about to request, which is the real work of the
+ * high intelligence enemies when they search their own paths. The phase reads a snapshot of the position
+ * of the player and the grid, which does not change until it is over, so when enough enemies are on the
+ * grid it is split across the threads of a fork-join pool.
+ *
+ * The decisions are then committed by calling chasePlayer on each enemy, in the order of the list, on the
+ * game thread. Each request takes over the search started for it and charges the tiles it expanded to
+ * the budget of the frame in that order, so the enemies behave the same whether the think phase ran or not.
+ */
+public class ThinkPhase {
+
+    // Below this number of enemies the phase runs on the calling thread. With a single processor the
+    // pool would only add the cost of the tasks, so the phase never runs in parallel by default.
+    public static final int DEFAULT_PARALLEL_THRESHOLD =
+            Runtime.getRuntime().availableProcessors() > 1 ? 64 : Integer.MAX_VALUE;
+    // Number of enemies handled by a single task of the pool.
+    private static final int ENEMIES_PER_TASK = 16;
+
+    private static ForkJoinPool pool;
+
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private int[] distances = new int[0];
+    private long parallelRuns;
+
+    /**
+     * Thinks for a contiguous range of the enemies, splitting it in two until it is small enough.
+     */
+    private class ThinkTask extends RecursiveAction {
+        private final ArrayList<Enemy> enemies;
+        private final int playerPosX;
+        private final int playerPosY;
+        private final int from;
+        private final int to;
+
+        private ThinkTask(ArrayList<Enemy> enemies, int playerPosX, int playerPosY, int from, int to) {
+            this.enemies = enemies;
+            this.playerPosX = playerPosX;
+            this.playerPosY = playerPosY;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ENEMIES_PER_TASK) {
+                think(enemies, playerPosX, playerPosY, from, to, true);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ThinkTask(enemies, playerPosX, playerPosY, from, middle),
+                      new ThinkTask(enemies, playerPosX, playerPosY, middle, to));
+        }
+    }
+
+    /**
+     * Runs the think phase for every enemy of the list. The enemies and the grid must not change
+     * until it returns.
+     * @param enemies An ArrayList containing the enemies present on the grid.
+     * @param playerPosX x coordinate of the player object on the grid.
+     * @param playerPosY y coordinate of the player object on the grid.
+     */
+    public void run(ArrayList<Enemy> enemies, int playerPosX, int playerPosY) {
+        if (distances.length < enemies.size()) {
+            distances = new int[Math.max(enemies.size(), 2 * distances.length)];
+        }
+
+        if (enemies.size() < parallelThreshold) {
+            think(enemies, playerPosX, playerPosY, 0, enemies.size(), false);
+            return;
+        }
+        parallelRuns++;
+        getPool().invoke(new ThinkTask(enemies, playerPosX, playerPosY, 0, enemies.size()));
+    }
+
+    /**
+     * Determine whether the think phase should run ahead of the chases of the enemies. It only does when
+     * the chasers search their own paths, since the distance field is shared and computed once, and
+     * when enough enemies are on the grid to split the searches across the threads of the pool.
+     * @param enemies An ArrayList containing the enemies present on the grid.
+     * @param pathFinder The PathFinder of the grid the enemies are placed on.
+     * @return A boolean specifying whether the think phase should run.
+     */
+    public boolean shouldRun(ArrayList<Enemy> enemies, PathFinder pathFinder) {
+        return !pathFinder.isDistanceFieldEnabled() && enemies.size() >= parallelThreshold;
+    }
+
+    /**
+     * Thinks for a range of the enemies. The searches are only started ahead of time when the phase runs
+     * in parallel, on a single thread they would cost the same as running them during the commit.
+     * @param enemies An ArrayList containing the enemies present on the grid.
+     * @param playerPosX x coordinate of the player object on the grid.
+     * @param playerPosY y coordinate of the player object on the grid.
+     * @param from The index of the first enemy of the range.
+     * @param to The index following the last enemy of the range.
+     * @param prepareChase Boolean specifying whether the enemies prepare their chase.
+     */
+    private void think(ArrayList<Enemy> enemies, int playerPosX, int playerPosY, int from, int to, boolean prepareChase) {
+        for (int i = from; i < to; i++) {
+            Enemy enemy = enemies.get(i);
+            distances[i] = distanceToPlayer(playerPosX, playerPosY, enemy);
+            if (prepareChase) enemy.think(playerPosX, playerPosY, distances[i]);
+        }
+    }
+
+    /**
+     * Get the distance between the center of the player and the center of an enemy, which determines
+     * whether the enemy should chase the player or not.
+     * @param playerPosX x coordinate of the player object on the grid.
+     * @param playerPosY y coordinate of the player object on the grid.
+     * @param enemy The enemy whose distance to the player is computed.
+     * @return An integer representing the distance in pixels, rounded down.
+     */
+    public static int distanceToPlayer(int playerPosX, int playerPosY, Enemy enemy) {
+        // Both objects have the same size, so the distance between their centers is the distance between their corners.
+        int dx = playerPosX - enemy.getPosX();
+        int dy = playerPosY - enemy.getPosY();
+        return (int) Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Get the pool shared by the think phases of every game, created the first time it is needed.
+     * Its threads are daemon threads, so they do not keep the game running once it is closed.
+     * @return The ForkJoinPool running the think phases.
+     */
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) pool = new ForkJoinPool();
+        return pool;
+    }
+
+    /**
+     * Get the distance between the center of the player and the center of an enemy, computed by the last run.
+     * @param index The index of the enemy in the list passed to run.
+     * @return An integer representing the distance in pixels.
+     */
+    public int getDistance(int index) {
+        return distances[index];
+    }
+
+    /**
+     * Get the number of enemies from which the phase is split across the threads of the pool.
+     * @return An integer representing the threshold.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Set the number of enemies from which the phase is split across the threads of the pool.
+     * @param parallelThreshold An integer representing the threshold. 0 always runs in parallel,
+     *                          Integer.MAX_VALUE never does.
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Get the number of runs that were split across the threads of the pool.
+     * @return A long representing the number of parallel runs.
+     */
+    public long getParallelRuns() {
+        return parallelRuns;
+    }
+}
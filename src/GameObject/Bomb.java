@@ -5,7 +5,6 @@ package GameObject;
 
 import SystemController.SoundController;
 
-import javax.swing.*;
 import java.awt.*;
 import java.io.Serializable;
 
@@ -30,13 +29,21 @@ public class Bomb extends StaticObject implements Serializable {
      * @param posY Position Y of the robot on the grid
      */
     public Bomb(int posX, int posY) {
-        this.imagePath = "/res/image/bomb.png";
+        reset(posX, posY);
+    }
+
+    /**
+     * Places the bomb on a new tile, with its fuse starting over. Used to reuse the bombs released to a pool.
+     * @param posX Position X of the bomb on the grid
+     * @param posY Position Y of the bomb on the grid
+     */
+    public void reset(int posX, int posY) {
+        this.sprite = Sprite.BOMB;
         this.posX = posX;
         this.posY = posY;
         this.visible = true;
-        this.image = new ImageIcon(this.getClass().getResource(imagePath)).getImage();
-        this.width = image.getWidth(null);
-        this.height = image.getHeight(null);
+        this.width = TileMap.TILE_SIDE_LENGTH;
+        this.height = TileMap.TILE_SIDE_LENGTH;
         this.firstCollision = true;
         this.framesOnGrid = 0;
     }
@@ -65,11 +72,7 @@ public class Bomb extends StaticObject implements Serializable {
      * @param g Graphics object used to render the image
      */
     public void draw(Graphics2D g) {
-        timeExplosion();
-        if (image == null) {
-            this.image = new ImageIcon(this.getClass().getResource(imagePath)).getImage();
-        }
-        if (visible) g.drawImage(image, posX, posY, null);
+        if (visible) super.draw(g);
     }
 
     /**
@@ -3,7 +3,6 @@
  */
 package GameObject;
 
-import javax.swing.*;
 import java.io.Serializable;
 
 /**
@@ -26,14 +25,13 @@ public class BrickWall extends StaticObject implements Serializable {
      *                   or not
      */
     public BrickWall(int posX, int posY, boolean visible, boolean hasPowerUp) {
-        this.imagePath = "/res/image/brickBlock.png";
+        this.sprite = Sprite.BRICK_WALL;
         this.posX = posX;
         this.posY = posY;
         this.previousX = posX;
         this.visible = visible;
-        this.image = new ImageIcon(this.getClass().getResource(imagePath)).getImage();
-        this.width = image.getWidth(null);
-        this.height = image.getHeight(null);
+        this.width = TileMap.TILE_SIDE_LENGTH;
+        this.height = TileMap.TILE_SIDE_LENGTH;
         this.hasPowerUp = hasPowerUp;
     }
 
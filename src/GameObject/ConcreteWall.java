@@ -3,7 +3,6 @@
  */
 package GameObject;
 
-import javax.swing.*;
 import java.io.Serializable;
 
 /**
@@ -19,13 +18,12 @@ public class ConcreteWall extends StaticObject implements Serializable {
      * @param posY y position of the ConcreteWall on the grid
      */
     public ConcreteWall(int posX, int posY) {
-        this.imagePath = "/res/image/concreteBlock.png";
+        this.sprite = Sprite.CONCRETE_WALL;
         this.posX = posX;
         this.posY = posY;
         this.previousX = posX;
-        this.image = new ImageIcon(this.getClass().getResource(imagePath)).getImage();
-        this.width = image.getWidth(null);
-        this.height = image.getHeight(null);
+        this.width = TileMap.TILE_SIDE_LENGTH;
+        this.height = TileMap.TILE_SIDE_LENGTH;
         this.visible = true;
     }
 
@@ -11,7 +11,6 @@ import java.util.Random;
  */
 public enum Direction implements Serializable {
     NORTH, SOUTH, EAST, WEST;
-    public static Random random = new Random();
 
     public static final Direction[] DIRECTIONS = {NORTH, SOUTH, EAST, WEST};
     public static final Direction[] NSDIRECTIONS = {NORTH, SOUTH};
@@ -20,9 +19,10 @@ public enum Direction implements Serializable {
     /**
      * Get a random Direction. Used to determine the motion of enemies upon spawning,
      * and also when their artificial intelligence requirements are met.
+     * @param random The Random instance of the game.
      * @return A randomly selected Direction object representing one of the four cardinal directions.
      */
-    public static Direction getRandomDirection() {
+    public static Direction getRandomDirection(Random random) {
         int index = random.nextInt(DIRECTIONS.length);
         return DIRECTIONS[index];
     }
@@ -33,9 +33,10 @@ public enum Direction implements Serializable {
      * selected between the perpendicular alternatives of NORTH or SOUTH.
      * @param direction The direction specifying the perpendicular set that will be considered
      *                  in the selection process.
+     * @param random The Random instance of the game.
      * @return A Direction object that is perpendicular to the one passed to the function.
      */
-    public static Direction getRandomPerpendicularDirection(Direction direction) {
+    public static Direction getRandomPerpendicularDirection(Direction direction, Random random) {
         int index = random.nextInt(2);
         if (direction == NORTH || direction == SOUTH) {
             return EWDIRECTIONS[index];
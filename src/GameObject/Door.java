@@ -3,7 +3,6 @@
  */
 package GameObject;
 
-import javax.swing.*;
 import java.io.Serializable;
 
 /**
@@ -20,14 +19,13 @@ public class Door extends StaticObject implements Serializable {
      * @param posY Position Y of the door in the grid
      */
     public Door(int posX, int posY) {
-        this.imagePath = "/res/image/door.png";
+        this.sprite = Sprite.DOOR;
         this.posX = posX;
         this.posY = posY;
         this.visible = true;
-        this.image = new ImageIcon(this.getClass().getResource(imagePath)).getImage();
         this.firstCollision = true;
-        this.width = image.getWidth(null);
-        this.height = image.getHeight(null);
+        this.width = sprite.getWidth();
+        this.height = sprite.getHeight();
     }
 
 }
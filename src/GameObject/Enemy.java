@@ -6,8 +6,10 @@ package GameObject;
 import GameObject.ArtificialIntelligence.*;
 import GamePlay.Coordinate;
 
-import javax.swing.*;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Used to represent the enemy objects present in the game. Note that there are 8 different enemy types in the game.
@@ -16,113 +18,209 @@ import java.io.Serializable;
  *
  * Enemies can have 3 different speed attributes, the capability of passing through walls, and also 3 different
  * levels of intelligence.
+ *
+ * The state of an enemy is held by a slot of an EnemyStore, which keeps the enemies of a grid in parallel
+ * arrays. The Enemy object is a view over its slot. The behaviour of the enemies is shared by all the
+ * enemies of a same type, and the intelligences keep the state of the chases in the slot of the enemy.
+ *
+ * The enemy overrides the accessors of the attributes inherited from GameObject and MovableObject, along
+ * with markTickStart and the interpolated getters, to reach its slot. The methods of the parent classes
+ * only go through these accessors, so the inherited fields of an enemy are left at their default values
+ * and never read. The sprite is the only inherited field the enemy uses.
  */
 public class Enemy extends MovableObject implements Serializable {
 
     public static final int SPRITE_SIDE_LENGTH = 30;
-    private EnemyType enemyType;
-    private Direction directionOfMovement;
-    private ArtificialIntelligence intelligence = null;
-    private PathFinder pathFinder;
-    private int difficultyRanking;
-    private boolean hitByFlames = false;
+
+    private static final EnemyType[] ENEMY_TYPES = EnemyType.values();
+    // The intelligences keep no state of their own, so they are shared by the enemies of the same level.
+    private static final ArtificialIntelligence LOW_INTELLIGENCE = new LowIntelligence();
+    private static final ArtificialIntelligence MEDIUM_INTELLIGENCE = new MediumIntelligence();
+    private static final ArtificialIntelligence HIGH_INTELLIGENCE = new HighIntelligence();
+
+    //Store holding the state of the enemy, and the slot of the enemy in that store.
+    private EnemyStore store;
+    private int slot;
+    //Single slot store of the enemy, holding its state while it is not placed on a grid.
+    private EnemyStore ownStore;
 
     /**
-     * Dynamically generate the enemy object based on the EnemyType passed as argument.
+     * Dynamically generate the enemy object based on the EnemyType passed as argument. The direction
+     * of movement is drawn from the generator of the calling thread, which no game uses.
      * @param type EnemyType to be created
      * @param posX x position of the enemy on the grid
      * @param posY y position of the enemy on the grid
      */
     public Enemy(EnemyType type, int posX, int posY) {
+        this(type, posX, posY, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Dynamically generate the enemy object based on the EnemyType passed as argument, with its
+     * direction of movement drawn from the random number generator of a game.
+     * @param type EnemyType to be created
+     * @param posX x position of the enemy on the grid
+     * @param posY y position of the enemy on the grid
+     * @param random The Random instance of the game the enemy is created for.
+     */
+    public Enemy(EnemyType type, int posX, int posY, Random random) {
+        this();
+        reset(type, posX, posY, random);
+    }
+
+    /**
+     * Creates an enemy that is not set yet, in a store of its own. Used by the pools of enemies,
+     * which reset the enemy before placing it on the grid.
+     */
+    Enemy() {
+        this.ownStore = new EnemyStore(1);
+        this.store = ownStore;
+        this.slot = store.allocate(this);
+    }
 
-        this.enemyType = type;
-        this.posX = posX;
-        this.posY = posY;
-        this.previousX = posX;
-        this.previousY = posY;
-        this.visible = true;
+    /**
+     * Turns the enemy into a new enemy of the type passed, as if it was just created. Used to reuse
+     * the enemies released to a pool.
+     * @param type EnemyType of the enemy
+     * @param posX x position of the enemy on the grid
+     * @param posY y position of the enemy on the grid
+     */
+    public void reset(EnemyType type, int posX, int posY) {
+        reset(type, posX, posY, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Turns the enemy into a new enemy of the type passed, as if it was just created for a game.
+     * @param type EnemyType of the enemy
+     * @param posX x position of the enemy on the grid
+     * @param posY y position of the enemy on the grid
+     * @param random The Random instance of the game the enemy is created for.
+     */
+    public void reset(EnemyType type, int posX, int posY, Random random) {
+        store.flags[slot] = 0;
+        store.nextDestinationX[slot] = 0;
+        store.nextDestinationY[slot] = 0;
+        store.pathsToPlayer.set(slot, null);
+        store.type[slot] = (byte) type.ordinal();
+        store.posX[slot] = posX;
+        store.posY[slot] = posY;
+        store.previousX[slot] = posX;
+        store.previousY[slot] = posY;
+        store.tickStartX[slot] = posX;
+        store.tickStartY[slot] = posY;
+        setVisible(true);
         //Randomly select a direction of movement upon creation
-        this.directionOfMovement = Direction.getRandomDirection();
+        setDirectionOfMovement(Direction.getRandomDirection(random));
 
-        //Depending on the EnemyTyped passed, we select a score attribute, image, level of intelligence, speed,
-        //and whether the enemy can pass through walls or not.
+        //Depending on the EnemyTyped passed, we select a score attribute, speed, whether the enemy
+        //can pass through walls or not, and its difficulty. The level of intelligence is given by
+        //intelligenceFor.
         switch (type) {
             case BALLOOM:
-                this.imagePath = "/res/image/Enemies/balloom.png";
-                this.score = 100;
-                this.speed = MovableObject.SLOWSPEED;
-                this.wallPass = false;
-                this.intelligence = new LowIntelligence();
-                this.difficultyRanking = 0;
+                setEnemyAttributes(100, MovableObject.SLOWSPEED, false, 0);
                 break;
             case ONEAL:
-                this.imagePath = "/res/image/Enemies/oneal.png";
-                this.score = 200;
-                this.speed = MovableObject.NORMALSPEED;
-                this.wallPass = false;
-                this.intelligence = new MediumIntelligence();
-                this.difficultyRanking = 1;
+                setEnemyAttributes(200, MovableObject.NORMALSPEED, false, 1);
                 break;
             case DOLL:
-                this.imagePath = "/res/image/Enemies/doll.png";
-                this.score = 400;
-                this.speed = MovableObject.SLOWSPEED;
-                this.wallPass = false;
-                this.intelligence = new LowIntelligence();
-                this.difficultyRanking = 2;
+                setEnemyAttributes(400, MovableObject.SLOWSPEED, false, 2);
                 break;
             case MINVO:
-                this.imagePath = "/res/image/Enemies/minvo.png";
-                this.score = 800;
-                this.speed = MovableObject.NORMALSPEED;
-                this.wallPass = false;
-                this.intelligence = new MediumIntelligence();
-                this.difficultyRanking = 3;
+                setEnemyAttributes(800, MovableObject.NORMALSPEED, false, 3);
                 break;
             case KONDORIA:
-                this.imagePath = "/res/image/Enemies/kondoria.png";
-                this.score = 1000;
                 //TODO: define 'slowest' speed
-                this.speed = MovableObject.SLOWSPEED;
-                this.wallPass = true;
-                this.intelligence = new HighIntelligence();
-                this.difficultyRanking = 4;
+                setEnemyAttributes(1000, MovableObject.SLOWSPEED, true, 4);
                 break;
             case OVAPI:
-                this.imagePath = "/res/image/Enemies/ovapi.png";
-                this.score = 2000;
-                this.speed = MovableObject.SLOWSPEED;
-                this.wallPass = true;
-                this.intelligence = new MediumIntelligence();
-                this.difficultyRanking = 5;
+                setEnemyAttributes(2000, MovableObject.SLOWSPEED, true, 5);
                 break;
             case PASS:
-                this.imagePath = "/res/image/Enemies/pass.png";
-                this.score = 4000;
-                this.speed = MovableObject.FASTSPEED;
-                this.wallPass = false;
-                this.intelligence = new HighIntelligence();
-                this.difficultyRanking = 6;
+                setEnemyAttributes(4000, MovableObject.FASTSPEED, false, 6);
                 break;
             case PONTAN:
-                this.imagePath = "/res/image/Enemies/pontan.png";
-                this.score = 8000;
-                this.speed = MovableObject.FASTSPEED;
-                this.wallPass = true;
-                this.intelligence = new HighIntelligence();
-                this.difficultyRanking = 7;
+                setEnemyAttributes(8000, MovableObject.FASTSPEED, true, 7);
                 break;
         }
-        this.image = new ImageIcon(this.getClass().getResource(imagePath)).getImage();
-        this.width = image.getWidth(null);
-        this.height = image.getHeight(null);
+        this.sprite = Sprite.forEnemy(type);
+        setWidth(sprite.getWidth());
+        setHeight(sprite.getHeight());
+    }
+
+    /**
+     * Sets the attributes that depend on the type of the enemy.
+     * @param score The score given to the player for killing the enemy.
+     * @param speed The speed of the enemy.
+     * @param wallPass Boolean specifying whether the enemy can pass through brick walls.
+     * @param difficultyRanking The ranking of the difficulty of the enemy type.
+     */
+    private void setEnemyAttributes(int score, int speed, boolean wallPass, int difficultyRanking) {
+        setScore(score);
+        setSpeed(speed);
+        setWallPass(wallPass);
+        store.difficultyRanking[slot] = (byte) difficultyRanking;
+    }
+
+    /**
+     * Get the level of intelligence of an enemy type: low, medium or high.
+     * @param type The type of the enemy.
+     * @return The ArtificialIntelligence instance shared by the enemies of that type.
+     */
+    public static ArtificialIntelligence intelligenceFor(EnemyType type) {
+        switch (type) {
+            case BALLOOM:
+            case DOLL:
+                return LOW_INTELLIGENCE;
+            case ONEAL:
+            case MINVO:
+            case OVAPI:
+                return MEDIUM_INTELLIGENCE;
+            default:
+                return HIGH_INTELLIGENCE;
+        }
+    }
+
+    /**
+     * Get the store holding the state of the enemy.
+     * @return The EnemyStore the enemy is a view of.
+     */
+    EnemyStore getStore() {
+        return store;
+    }
+
+    /**
+     * Get the single slot store of the enemy, which holds its state while it is not placed on a grid.
+     * The enemy moves back into it when it leaves a grid, so removing an enemy allocates no store.
+     * @return The EnemyStore created with the enemy.
+     */
+    EnemyStore getOwnStore() {
+        return ownStore;
+    }
+
+    /**
+     * Get the slot of the enemy in its store.
+     * @return An integer representing the index of the slot.
+     */
+    int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Makes the enemy a view of another slot, once its state was copied there.
+     * @param store The EnemyStore now holding the state of the enemy.
+     * @param slot The slot of the enemy in that store.
+     */
+    void bind(EnemyStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
     }
 
     /**
      * This method moves the enemy based on its type of intelligence (low,medium and high).
      */
+    @Override
     public void move() {
-        intelligence.move(this);
+        store.move(slot);
     }
 
     /**
@@ -130,7 +228,7 @@ public class Enemy extends MovableObject implements Serializable {
      * direction based on the enemys' intelligence.
      */
     public void reverseDirection() {
-        intelligence.reverseDirection(this);
+        getIntelligence().reverseDirection(this);
     }
 
     /**
@@ -142,7 +240,19 @@ public class Enemy extends MovableObject implements Serializable {
      *                                      and the center of the enemy object.
      */
     public void chasePlayer(int playerPosX, int playerPosY, int distanceBetweenEnemyAndPlayer) {
-        intelligence.chasePlayer(playerPosX, playerPosY, distanceBetweenEnemyAndPlayer, this);
+        getIntelligence().chasePlayer(playerPosX, playerPosY, distanceBetweenEnemyAndPlayer, this);
+    }
+
+    /**
+     * Prepares the work of the next call to chasePlayer that only reads the grid, such as the path
+     * searches of the high intelligence enemies. It can run concurrently for different enemies.
+     * @param playerPosX x coordinate of the player object on the grid.
+     * @param playerPosY y coordinate of the player object on the grid.
+     * @param distanceBetweenEnemyAndPlayer Distance between the center of the player object
+     *                                      and the center of the enemy object.
+     */
+    public void think(int playerPosX, int playerPosY, int distanceBetweenEnemyAndPlayer) {
+        getIntelligence().think(playerPosX, playerPosY, distanceBetweenEnemyAndPlayer, this);
     }
 
     /**
@@ -150,7 +260,7 @@ public class Enemy extends MovableObject implements Serializable {
      * by a bomb explosion.
      */
     public void death() {
-        this.visible = false;
+        setVisible(false);
     }
 
     /**
@@ -158,7 +268,7 @@ public class Enemy extends MovableObject implements Serializable {
      * @return the cardinal direction of the enemy's direction of movement
      */
     public Direction getDirectionOfMovement() {
-        return directionOfMovement;
+        return Direction.DIRECTIONS[store.direction[slot]];
     }
 
     /**
@@ -166,7 +276,7 @@ public class Enemy extends MovableObject implements Serializable {
      * @param directionOfMovement This assigned direction is now the enemy's new direction of movement.
      */
     public void setDirectionOfMovement(Direction directionOfMovement) {
-        this.directionOfMovement = directionOfMovement;
+        store.direction[slot] = (byte) directionOfMovement.ordinal();
     }
 
     /**
@@ -174,7 +284,7 @@ public class Enemy extends MovableObject implements Serializable {
      * @return the type of enemy (whether Minvo or Balloom,etc) present during each stage of game play.
      */
     public EnemyType getEnemyType() {
-        return enemyType;
+        return ENEMY_TYPES[store.type[slot]];
     }
 
     /**
@@ -182,7 +292,7 @@ public class Enemy extends MovableObject implements Serializable {
      * @return the centralized coordinate location of the enemy.
      */
     public Coordinate getCenterOfEnemyAsCoordinate() {
-        return new Coordinate(posX + SPRITE_SIDE_LENGTH / 2, posY + SPRITE_SIDE_LENGTH / 2);
+        return new Coordinate(getPosX() + SPRITE_SIDE_LENGTH / 2, getPosY() + SPRITE_SIDE_LENGTH / 2);
     }
 
     /**
@@ -190,7 +300,7 @@ public class Enemy extends MovableObject implements Serializable {
      * @return a boolean- if enemy is hit by flame, it returns true. False if the enemy is not hit.
      */
     public boolean isHitByFlames() {
-        return hitByFlames;
+        return store.hasFlag(slot, EnemyStore.HIT_BY_FLAMES);
     }
 
     /**
@@ -198,7 +308,7 @@ public class Enemy extends MovableObject implements Serializable {
      * @param hitByFlames this assigned parameter is now the decision of whether or not the enemy is hit by the flame
      */
     public void setHitByFlames(boolean hitByFlames) {
-        this.hitByFlames = hitByFlames;
+        store.setFlag(slot, EnemyStore.HIT_BY_FLAMES, hitByFlames);
     }
 
     /**
@@ -206,7 +316,7 @@ public class Enemy extends MovableObject implements Serializable {
      * @return the integer corresponding to the enemys' difficulty ranking
      */
     public int getDifficultyRanking() {
-        return difficultyRanking;
+        return store.difficultyRanking[slot];
     }
 
     /**
@@ -214,25 +324,334 @@ public class Enemy extends MovableObject implements Serializable {
      * @return enemys' intelligence type
      */
     public ArtificialIntelligence getIntelligence() {
-        return intelligence;
+        return intelligenceFor(getEnemyType());
     }
 
     /**
-     * If the enemy is defined to be of high intelligence, the shortest path between the player and the enemy is defined.
-     * This method is called to attain this short path.
-     * @return the shortest path between the player and enemy
+     * Get the path finder of the grid the enemy is placed on. High intelligence enemies use it
+     * to find the shortest path to the player.
+     * @return The PathFinder instance of the grid, or null if the enemy was not placed on a grid.
      */
     public PathFinder getPathFinder() {
-        return pathFinder;
+        return store.getPathFinder();
     }
 
     /**
-     * Assigns the shortest path between the player and enemy
-     * @param pathFinder This assigned path is now the shortest path used when the getPathFinder method is called
+     * Set the path finder of the grid the enemy is placed on. It is shared by every enemy of the store.
+     * @param pathFinder The PathFinder instance holding the graph representation of the grid.
      */
     public void setPathFinder(PathFinder pathFinder) {
-        this.pathFinder = pathFinder;
+        store.setPathFinder(pathFinder);
     }
 
-}
+    /**
+     * Get the random number generator of the game the enemy is placed on, which the intelligences
+     * use to make the enemy turn at random.
+     * @return The Random instance of the game, or the generator of the calling thread if the enemy
+     * was not placed on a grid.
+     */
+    public Random getRandom() {
+        Random random = store.getRandom();
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    /**
+     * Determine whether the enemy is chasing the player.
+     * @return A boolean specifying whether the chase is enabled.
+     */
+    public boolean isChaseEnabled() {
+        return store.hasFlag(slot, EnemyStore.CHASE_ENABLED);
+    }
+
+    /**
+     * Enables or disables the chase of the player.
+     * @param chaseEnabled Boolean specifying whether the chase is enabled.
+     */
+    public void setChaseEnabled(boolean chaseEnabled) {
+        store.setFlag(slot, EnemyStore.CHASE_ENABLED, chaseEnabled);
+    }
+
+    /**
+     * Determine whether the chase follows the distance field to the player instead of a path of its own.
+     * @return A boolean specifying whether the enemy follows the distance field.
+     */
+    public boolean isFollowingDistanceField() {
+        return store.hasFlag(slot, EnemyStore.FOLLOWING_DISTANCE_FIELD);
+    }
+
+    /**
+     * Set whether the chase follows the distance field to the player instead of a path of its own.
+     * @param followingDistanceField Boolean specifying whether the enemy follows the distance field.
+     */
+    public void setFollowingDistanceField(boolean followingDistanceField) {
+        store.setFlag(slot, EnemyStore.FOLLOWING_DISTANCE_FIELD, followingDistanceField);
+    }
+
+    /**
+     * Determine whether the chase has a next destination.
+     * @return A boolean specifying whether a next destination is set.
+     */
+    public boolean hasNextDestination() {
+        return store.hasFlag(slot, EnemyStore.HAS_NEXT_DESTINATION);
+    }
+
+    /**
+     * Get the x coordinate of the tile the chase goes to next.
+     * @return An integer representing the x coordinate of the next destination.
+     */
+    public int getNextDestinationX() {
+        return store.nextDestinationX[slot];
+    }
+
+    /**
+     * Get the y coordinate of the tile the chase goes to next.
+     * @return An integer representing the y coordinate of the next destination.
+     */
+    public int getNextDestinationY() {
+        return store.nextDestinationY[slot];
+    }
+
+    /**
+     * Set the tile the chase goes to next.
+     * @param x The x coordinate of the next destination.
+     * @param y The y coordinate of the next destination.
+     */
+    public void setNextDestination(int x, int y) {
+        store.nextDestinationX[slot] = x;
+        store.nextDestinationY[slot] = y;
+        store.setFlag(slot, EnemyStore.HAS_NEXT_DESTINATION, true);
+    }
+
+    /**
+     * Removes the next destination of the chase.
+     */
+    public void clearNextDestination() {
+        store.setFlag(slot, EnemyStore.HAS_NEXT_DESTINATION, false);
+    }
+
+    /**
+     * Get the tiles left on the path from the enemy to the player.
+     * @return An ArrayList of the graph coordinates of the tiles, or null if the enemy has no path.
+     */
+    public ArrayList<Coordinate> getPathToPlayer() {
+        return store.pathsToPlayer.get(slot);
+    }
+
+    /**
+     * Set the tiles left on the path from the enemy to the player.
+     * @param pathToPlayer An ArrayList of the graph coordinates of the tiles, or null.
+     */
+    public void setPathToPlayer(ArrayList<Coordinate> pathToPlayer) {
+        store.pathsToPlayer.set(slot, pathToPlayer);
+    }
+
+    /**
+     * Records the current position as the start of a new tick.
+     */
+    @Override
+    public void markTickStart() {
+        store.tickStartX[slot] = store.posX[slot];
+        store.tickStartY[slot] = store.posY[slot];
+    }
+
+    /**
+     * Get the x coordinate where the enemy is rendered between two updates.
+     * @param interpolation Fraction of a tick elapsed since the last update, between 0 and 1.
+     * @return An integer representing the interpolated x coordinate of the enemy.
+     */
+    @Override
+    public int getInterpolatedX(float interpolation) {
+        return store.getInterpolatedX(slot, interpolation);
+    }
+
+    /**
+     * Get the y coordinate where the enemy is rendered between two updates.
+     * @param interpolation Fraction of a tick elapsed since the last update, between 0 and 1.
+     * @return An integer representing the interpolated y coordinate of the enemy.
+     */
+    @Override
+    public int getInterpolatedY(float interpolation) {
+        return store.getInterpolatedY(slot, interpolation);
+    }
+
+    /**
+     * Retrieve the speed attribute of the enemy
+     * @return an integer representing the speed of the enemy
+     */
+    @Override
+    public int getSpeed() {
+        return store.speed[slot];
+    }
 
+    /**
+     * Modify the speed attribute of the enemy
+     * @param speed Set the speed of the enemy
+     */
+    @Override
+    public void setSpeed(int speed) {
+        store.speed[slot] = speed;
+    }
+
+    /**
+     * Get the wallPass attribute of the enemy
+     * @return A boolean specifying whether the enemy can pass through brick walls or not.
+     */
+    @Override
+    public boolean hasWallPass() {
+        return store.hasFlag(slot, EnemyStore.WALL_PASS);
+    }
+
+    /**
+     * Set the wallPass attribute of the enemy
+     * @param wallPass A boolean specifying whether the enemy can pass through brick walls or not.
+     */
+    @Override
+    public void setWallPass(boolean wallPass) {
+        store.setFlag(slot, EnemyStore.WALL_PASS, wallPass);
+    }
+
+    /**
+     * Get the score given to the player for killing the enemy
+     * @return Integer representing the score of the enemy
+     */
+    @Override
+    public int getScore() {
+        return store.score[slot];
+    }
+
+    /**
+     * Set the score given to the player for killing the enemy
+     * @param score An integer representing the score of the enemy
+     */
+    @Override
+    public void setScore(int score) {
+        store.score[slot] = score;
+    }
+
+    /**
+     * Gets the x coordinate of the enemy
+     * @return Integer representing the x coordinate of the enemy
+     */
+    @Override
+    public int getPosX() {
+        return store.posX[slot];
+    }
+
+    /**
+     * Sets the x coordinate of the enemy
+     * @param posX An integer representing the x position where the enemy will be rendered on the Game Grid.
+     */
+    @Override
+    public void setPosX(int posX) {
+        store.posX[slot] = posX;
+    }
+
+    /**
+     * Gets the y coordinate of the enemy
+     * @return Integer representing the y coordinate of the enemy
+     */
+    @Override
+    public int getPosY() {
+        return store.posY[slot];
+    }
+
+    /**
+     * Sets the y coordinate of the enemy
+     * @param posY An integer representing the y position where the enemy will be rendered on the Game Grid.
+     */
+    @Override
+    public void setPosY(int posY) {
+        store.posY[slot] = posY;
+    }
+
+    /**
+     * Get the x coordinate where the enemy was in the last frame.
+     * @return An integer representing the previous x coordinate of the enemy.
+     */
+    @Override
+    public int getPreviousX() {
+        return store.previousX[slot];
+    }
+
+    /**
+     * Set the x coordinate where the enemy was in the last frame.
+     * @param previousX The previous x coordinate of the enemy.
+     */
+    @Override
+    public void setPreviousX(int previousX) {
+        store.previousX[slot] = previousX;
+    }
+
+    /**
+     * Get the y coordinate where the enemy was in the last frame.
+     * @return An integer representing the previous y coordinate of the enemy.
+     */
+    @Override
+    public int getPreviousY() {
+        return store.previousY[slot];
+    }
+
+    /**
+     * Set the y coordinate where the enemy was in the last frame.
+     * @param previousY The previous y coordinate of the enemy.
+     */
+    @Override
+    public void setPreviousY(int previousY) {
+        store.previousY[slot] = previousY;
+    }
+
+    /**
+     * Returns the width of the enemy on the game grid.
+     * @return An integer specifying the width of the enemy.
+     */
+    @Override
+    public int getWidth() {
+        return store.width[slot];
+    }
+
+    /**
+     * Set the width of the enemy on the game grid.
+     * @param width An integer specifying the width of the enemy.
+     */
+    @Override
+    public void setWidth(int width) {
+        store.width[slot] = width;
+    }
+
+    /**
+     * Returns the height of the enemy on the game grid.
+     * @return An integer specifying the height of the enemy.
+     */
+    @Override
+    public int getHeight() {
+        return store.height[slot];
+    }
+
+    /**
+     * Set the height of the enemy on the game grid.
+     * @param height An integer specifying the height of the enemy.
+     */
+    @Override
+    public void setHeight(int height) {
+        store.height[slot] = height;
+    }
+
+    /**
+     * Gets the visibility status of the enemy.
+     * @return A boolean representing whether the enemy is visible on the grid or not.
+     */
+    @Override
+    public boolean isVisible() {
+        return store.hasFlag(slot, EnemyStore.VISIBLE);
+    }
+
+    /**
+     * Set the visibility status of the enemy.
+     * @param visible A boolean representing whether the enemy is visible on the grid or not.
+     */
+    @Override
+    public void setVisible(boolean visible) {
+        store.setFlag(slot, EnemyStore.VISIBLE, visible);
+    }
+
+}
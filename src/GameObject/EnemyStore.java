@@ -0,0 +1,372 @@
+package GameObject;
+
+import GameObject.ArtificialIntelligence.LowIntelligence;
+import GameObject.ArtificialIntelligence.PathFinder;
+import GamePlay.Coordinate;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Holds the state of a group of enemies in parallel arrays, one slot per enemy: position, previous
+ * position, size, speed, type, direction, flags and the state of the chase of the high intelligence
+ * enemies. The loops over every enemy of the grid, such as the start of a tick or the drawing, read
+ * the arrays directly instead of going through one object per enemy.
+ *
+ * The Enemy objects are views over a slot of a store. An enemy that is not placed on a grid has a store
+ * of its own. The TileMap keeps the enemies of the grid in its store, in the order of its enemies
+ * ArrayList, and the enemies that leave the list move back into the store they were created with.
+ */
+public class EnemyStore implements Serializable {
+
+    // Bits of the flags of an enemy.
+    static final int VISIBLE = 1;
+    static final int WALL_PASS = 2;
+    static final int HIT_BY_FLAMES = 4;
+    static final int CHASE_ENABLED = 8;
+    static final int FOLLOWING_DISTANCE_FIELD = 16;
+    static final int HAS_NEXT_DESTINATION = 32;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Whether the enemies of each type only move straight, which is the movement of the low intelligence.
+    private static final boolean[] MOVES_STRAIGHT = new boolean[EnemyType.values().length];
+
+    static {
+        for (EnemyType type : EnemyType.values()) {
+            MOVES_STRAIGHT[type.ordinal()] = Enemy.intelligenceFor(type) instanceof LowIntelligence;
+        }
+    }
+
+    int size;
+    Enemy[] views;
+
+    int[] posX;
+    int[] posY;
+    int[] previousX;
+    int[] previousY;
+    int[] tickStartX;
+    int[] tickStartY;
+    int[] width;
+    int[] height;
+    int[] speed;
+    int[] score;
+    byte[] type;
+    byte[] direction;
+    byte[] difficultyRanking;
+    byte[] flags;
+    int[] nextDestinationX;
+    int[] nextDestinationY;
+    ArrayList<ArrayList<Coordinate>> pathsToPlayer;
+
+    private PathFinder pathFinder;
+    private Random random;
+
+    /**
+     * Creates an empty store.
+     */
+    public EnemyStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store with room for a number of enemies. It grows as needed.
+     * @param capacity The number of enemies the store holds before growing.
+     */
+    public EnemyStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        views = new Enemy[capacity];
+        posX = new int[capacity];
+        posY = new int[capacity];
+        previousX = new int[capacity];
+        previousY = new int[capacity];
+        tickStartX = new int[capacity];
+        tickStartY = new int[capacity];
+        width = new int[capacity];
+        height = new int[capacity];
+        speed = new int[capacity];
+        score = new int[capacity];
+        type = new byte[capacity];
+        direction = new byte[capacity];
+        difficultyRanking = new byte[capacity];
+        flags = new byte[capacity];
+        nextDestinationX = new int[capacity];
+        nextDestinationY = new int[capacity];
+        pathsToPlayer = new ArrayList<ArrayList<Coordinate>>(capacity);
+    }
+
+    /**
+     * Adds a slot at the end of the store for a new enemy.
+     * @param view The enemy viewing the slot.
+     * @return The index of the slot.
+     */
+    int allocate(Enemy view) {
+        if (size == views.length) grow();
+        int slot = size++;
+        views[slot] = view;
+        pathsToPlayer.add(null);
+        return slot;
+    }
+
+    /**
+     * Doubles the capacity of the store.
+     */
+    private void grow() {
+        int capacity = 2 * views.length;
+        views = Arrays.copyOf(views, capacity);
+        posX = Arrays.copyOf(posX, capacity);
+        posY = Arrays.copyOf(posY, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        tickStartX = Arrays.copyOf(tickStartX, capacity);
+        tickStartY = Arrays.copyOf(tickStartY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        score = Arrays.copyOf(score, capacity);
+        type = Arrays.copyOf(type, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        difficultyRanking = Arrays.copyOf(difficultyRanking, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        nextDestinationX = Arrays.copyOf(nextDestinationX, capacity);
+        nextDestinationY = Arrays.copyOf(nextDestinationY, capacity);
+    }
+
+    /**
+     * Copies the state of an enemy from a slot of another store to a slot of this one.
+     * @param from The store the enemy is copied from.
+     * @param fromSlot The slot of the enemy in that store.
+     * @param toSlot The slot of this store receiving the enemy.
+     */
+    private void copyFrom(EnemyStore from, int fromSlot, int toSlot) {
+        views[toSlot] = from.views[fromSlot];
+        posX[toSlot] = from.posX[fromSlot];
+        posY[toSlot] = from.posY[fromSlot];
+        previousX[toSlot] = from.previousX[fromSlot];
+        previousY[toSlot] = from.previousY[fromSlot];
+        tickStartX[toSlot] = from.tickStartX[fromSlot];
+        tickStartY[toSlot] = from.tickStartY[fromSlot];
+        width[toSlot] = from.width[fromSlot];
+        height[toSlot] = from.height[fromSlot];
+        speed[toSlot] = from.speed[fromSlot];
+        score[toSlot] = from.score[fromSlot];
+        type[toSlot] = from.type[fromSlot];
+        direction[toSlot] = from.direction[fromSlot];
+        difficultyRanking[toSlot] = from.difficultyRanking[fromSlot];
+        flags[toSlot] = from.flags[fromSlot];
+        nextDestinationX[toSlot] = from.nextDestinationX[fromSlot];
+        nextDestinationY[toSlot] = from.nextDestinationY[fromSlot];
+        pathsToPlayer.set(toSlot, from.pathsToPlayer.get(fromSlot));
+        views[toSlot].bind(this, toSlot);
+    }
+
+    /**
+     * Moves an enemy back into the single slot store it was created with, once it left the group held
+     * by this one. The store is reused every time the enemy leaves a grid, so nothing is allocated.
+     * @param slot The slot of the enemy.
+     */
+    private void detach(int slot) {
+        EnemyStore own = views[slot].getOwnStore();
+        own.pathFinder = pathFinder;
+        own.random = random;
+        own.copyFrom(this, slot, 0);
+    }
+
+    /**
+     * Makes the slots of the store match a list of enemies: the enemy at index i of the list is placed
+     * in slot i, the enemies of the list held by other stores are moved in, and the enemies that are no
+     * longer in the list move back into their own store. Nothing is moved if the store already matches
+     * the list.
+     * @param enemies An ArrayList containing the enemies of the group, without duplicates.
+     */
+    public void sync(ArrayList<Enemy> enemies) {
+        int numOfEnemies = enemies.size();
+        for (int i = 0; i < numOfEnemies; i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.getStore() == this && enemy.getSlot() == i) continue;
+
+            // Make room in slot i by moving its enemy to a new slot at the end.
+            if (i == size) {
+                allocate(enemy);
+            } else if (isHeldBy(i)) {
+                copyFrom(this, i, allocate(views[i]));
+            }
+
+            EnemyStore from = enemy.getStore();
+            int fromSlot = enemy.getSlot();
+            copyFrom(from, fromSlot, i);
+            if (from == this) {
+                // The slot left behind is dropped once every enemy of the list is in place.
+                views[fromSlot] = null;
+            }
+        }
+
+        for (int slot = numOfEnemies; slot < size; slot++) {
+            if (isHeldBy(slot)) detach(slot);
+            views[slot] = null;
+        }
+        for (int slot = size - 1; slot >= numOfEnemies; slot--) {
+            pathsToPlayer.remove(slot);
+        }
+        size = numOfEnemies;
+    }
+
+    /**
+     * Determine whether the enemy of a slot is still viewing it. A slot left behind by an enemy that
+     * moved to another slot or to another store is free.
+     * @param slot The slot tested.
+     * @return A boolean specifying whether the slot holds an enemy.
+     */
+    private boolean isHeldBy(int slot) {
+        Enemy view = views[slot];
+        return view != null && view.getStore() == this && view.getSlot() == slot;
+    }
+
+    /**
+     * Moves the enemy of a slot for one tick, depending on its type. The enemies that only move straight
+     * are displaced on the arrays of the store, the others are moved by the intelligence of their type.
+     * @param slot The slot of the enemy.
+     */
+    public void move(int slot) {
+        if (MOVES_STRAIGHT[type[slot]]) {
+            moveStraight(slot);
+        } else {
+            Enemy enemy = views[slot];
+            enemy.getIntelligence().move(enemy);
+        }
+    }
+
+    /**
+     * Displaces an enemy by its speed in its direction of movement, keeping its previous coordinate.
+     * @param slot The slot of the enemy.
+     */
+    private void moveStraight(int slot) {
+        // Note that the (0,0) coordinate is at the top-left corner of the grid,
+        // and that the y increases going South.
+        switch (Direction.DIRECTIONS[direction[slot]]) {
+            case NORTH:
+                previousY[slot] = posY[slot];
+                posY[slot] -= speed[slot];
+                break;
+            case SOUTH:
+                previousY[slot] = posY[slot];
+                posY[slot] += speed[slot];
+                break;
+            case EAST:
+                previousX[slot] = posX[slot];
+                posX[slot] += speed[slot];
+                break;
+            case WEST:
+                previousX[slot] = posX[slot];
+                posX[slot] -= speed[slot];
+                break;
+        }
+    }
+
+    /**
+     * Records the position of every enemy at the start of the tick, used to interpolate where they are drawn.
+     */
+    public void markTickStart() {
+        System.arraycopy(posX, 0, tickStartX, 0, size);
+        System.arraycopy(posY, 0, tickStartY, 0, size);
+    }
+
+    /**
+     * Get the x coordinate where an enemy is drawn between two updates.
+     * @param slot The slot of the enemy.
+     * @param interpolation Fraction of a tick elapsed since the last update.
+     * @return The interpolated x coordinate.
+     */
+    int getInterpolatedX(int slot, float interpolation) {
+        int startX = tickStartX[slot];
+        if (Math.abs(posX[slot] - startX) > TileMap.TILE_SIDE_LENGTH) return posX[slot];
+        return startX + Math.round((posX[slot] - startX) * interpolation);
+    }
+
+    /**
+     * Get the y coordinate where an enemy is drawn between two updates.
+     * @param slot The slot of the enemy.
+     * @param interpolation Fraction of a tick elapsed since the last update.
+     * @return The interpolated y coordinate.
+     */
+    int getInterpolatedY(int slot, float interpolation) {
+        int startY = tickStartY[slot];
+        if (Math.abs(posY[slot] - startY) > TileMap.TILE_SIDE_LENGTH) return posY[slot];
+        return startY + Math.round((posY[slot] - startY) * interpolation);
+    }
+
+    /**
+     * Determine whether a flag of an enemy is set.
+     * @param slot The slot of the enemy.
+     * @param flag The bit of the flag.
+     * @return A boolean specifying whether the flag is set.
+     */
+    boolean hasFlag(int slot, int flag) {
+        return (flags[slot] & flag) != 0;
+    }
+
+    /**
+     * Sets or clears a flag of an enemy.
+     * @param slot The slot of the enemy.
+     * @param flag The bit of the flag.
+     * @param value Boolean specifying whether the flag is set.
+     */
+    void setFlag(int slot, int flag, boolean value) {
+        if (value) {
+            flags[slot] |= flag;
+        } else {
+            flags[slot] &= ~flag;
+        }
+    }
+
+    /**
+     * Get the number of enemies held by the store.
+     * @return An integer representing the number of slots in use.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the enemy viewing a slot.
+     * @param slot The slot of the enemy.
+     * @return The Enemy object of the slot.
+     */
+    public Enemy getEnemy(int slot) {
+        return views[slot];
+    }
+
+    /**
+     * Get the path finder of the grid the enemies are placed on.
+     * @return The PathFinder instance of the grid, or null if the enemies were not placed on a grid.
+     */
+    public PathFinder getPathFinder() {
+        return pathFinder;
+    }
+
+    /**
+     * Set the path finder of the grid the enemies are placed on.
+     * @param pathFinder The PathFinder instance holding the graph representation of the grid.
+     */
+    public void setPathFinder(PathFinder pathFinder) {
+        this.pathFinder = pathFinder;
+    }
+
+    /**
+     * Get the random number generator of the game the enemies are placed on.
+     * @return The Random instance of the game, or null if the enemies were not placed on a grid.
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Set the random number generator of the game the enemies are placed on.
+     * @param random The Random instance of the game.
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+}
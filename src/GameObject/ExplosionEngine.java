@@ -0,0 +1,153 @@
+package GameObject;
+
+import java.util.ArrayList;
+
+/**
+ * Resolves the explosions of the bombs placed on the grid, chain reactions included, within a single tick.
+ * The bombs are indexed by the tile they are placed on. The explosion of a bomb emits its blast rays as
+ * flames, and every bomb placed on a tile reached by a ray is detonated in turn, in breadth-first order,
+ * until the chain is over. Bombs placed on the tile of a flame still burning on the grid also explode.
+ *
+ * Each bomb is looked up once per flame of the chain, instead of testing every flame of the grid against
+ * every bomb on each frame, and a whole chain turns into flames on the tick it starts.
+ */
+public class ExplosionEngine {
+
+    private static final int NUM_OF_TILES = TileMap.NUM_OF_COLS * TileMap.NUM_OF_ROWS;
+    private static final int NO_BOMB = -1;
+
+    private final TileMap tileMap;
+
+    // Index of the first bomb placed on each tile, and of the next bomb placed on the same tile.
+    private final int[] firstBombOnTile;
+    private int[] nextBombOnTile = new int[8];
+    // Breadth-first queue of the bombs to explode, and whether each bomb already joined the queue.
+    private int[] queue = new int[8];
+    private boolean[] queued = new boolean[8];
+
+    private int lastChainLength;
+    private long bombsDetonated;
+    private long chainedBombsDetonated;
+
+    /**
+     * Creates the explosion engine of a grid.
+     * @param tileMap The TileMap where the flames of the explosions are placed.
+     */
+    public ExplosionEngine(TileMap tileMap) {
+        this.tileMap = tileMap;
+        this.firstBombOnTile = new int[NUM_OF_TILES];
+        for (int i = 0; i < NUM_OF_TILES; i++) {
+            firstBombOnTile[i] = NO_BOMB;
+        }
+    }
+
+    /**
+     * Explodes the bombs that detonated, either because their fuse ran out or because the player used the
+     * detonator, along with the bombs placed on burning tiles and every bomb their blasts reach. The bombs
+     * exploded are made invisible, and the flames of their blasts are added to the grid. The bombs are not
+     * removed from the list, the caller removes them before the next call.
+     * @param bombs An ArrayList containing the bombs placed on the grid.
+     * @return An integer representing the number of bombs exploded.
+     */
+    public int detonate(ArrayList<Bomb> bombs) {
+        int bombCount = bombs.size();
+        lastChainLength = 0;
+        if (bombCount == 0) return 0;
+        ensureCapacity(bombCount);
+
+        // Index the bombs by tile, and start the chain from the ones that detonated.
+        TileBitboard bitboard = tileMap.getBitboard();
+        int queueEnd = 0;
+        for (int i = 0; i < bombCount; i++) {
+            Bomb bomb = bombs.get(i);
+            int col = bomb.getPosX() / TileMap.TILE_SIDE_LENGTH;
+            int row = bomb.getPosY() / TileMap.TILE_SIDE_LENGTH;
+            int tile = toTile(col, row);
+            nextBombOnTile[i] = firstBombOnTile[tile];
+            firstBombOnTile[tile] = i;
+
+            queued[i] = !bomb.isVisible() || bitboard.isFlame(col, row);
+            if (queued[i]) queue[queueEnd++] = i;
+        }
+
+        ArrayList<Flame> flames = tileMap.getFlames();
+        for (int queueStart = 0; queueStart < queueEnd; queueStart++) {
+            Bomb bomb = bombs.get(queue[queueStart]);
+            if (bomb.isVisible()) {
+                // Reached by a flame, the bomb explodes with its own sound.
+                bomb.explode();
+                chainedBombsDetonated++;
+            }
+
+            // The flames added by the explosion are the blast rays of the bomb.
+            int firstFlame = flames.size();
+            tileMap.addFlames(bomb.getPosX(), bomb.getPosY());
+            for (int i = firstFlame; i < flames.size(); i++) {
+                Flame flame = flames.get(i);
+                int tile = toTile(flame.getPosX() / TileMap.TILE_SIDE_LENGTH, flame.getPosY() / TileMap.TILE_SIDE_LENGTH);
+                for (int next = firstBombOnTile[tile]; next != NO_BOMB; next = nextBombOnTile[next]) {
+                    if (!queued[next]) {
+                        queued[next] = true;
+                        queue[queueEnd++] = next;
+                    }
+                }
+            }
+        }
+
+        // Empty the index for the next tick.
+        for (int i = 0; i < bombCount; i++) {
+            Bomb bomb = bombs.get(i);
+            firstBombOnTile[toTile(bomb.getPosX() / TileMap.TILE_SIDE_LENGTH, bomb.getPosY() / TileMap.TILE_SIDE_LENGTH)] = NO_BOMB;
+        }
+
+        lastChainLength = queueEnd;
+        bombsDetonated += queueEnd;
+        return queueEnd;
+    }
+
+    /**
+     * Grows the arrays indexed by bomb to hold a number of bombs.
+     * @param bombCount The number of bombs placed on the grid.
+     */
+    private void ensureCapacity(int bombCount) {
+        if (queue.length >= bombCount) return;
+        int capacity = Math.max(bombCount, 2 * queue.length);
+        nextBombOnTile = new int[capacity];
+        queue = new int[capacity];
+        queued = new boolean[capacity];
+    }
+
+    /**
+     * Get the index of a tile of the grid.
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     * @return An integer representing the index of the tile.
+     */
+    private int toTile(int col, int row) {
+        return row * TileMap.NUM_OF_COLS + col;
+    }
+
+    /**
+     * Get the number of bombs exploded by the last call to detonate.
+     * @return An integer representing the length of the last chain of explosions.
+     */
+    public int getLastChainLength() {
+        return lastChainLength;
+    }
+
+    /**
+     * Get the number of bombs exploded by the engine.
+     * @return A long representing the number of bombs exploded.
+     */
+    public long getBombsDetonated() {
+        return bombsDetonated;
+    }
+
+    /**
+     * Get the number of bombs exploded because a flame reached them.
+     * @return A long representing the number of bombs exploded by a chain reaction.
+     */
+    public long getChainedBombsDetonated() {
+        return chainedBombsDetonated;
+    }
+}
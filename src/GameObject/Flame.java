@@ -5,7 +5,6 @@ package GameObject;
 
 import GamePlay.Coordinate;
 
-import javax.swing.*;
 import java.io.Serializable;
 
 /**
@@ -31,14 +30,25 @@ public class Flame extends StaticObject implements Serializable {
      * @param explosionOriginY y coordinate where the bomb exploded.
      */
     public Flame(int posX, int posY, boolean visible, int explosionOriginX, int explosionOriginY) {
-        this.imagePath = "/res/image/flames.png";
+        reset(posX, posY, visible, explosionOriginX, explosionOriginY);
+    }
+
+    /**
+     * Places the flame on a new tile for a new explosion. Used to reuse the flames released to a pool.
+     * @param posX x coordinate of the flame on the grid.
+     * @param posY y coordinate of the flame on the grid.
+     * @param visible boolean representing whether the flame can be seen or not.
+     * @param explosionOriginX x coordinate where the bomb exploded.
+     * @param explosionOriginY y coordinate where the bomb exploded.
+     */
+    public void reset(int posX, int posY, boolean visible, int explosionOriginX, int explosionOriginY) {
+        this.sprite = Sprite.FLAME;
         this.posX = posX;
         this.posY = posY;
         this.previousX = posX;
         this.visible = visible;
-        this.image = new ImageIcon(this.getClass().getResource(imagePath)).getImage();
-        this.width = image.getWidth(null);
-        this.height = image.getHeight(null);
+        this.width = TileMap.TILE_SIDE_LENGTH;
+        this.height = TileMap.TILE_SIDE_LENGTH;
         this.timeOnGrid = 0;
         this.explosionOriginX = explosionOriginX;
         this.explosionOriginY = explosionOriginY;
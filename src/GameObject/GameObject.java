@@ -6,18 +6,22 @@ package GameObject;
 import GamePlay.Coordinate;
 
 import java.awt.*;
-import javax.swing.ImageIcon;
 import java.io.Serializable;
 
 /**
  * Parent class to every object present in the game. Defines fundamental attributes present in every object
- * that is rendered on the game grid. Namely, position on the grid, visibility, the image object associated, and
+ * that is rendered on the game grid. Namely, position on the grid, visibility, the sprite associated, and
  * the dimensions of the object.
+ *
+ * The methods of the class read and change these attributes through their getters and setters only, so a
+ * subclass that keeps them elsewhere overrides the accessors and inherits the rest.
  */
 public class GameObject implements Serializable {
 
+    //Sprite used to render the object, the image itself is held by the SpriteAtlas.
+    protected Sprite sprite;
+
     //Actual coordinates on the grid
-    protected String imagePath;
     protected int posX;
     protected int posY;
 
@@ -28,7 +32,6 @@ public class GameObject implements Serializable {
     //Width and height of the image object used to represent the Game Object.
     protected int width;
     protected int height;
-    protected transient Image image;
 
     //Boolean that specifies whether the Game Object should be rendered on the grid or not.
     protected boolean visible;
@@ -38,12 +41,18 @@ public class GameObject implements Serializable {
      * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
      */
     public void draw(Graphics2D g) {
-        if (image == null) {
-            image = new ImageIcon(this.getClass().getResource(imagePath)).getImage();
-            this.width = image.getWidth(null);
-            this.height = image.getHeight(null);
-        }
-        g.drawImage(image, posX, posY, null);
+        drawAt(g, getPosX(), getPosY());
+    }
+
+    /**
+     * Draws the sprite associated with the Game Object at the given location, which can differ
+     * from its position on the grid when the object is rendered between two updates.
+     * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * @param x An integer representing the x coordinate where the image is drawn.
+     * @param y An integer representing the y coordinate where the image is drawn.
+     */
+    protected void drawAt(Graphics2D g, int x, int y) {
+        SpriteAtlas.draw(g, getSprite(), x, y);
     }
 
     /**
@@ -52,7 +61,71 @@ public class GameObject implements Serializable {
      * @return A Rectangle object containing the dimensions of the Game Object.
      */
     public Rectangle getBounds() {
-        return new Rectangle(posX, posY, width, height);
+        return new Rectangle(getPosX(), getPosY(), getWidth(), getHeight());
+    }
+
+    /**
+     * Get the left edge of the collision box of the Game Object.
+     * @return An integer representing the smallest x coordinate covered by the object.
+     */
+    public int getMinX() {
+        return getPosX();
+    }
+
+    /**
+     * Get the top edge of the collision box of the Game Object.
+     * @return An integer representing the smallest y coordinate covered by the object.
+     */
+    public int getMinY() {
+        return getPosY();
+    }
+
+    /**
+     * Get the right edge of the collision box of the Game Object. The edge itself
+     * is not covered by the object, following the convention used by Rectangle.
+     * @return An integer representing the x coordinate right after the object.
+     */
+    public int getMaxX() {
+        return getPosX() + getWidth();
+    }
+
+    /**
+     * Get the bottom edge of the collision box of the Game Object. The edge itself
+     * is not covered by the object, following the convention used by Rectangle.
+     * @return An integer representing the y coordinate right after the object.
+     */
+    public int getMaxY() {
+        return getPosY() + getHeight();
+    }
+
+    /**
+     * Determines whether the collision box of this Game Object overlaps the one of
+     * the object passed. Gives the same result as comparing both getBounds()
+     * rectangles, without allocating them.
+     * @param other The Game Object tested for intersection.
+     * @return A boolean specifying whether both objects intersect.
+     */
+    public boolean intersects(GameObject other) {
+        return intersects(other.getPosX(), other.getPosY(), other.getWidth(), other.getHeight());
+    }
+
+    /**
+     * Determines whether the collision box of this Game Object overlaps the box
+     * specified. Boxes with an empty width or height never intersect anything.
+     * @param x The x coordinate of the top left corner of the box.
+     * @param y The y coordinate of the top left corner of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     * @return A boolean specifying whether the object intersects the box.
+     */
+    public boolean intersects(int x, int y, int width, int height) {
+        int ownX = getPosX();
+        int ownY = getPosY();
+        int ownWidth = getWidth();
+        int ownHeight = getHeight();
+        if (ownWidth <= 0 || ownHeight <= 0 || width <= 0 || height <= 0) return false;
+        return x < ownX + ownWidth && ownX < x + width
+                && y < ownY + ownHeight && ownY < y + height;
     }
 
     /**
@@ -151,19 +224,11 @@ public class GameObject implements Serializable {
     }
 
     /**
-     * Get the Image object used to contain the image associated with the Game Object.
-     * @return The Image object associated with the Game Object.
-     */
-    public Image getImage() {
-        return image;
-    }
-
-    /**
-     * Set the Image object that will be rendered when the object is drawn.
-     * @param image The Image object used to represent the GameObject on the Game Grid.
+     * Get the Sprite used to render the Game Object.
+     * @return The Sprite associated with the Game Object.
      */
-    public void setImage(Image image) {
-        this.image = image;
+    public Sprite getSprite() {
+        return sprite;
     }
 
     /**
@@ -187,6 +252,6 @@ public class GameObject implements Serializable {
      * @return A coordinate object containing the x and y position of the enemy
      */
     public Coordinate getPositionAsCoordinate() {
-        return new Coordinate(posX, posY);
+        return new Coordinate(getPosX(), getPosY());
     }
 }
@@ -3,11 +3,14 @@
  */
 package GameObject;
 
+import java.awt.*;
 import java.io.Serializable;
 
 /**
  * Defines the common functionality shared by all the objects that can move
- * on the grid.
+ * on the grid. Like the GameObject methods, the movements go through the getters
+ * and setters of the position. The start of the tick is kept in fields of its own,
+ * a subclass holding it elsewhere overrides markTickStart and the interpolated getters.
  */
 public class MovableObject extends GameObject implements Serializable {
 
@@ -21,45 +24,93 @@ public class MovableObject extends GameObject implements Serializable {
     protected int score;
     protected boolean wallPass;
 
+    //Coordinates where the object was located at the start of the current tick, used to
+    //interpolate where it is rendered between two updates.
+    protected transient int tickStartX;
+    protected transient int tickStartY;
+
     /**
      * Displaces the object on the grid based on the values of the deltaX
      * and the deltaY variables.
      */
     public void move() {
-        previousX = posX;
-        previousY = posY;
-        posX += deltaX;
-        posY += deltaY;
+        int posX = getPosX();
+        int posY = getPosY();
+        setPreviousX(posX);
+        setPreviousY(posY);
+        setPosX(posX + deltaX);
+        setPosY(posY + deltaY);
+    }
+
+    /**
+     * Records the current position as the start of a new tick. Must be called before the
+     * object is displaced during an update.
+     */
+    public void markTickStart() {
+        tickStartX = getPosX();
+        tickStartY = getPosY();
+    }
+
+    /**
+     * Draws the object between the position it had at the start of the tick and its current
+     * position. Jumps longer than a tile (respawns, stage changes) are not interpolated.
+     * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * @param interpolation Fraction of a tick elapsed since the last update, between 0 and 1.
+     */
+    public void draw(Graphics2D g, float interpolation) {
+        drawAt(g, getInterpolatedX(interpolation), getInterpolatedY(interpolation));
+    }
+
+    /**
+     * Get the x coordinate where the object is rendered between two updates.
+     * @param interpolation Fraction of a tick elapsed since the last update, between 0 and 1.
+     * @return An integer representing the interpolated x coordinate of the object.
+     */
+    public int getInterpolatedX(float interpolation) {
+        int posX = getPosX();
+        if (Math.abs(posX - tickStartX) > TileMap.TILE_SIDE_LENGTH) return posX;
+        return tickStartX + Math.round((posX - tickStartX) * interpolation);
+    }
+
+    /**
+     * Get the y coordinate where the object is rendered between two updates.
+     * @param interpolation Fraction of a tick elapsed since the last update, between 0 and 1.
+     * @return An integer representing the interpolated y coordinate of the object.
+     */
+    public int getInterpolatedY(float interpolation) {
+        int posY = getPosY();
+        if (Math.abs(posY - tickStartY) > TileMap.TILE_SIDE_LENGTH) return posY;
+        return tickStartY + Math.round((posY - tickStartY) * interpolation);
     }
 
     /**
      * Displaces the object on the y axis based on the value of the posY variable.
      */
     public void moveVertically() {
-        posY += deltaY;
-        previousY = posY;
+        setPosY(getPosY() + deltaY);
+        setPreviousY(getPosY());
     }
 
     /**
      * Restores the position of the Movable Object to what it was in the previous frame.
      */
     public void restorePreviousPosition() {
-        posX = previousX;
-        posY = previousY;
+        setPosX(getPreviousX());
+        setPosY(getPreviousY());
     }
 
     /**
      * Restores the x position of the Movable Object to what it was in the previous frame.
      */
     public void restorePreviousXPosition() {
-        posX = previousX;
+        setPosX(getPreviousX());
     }
 
     /**
      * Restores the y position of the Movable Object to what it was in the previous frame.
      */
     public void restorePreviousYPosition() {
-        posY = previousY;
+        setPosY(getPreviousY());
     }
 
     /**
@@ -70,8 +121,8 @@ public class MovableObject extends GameObject implements Serializable {
      *          will be placed.
      */
     public void restorePositionTo(int x, int y) {
-        posX = x;
-        posY = y;
+        setPosX(x);
+        setPosY(y);
     }
 
     /**
@@ -0,0 +1,153 @@
+package GameObject;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Bounded pool of game objects that are created and discarded many times per stage, such as the flames
+ * of the explosions, the bombs and the enemies of the bonus stages. Objects released to the pool are
+ * handed out again by acquire instead of allocating new ones, and the caller resets them before use.
+ * Once the pool holds its capacity, further released objects are left to the garbage collector.
+ *
+ * The pool keeps statistics on its use: the hit rate of acquire, and the high-water mark of the number
+ * of objects handed out and not yet released. Objects that are discarded without being released count
+ * as handed out. Objects created without the pool can be released to it and are reused like the others,
+ * but only the objects handed out by acquire count towards the high-water mark.
+ * @param <T> The type of the pooled objects.
+ */
+public abstract class ObjectPool<T> {
+
+    private final int capacity;
+    private final ArrayList<T> idle;
+    // The objects handed out and not yet released. An IdentityHashMap keeps its entries in a single
+    // array, so handing out and releasing objects allocates nothing once the map reached its size.
+    private final IdentityHashMap<T, Boolean> inUse;
+
+    private long acquires;
+    private long hits;
+    private long releases;
+    private long drops;
+    private int highWaterMark;
+
+    /**
+     * Creates an empty pool.
+     * @param capacity The maximum number of idle objects held by the pool.
+     */
+    public ObjectPool(int capacity) {
+        this.capacity = capacity;
+        this.idle = new ArrayList<T>(capacity);
+        this.inUse = new IdentityHashMap<T, Boolean>(capacity);
+    }
+
+    /**
+     * Creates a new object when the pool holds no idle object.
+     * @return A new object, reset by the caller before use.
+     */
+    protected abstract T create();
+
+    /**
+     * Get an object from the pool, or a new one if the pool is empty. The object keeps the state it had
+     * when it was released, so the caller must reset it.
+     * @return An object of the pool.
+     */
+    public T acquire() {
+        acquires++;
+        T object;
+        if (idle.isEmpty()) {
+            object = create();
+        } else {
+            hits++;
+            object = idle.remove(idle.size() - 1);
+        }
+        inUse.put(object, Boolean.TRUE);
+        if (inUse.size() > highWaterMark) highWaterMark = inUse.size();
+        return object;
+    }
+
+    /**
+     * Gives an object back to the pool once it is no longer referenced by the game. The object is
+     * dropped if the pool already holds its capacity. The object does not need to come from the pool.
+     * @param object The object released.
+     */
+    public void release(T object) {
+        releases++;
+        inUse.remove(object);
+        if (idle.size() < capacity) {
+            idle.add(object);
+        } else {
+            drops++;
+        }
+    }
+
+    /**
+     * Get the maximum number of idle objects held by the pool.
+     * @return An integer representing the capacity of the pool.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the number of idle objects held by the pool.
+     * @return An integer representing the number of objects ready to be acquired.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Get the number of objects acquired from the pool.
+     * @return A long representing the number of calls to acquire.
+     */
+    public long getAcquires() {
+        return acquires;
+    }
+
+    /**
+     * Get the number of objects acquired that were reused instead of created.
+     * @return A long representing the number of hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the fraction of the objects acquired that were reused.
+     * @return A double between 0 and 1, 0 if no object was acquired.
+     */
+    public double getHitRate() {
+        return acquires == 0 ? 0 : (double) hits / acquires;
+    }
+
+    /**
+     * Get the number of objects released to the pool.
+     * @return A long representing the number of calls to release.
+     */
+    public long getReleases() {
+        return releases;
+    }
+
+    /**
+     * Get the number of released objects that were dropped because the pool was full.
+     * @return A long representing the number of objects left to the garbage collector.
+     */
+    public long getDrops() {
+        return drops;
+    }
+
+    /**
+     * Get the number of objects handed out by acquire and not released yet.
+     * @return An integer representing the number of objects in use.
+     */
+    public int getInUseCount() {
+        return inUse.size();
+    }
+
+    /**
+     * Get the largest number of objects handed out by acquire at the same time.
+     * @return An integer representing the high-water mark of the pool.
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+}
@@ -4,9 +4,9 @@
 package GameObject;
 
 import GamePlay.GamePlayState;
+import GamePlay.Viewport;
 import SystemController.SoundController;
 
-import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.io.Serializable;
@@ -39,6 +39,11 @@ public class Player extends MovableObject implements Serializable {
     // Constants
     public static final int SPRITE_SIDE_LENGTH = 30;
     public static final int PLAYER_SPAWN_COORDINATE = 32;
+    //Number of idle bombs kept by the pool of the player.
+    public static final int BOMB_POOL_CAPACITY = 16;
+
+    //The pool is not serialized, it is recreated the first time it is needed.
+    private transient ObjectPool<Bomb> bombPool;
 
     /**
      * Initialize a Player object representing the Bomberman character on the grid
@@ -48,7 +53,7 @@ public class Player extends MovableObject implements Serializable {
      * @param speed int representing the speed of movement of the player object on the map
      */
     public Player(int posX, int posY, boolean visible, int speed) {
-        this.imagePath = "/res/image/bomberman.png";
+        this.sprite = Sprite.BOMBERMAN;
         this.score = 0;
         this.livesRemaining = 3;
         this.currentState = GamePlayState.INGAME;
@@ -60,9 +65,8 @@ public class Player extends MovableObject implements Serializable {
         this.previousY = posY;
         this.visible = visible;
         this.speed = speed;
-        this.image = new ImageIcon(Player.class.getResource(imagePath)).getImage();
-        this.width = image.getWidth(null);
-        this.height = image.getHeight(null);
+        this.width = sprite.getWidth();
+        this.height = sprite.getHeight();
         this.bombsPlaced = new ArrayList<Bomb>();
         this.bombsAllowed = 3;
         this.wallPass = true;
@@ -73,46 +77,69 @@ public class Player extends MovableObject implements Serializable {
     }
 
     /**
-     * Draws the player object on the grid during gameplay.
-     * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * Advances the timers associated with the player object by one tick: the
+     * invincibility powerUp and the countdown to respawn after a death.
      */
-    public void draw(Graphics2D g) {
+    public void update() {
 
         if (invincibilityEnabled) {
             updateInvincibilityTimer();
         }
 
-        //serialization does not save Image objects
-        //If the image object is empty, we reload the sprite
-        if (image == null) {
-            this.image = new ImageIcon(this.getClass().getResource(imagePath)).getImage();
+        if (!visible /*dead*/) {
+            countDownToRespawn();
         }
+    }
 
+    /**
+     * Draws the player object on the grid during gameplay.
+     * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * @param interpolation Fraction of a tick elapsed since the last update.
+     */
+    public void draw(Graphics2D g, float interpolation) {
         if (visible /*not dead*/) {
-            g.drawImage(image, posX, posY, null);
-        } else {
-            countDownToRespawn();
+            super.draw(g, interpolation);
         }
     }
 
     /**
-     * Draw the bomb objects on the grid during gameplay.
-     * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * Advances the fuse of the bomb objects placed on the grid by one tick.
+     * Bombs that have detonated are replaced by flame objects, along with the bombs their
+     * flames reach. The bombs that remain are compacted at the front of the bombsPlaced
+     * ArrayList in a single pass, keeping their order.
      */
-    public void drawBombs(Graphics2D g) {
+    public void updateBombs() {
         if (bombsPlaced.isEmpty()) return;
+
+        //The explosion engine places the flames of the bombs that detonated, and of the whole
+        //chain reaction they start, where the bomb objects used to be drawn.
+        tileMap.getExplosionEngine().detonate(bombsPlaced);
+
         int length = bombsPlaced.size();
-        for (int i = 0; i < length; i ++) {
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
             Bomb bomb = bombsPlaced.get(i);
 
-            //if the bomb is not visible it means it has detonated, which means we need to draw
-            //flame objects where the bomb object used to be drawn
+            //if the bomb is not visible it means it has exploded.
             if (!bomb.isVisible()) {
-                tileMap.addFlames(bomb.getPosX(), bomb.getPosY());
-                bombsPlaced.remove(bomb);
-                length = bombsPlaced.size();
+                getBombPool().release(bomb);
+            } else {
+                bomb.timeExplosion();
+                bombsPlaced.set(kept++, bomb);
             }
-            else bomb.draw(g);
+        }
+        if (kept < length) bombsPlaced.subList(kept, length).clear();
+    }
+
+    /**
+     * Draw the bomb objects on the grid during gameplay.
+     * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * @param viewport The part of the grid currently visible, bombs outside of it are skipped.
+     */
+    public void drawBombs(Graphics2D g, Viewport viewport) {
+        for (int i = 0; i < bombsPlaced.size(); i++) {
+            Bomb bomb = bombsPlaced.get(i);
+            if (viewport.isVisible(bomb.getPosX(), bomb.getWidth())) bomb.draw(g);
         }
     }
 
@@ -156,7 +183,8 @@ public class Player extends MovableObject implements Serializable {
                 bombY = posY - posY % TileMap.TILE_SIDE_LENGTH;
             }
 
-            Bomb bomb = new Bomb(bombX, bombY);
+            Bomb bomb = getBombPool().acquire();
+            bomb.reset(bombX, bombY);
             bombsPlaced.add(bomb);
         }
     }
@@ -285,6 +313,9 @@ public class Player extends MovableObject implements Serializable {
         posX = PLAYER_SPAWN_COORDINATE;
         posY = PLAYER_SPAWN_COORDINATE;
         //Erase all the existing bombs placed on the completed stage.
+        for (int i = 0; i < bombsPlaced.size(); i++) {
+            getBombPool().release(bombsPlaced.get(i));
+        }
         bombsPlaced = new ArrayList<Bomb>();
         if (tileMap != null) {
             tileMap.nextStage();
@@ -365,6 +396,22 @@ public class Player extends MovableObject implements Serializable {
         this.tileMap = tileMap;
     }
 
+    /**
+     * Get the pool of the bombs of the player, created the first time it is needed.
+     * @return The ObjectPool the bombs placed by the player are taken from.
+     */
+    public ObjectPool<Bomb> getBombPool() {
+        if (bombPool == null) {
+            bombPool = new ObjectPool<Bomb>(BOMB_POOL_CAPACITY) {
+                @Override
+                protected Bomb create() {
+                    return new Bomb(0, 0);
+                }
+            };
+        }
+        return bombPool;
+    }
+
     /**
      * Get the bombs the active bombs placed on the grid by the player.
      * @return
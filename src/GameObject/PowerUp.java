@@ -3,7 +3,6 @@
  */
 package GameObject;
 
-import javax.swing.*;
 import java.io.Serializable;
 
 /**
@@ -32,41 +31,33 @@ public class PowerUp extends StaticObject implements Serializable {
 
         switch (powerUpType) {
             case BOMBPASS:
-                imagePath = "/res/image/PowerUps/bombpass.png";
                 keptAfterDeath = false;
                 break;
             case BOMBS:
-                imagePath = "/res/image/PowerUps/bombs.png";
                 keptAfterDeath = true;
                 break;
             case DETONATOR:
-                imagePath = "/res/image/PowerUps/detonator.png";
                 keptAfterDeath = false;
                 break;
             case FLAMEPASS:
-                imagePath = "/res/image/PowerUps/flamepass.png";
                 keptAfterDeath = false;
                 break;
             case FLAMES:
-                imagePath = "/res/image/PowerUps/flames.png";
                 keptAfterDeath = true;
                 break;
             case MYSTERY:
-                imagePath = "/res/image/PowerUps/mystery.png";
                 //kept after death doesn't apply to this powerup
                 break;
             case SPEED:
-                imagePath = "/res/image/PowerUps/speed.png";
                 keptAfterDeath = true;
                 break;
             case WALLPASS:
-                imagePath = "/res/image/PowerUps/wallpass.png";
                 keptAfterDeath = false;
                 break;
         }
-        this.image = new ImageIcon(this.getClass().getResource(imagePath)).getImage();
-        this.width = image.getWidth(null);
-        this.height = image.getHeight(null);
+        this.sprite = Sprite.forPowerUp(powerUpType);
+        this.width = sprite.getWidth();
+        this.height = sprite.getHeight();
     }
 
     /**
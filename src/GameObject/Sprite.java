@@ -0,0 +1,88 @@
+package GameObject;
+
+/**
+ * Identifies the image used to represent each kind of Game Object on the grid. Game Objects only keep
+ * a reference to one of these constants; the images themselves are loaded once for the whole application
+ * and packed by the SpriteAtlas, which is in charge of rendering them.
+ *
+ * The dimensions of each sprite are known in advance so that the bounds of the objects can be determined
+ * without loading any image.
+ */
+public enum Sprite {
+
+    BOMBERMAN("/res/image/bomberman.png", 30),
+    BOMB("/res/image/bomb.png", 32),
+    FLAME("/res/image/flames.png", 32),
+    BRICK_WALL("/res/image/brickBlock.png", 32),
+    CONCRETE_WALL("/res/image/concreteBlock.png", 32),
+    DOOR("/res/image/door.png", 30),
+
+    BALLOOM("/res/image/Enemies/balloom.png", 30),
+    ONEAL("/res/image/Enemies/oneal.png", 28),
+    DOLL("/res/image/Enemies/doll.png", 30),
+    MINVO("/res/image/Enemies/minvo.png", 28),
+    KONDORIA("/res/image/Enemies/kondoria.png", 30),
+    OVAPI("/res/image/Enemies/ovapi.png", 30),
+    PASS("/res/image/Enemies/pass.png", 28),
+    PONTAN("/res/image/Enemies/pontan.png", 28),
+
+    POWERUP_BOMBPASS("/res/image/PowerUps/bombpass.png", 32),
+    POWERUP_BOMBS("/res/image/PowerUps/bombs.png", 32),
+    POWERUP_DETONATOR("/res/image/PowerUps/detonator.png", 32),
+    POWERUP_FLAMEPASS("/res/image/PowerUps/flamepass.png", 32),
+    POWERUP_FLAMES("/res/image/PowerUps/flames.png", 32),
+    POWERUP_MYSTERY("/res/image/PowerUps/mystery.png", 32),
+    POWERUP_SPEED("/res/image/PowerUps/speed.png", 32),
+    POWERUP_WALLPASS("/res/image/PowerUps/wallpass.png", 32);
+
+    private final String imagePath;
+    private final int sideLength;
+
+    /**
+     * @param imagePath Path of the image in the res folder.
+     * @param sideLength Length in pixels of the sides of the (square) image.
+     */
+    Sprite(String imagePath, int sideLength) {
+        this.imagePath = imagePath;
+        this.sideLength = sideLength;
+    }
+
+    /**
+     * Get the sprite used to represent the given enemy type.
+     * @param enemyType The type of the enemy.
+     * @return The Sprite associated with the enemy type.
+     */
+    public static Sprite forEnemy(EnemyType enemyType) {
+        return valueOf(enemyType.name());
+    }
+
+    /**
+     * Get the sprite used to represent the given powerUp type.
+     * @param powerUpType The type of the powerUp.
+     * @return The Sprite associated with the powerUp type.
+     */
+    public static Sprite forPowerUp(PowerUpType powerUpType) {
+        return valueOf("POWERUP_" + powerUpType.name());
+    }
+
+    /**
+     * @return Path of the image in the res folder.
+     */
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    /**
+     * @return Width in pixels of the sprite.
+     */
+    public int getWidth() {
+        return sideLength;
+    }
+
+    /**
+     * @return Height in pixels of the sprite.
+     */
+    public int getHeight() {
+        return sideLength;
+    }
+}
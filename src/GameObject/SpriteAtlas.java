@@ -0,0 +1,112 @@
+package GameObject;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Process-wide registry of the images used to render the Game Objects. Every sprite is read once,
+ * the first time anything is drawn, and packed side by side in a single image compatible with the
+ * screen, so that drawing an object is a copy of a region of the atlas and no Game Object needs to
+ * hold an image of its own.
+ */
+public final class SpriteAtlas {
+
+    private static BufferedImage atlas;
+    private static int[] offsetsX;
+
+    private SpriteAtlas() {
+    }
+
+    /**
+     * Draw the given sprite with its top left corner at the given location.
+     * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * @param sprite The sprite to be drawn.
+     * @param x An integer representing the x coordinate where the sprite is drawn.
+     * @param y An integer representing the y coordinate where the sprite is drawn.
+     */
+    public static void draw(Graphics2D g, Sprite sprite, int x, int y) {
+        BufferedImage image = getAtlas();
+        int sourceX = offsetsX[sprite.ordinal()];
+        int width = sprite.getWidth();
+        int height = sprite.getHeight();
+        g.drawImage(image, x, y, x + width, y + height, sourceX, 0, sourceX + width, height, null);
+    }
+
+    /**
+     * @return True if the sprites were already loaded into the atlas.
+     */
+    public static synchronized boolean isLoaded() {
+        return atlas != null;
+    }
+
+    /**
+     * Get the atlas containing every sprite of the game, loading it if needed.
+     * @return The BufferedImage containing all the sprites.
+     */
+    private static synchronized BufferedImage getAtlas() {
+        if (atlas == null) {
+            load();
+        }
+        return atlas;
+    }
+
+    /**
+     * Read every sprite and pack them on a single row of the atlas.
+     */
+    private static void load() {
+        Sprite[] sprites = Sprite.values();
+        int[] offsets = new int[sprites.length];
+        int atlasWidth = 0;
+        int atlasHeight = 0;
+        for (Sprite sprite : sprites) {
+            offsets[sprite.ordinal()] = atlasWidth;
+            atlasWidth += sprite.getWidth();
+            atlasHeight = Math.max(atlasHeight, sprite.getHeight());
+        }
+
+        BufferedImage image = createCompatibleImage(atlasWidth, atlasHeight);
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        for (Sprite sprite : sprites) {
+            g.drawImage(readImage(sprite), offsets[sprite.ordinal()], 0, null);
+        }
+        g.dispose();
+
+        offsetsX = offsets;
+        atlas = image;
+    }
+
+    /**
+     * Create a translucent image in the format of the screen when there is one, so that blitting
+     * the sprites does not require any conversion.
+     * @param width Width of the image.
+     * @param height Height of the image.
+     * @return A new, empty BufferedImage.
+     */
+    public static BufferedImage createCompatibleImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Read the image file associated with a sprite.
+     * @param sprite The sprite to be read.
+     * @return The image of the sprite.
+     */
+    private static BufferedImage readImage(Sprite sprite) {
+        try (InputStream in = SpriteAtlas.class.getResourceAsStream(sprite.getImagePath())) {
+            if (in == null) {
+                throw new IllegalStateException("Missing sprite " + sprite.getImagePath());
+            }
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read sprite " + sprite.getImagePath(), e);
+        }
+    }
+}
@@ -0,0 +1,515 @@
+package GameObject;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * Bitboard representation of the grid. Every tile is a single bit, at position row * numOfCols + col,
+ * so the 31x13 tiles of the default map fit in seven longs. One mask is kept for each kind of content:
+ * concrete walls, brick walls, bombs, flames, and the tiles endangered by flames or by the blast of a
+ * placed bomb. Questions about many tiles at once, such as whether any of them holds a flame or which
+ * tiles can be reached from a tile, become a few operations over the words of the masks.
+ *
+ * The wall masks listen to the changes of the walls on the TileMap. The bomb, flame and danger masks
+ * are brought up to date by the TileMap when bombs and flames appear or disappear.
+ */
+public class TileBitboard implements TileChangeListener, Serializable {
+
+    private final int numOfCols;
+    private final int numOfRows;
+    private final int numOfWords;
+
+    private final long[] concreteWalls;
+    private final long[] brickWalls;
+    private final long[] bombs;
+    private final long[] flames;
+    private final long[] blasts;
+    private final long[] danger;
+
+    // Every tile of the grid, and every tile except the ones on the first and last column. Used to
+    // discard the bits that leave the grid or wrap around to another row when the masks are shifted.
+    private final long[] allTiles;
+    private final long[] notFirstCol;
+    private final long[] notLastCol;
+
+    /**
+     * Creates an empty bitboard for the default map of 31x13 tiles.
+     */
+    public TileBitboard() {
+        this(TileMap.NUM_OF_COLS, TileMap.NUM_OF_ROWS);
+    }
+
+    /**
+     * Creates an empty bitboard for a map of any size.
+     * @param numOfCols The number of columns of the map.
+     * @param numOfRows The number of rows of the map.
+     */
+    public TileBitboard(int numOfCols, int numOfRows) {
+        this.numOfCols = numOfCols;
+        this.numOfRows = numOfRows;
+        this.numOfWords = (numOfCols * numOfRows + 63) / 64;
+        this.concreteWalls = newMask();
+        this.brickWalls = newMask();
+        this.bombs = newMask();
+        this.flames = newMask();
+        this.blasts = newMask();
+        this.danger = newMask();
+        this.allTiles = newMask();
+        this.notFirstCol = newMask();
+        this.notLastCol = newMask();
+
+        for (int row = 0; row < numOfRows; row++) {
+            for (int col = 0; col < numOfCols; col++) {
+                set(allTiles, col, row);
+                if (col > 0) set(notFirstCol, col, row);
+                if (col < numOfCols - 1) set(notLastCol, col, row);
+            }
+        }
+    }
+
+    /**
+     * Creates a mask with no tile set, with the size of the masks of this bitboard.
+     * @return An array of longs, one bit per tile.
+     */
+    public long[] newMask() {
+        return new long[numOfWords];
+    }
+
+    /**
+     * Get the position of the bit representing a tile.
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     * @return An integer representing the position of the bit in the masks.
+     */
+    public int toBit(int col, int row) {
+        return row * numOfCols + col;
+    }
+
+    /**
+     * Sets the bit of a tile in a mask.
+     * @param mask The mask modified.
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     */
+    public void set(long[] mask, int col, int row) {
+        int bit = toBit(col, row);
+        mask[bit >>> 6] |= 1L << (bit & 63);
+    }
+
+    /**
+     * Clears the bit of a tile in a mask.
+     * @param mask The mask modified.
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     */
+    public void clear(long[] mask, int col, int row) {
+        int bit = toBit(col, row);
+        mask[bit >>> 6] &= ~(1L << (bit & 63));
+    }
+
+    /**
+     * Determine whether the bit of a tile is set in a mask.
+     * @param mask The mask tested.
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     * @return A boolean specifying whether the tile is part of the mask.
+     */
+    public boolean isSet(long[] mask, int col, int row) {
+        if (col < 0 || col >= numOfCols || row < 0 || row >= numOfRows) return false;
+        int bit = toBit(col, row);
+        return (mask[bit >>> 6] & (1L << (bit & 63))) != 0;
+    }
+
+    /**
+     * Determine whether two masks have a tile in common.
+     * @param mask1 The first mask.
+     * @param mask2 The second mask.
+     * @return A boolean specifying whether the masks intersect.
+     */
+    public boolean intersects(long[] mask1, long[] mask2) {
+        for (int i = 0; i < numOfWords; i++) {
+            if ((mask1[i] & mask2[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of tiles set in a mask.
+     * @param mask The mask counted.
+     * @return An integer representing the number of bits set.
+     */
+    public int count(long[] mask) {
+        int count = 0;
+        for (int i = 0; i < numOfWords; i++) {
+            count += Long.bitCount(mask[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Called when the wall placed on a single tile of the grid changes.
+     * @param col The column of the tile that changed.
+     * @param row The row of the tile that changed.
+     * @param wall The wall now placed on the tile, or null if the tile is empty.
+     */
+    @Override
+    public void tileChanged(int col, int row, GameObject wall) {
+        clear(concreteWalls, col, row);
+        clear(brickWalls, col, row);
+        if (wall instanceof ConcreteWall) {
+            set(concreteWalls, col, row);
+        } else if (wall instanceof BrickWall) {
+            set(brickWalls, col, row);
+        }
+    }
+
+    /**
+     * Called when every wall of the grid is replaced.
+     * @param walls A two dimensional array containing the walls now present on the grid.
+     */
+    @Override
+    public void allTilesChanged(GameObject[][] walls) {
+        for (int col = 0; col < numOfCols; col++) {
+            for (int row = 0; row < numOfRows; row++) {
+                tileChanged(col, row, walls[col][row]);
+            }
+        }
+    }
+
+    /**
+     * Determine whether a tile holds a concrete wall. Tiles outside the grid don't.
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     * @return A boolean specifying whether the tile holds a concrete wall.
+     */
+    public boolean isConcreteWall(int col, int row) {
+        return isSet(concreteWalls, col, row);
+    }
+
+    /**
+     * Determine whether a tile holds a brick wall.
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     * @return A boolean specifying whether the tile holds a brick wall.
+     */
+    public boolean isBrickWall(int col, int row) {
+        return isSet(brickWalls, col, row);
+    }
+
+    /**
+     * Determine whether a tile holds a flame.
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     * @return A boolean specifying whether the tile holds a flame.
+     */
+    public boolean isFlame(int col, int row) {
+        return isSet(flames, col, row);
+    }
+
+    /**
+     * Determine whether a tile holds a bomb.
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     * @return A boolean specifying whether the tile holds a bomb.
+     */
+    public boolean isBomb(int col, int row) {
+        return isSet(bombs, col, row);
+    }
+
+    /**
+     * Determine whether a tile holds a flame or will be reached by the blast of a placed bomb.
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     * @return A boolean specifying whether the tile is dangerous.
+     */
+    public boolean isDangerous(int col, int row) {
+        return isSet(danger, col, row);
+    }
+
+    /**
+     * Determine whether any of the tiles overlapped by a box holds a wall.
+     * @param x The x coordinate of the top left corner of the box.
+     * @param y The y coordinate of the top left corner of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     * @param ignoreBrickWalls Boolean specifying whether brick walls are ignored, as for objects with wallPass.
+     * @return A boolean specifying whether a wall lies under the box.
+     */
+    public boolean anyWall(int x, int y, int width, int height, boolean ignoreBrickWalls) {
+        return anyTile(concreteWalls, x, y, width, height)
+                || (!ignoreBrickWalls && anyTile(brickWalls, x, y, width, height));
+    }
+
+    /**
+     * Determine whether any of the tiles overlapped by a box holds a flame. Flames cover whole tiles,
+     * so a box intersects a flame if and only if it overlaps a tile holding one.
+     * @param x The x coordinate of the top left corner of the box.
+     * @param y The y coordinate of the top left corner of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     * @return A boolean specifying whether a flame lies under the box.
+     */
+    public boolean anyFlame(int x, int y, int width, int height) {
+        return anyTile(flames, x, y, width, height);
+    }
+
+    /**
+     * Determine whether any of the tiles of a mask holds a flame.
+     * @param tiles The mask of the tiles tested.
+     * @return A boolean specifying whether a flame lies on one of the tiles.
+     */
+    public boolean anyFlame(long[] tiles) {
+        return intersects(tiles, flames);
+    }
+
+    /**
+     * Determine whether any of the tiles overlapped by a box is set in a mask. A box at most as large
+     * as a tile overlaps at most four tiles.
+     * @param mask The mask tested.
+     * @param x The x coordinate of the top left corner of the box.
+     * @param y The y coordinate of the top left corner of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     * @return A boolean specifying whether the box overlaps a tile of the mask.
+     */
+    private boolean anyTile(long[] mask, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return false;
+        int firstCol = Math.max(0, x / TileMap.TILE_SIDE_LENGTH);
+        int lastCol = Math.min(numOfCols - 1, (x + width - 1) / TileMap.TILE_SIDE_LENGTH);
+        int firstRow = Math.max(0, y / TileMap.TILE_SIDE_LENGTH);
+        int lastRow = Math.min(numOfRows - 1, (y + height - 1) / TileMap.TILE_SIDE_LENGTH);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int bit = toBit(col, row);
+                if ((mask[bit >>> 6] & (1L << (bit & 63))) != 0) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the tiles reached by the blast of a bomb to a mask. The blast follows the rules of
+     * TileMap.addFlames: it expands in the four directions up to the radius and stops at the first wall,
+     * which it does not cover.
+     * @param col The column of the bomb.
+     * @param row The row of the bomb.
+     * @param radius The number of tiles reached by the blast in every direction.
+     * @param out The mask the tiles are added to.
+     */
+    public void addBlast(int col, int row, int radius, long[] out) {
+        if (col < 0 || col >= numOfCols || row < 0 || row >= numOfRows) return;
+        set(out, col, row);
+        addRay(col, row, 1, 0, radius, out);
+        addRay(col, row, -1, 0, radius, out);
+        addRay(col, row, 0, 1, radius, out);
+        addRay(col, row, 0, -1, radius, out);
+    }
+
+    /**
+     * Adds the tiles of a blast ray in a single direction to a mask.
+     * @param col The column of the bomb.
+     * @param row The row of the bomb.
+     * @param colDirection The direction of the ray along the columns: -1, 0 or 1.
+     * @param rowDirection The direction of the ray along the rows: -1, 0 or 1.
+     * @param radius The length of the ray.
+     * @param out The mask the tiles are added to.
+     */
+    private void addRay(int col, int row, int colDirection, int rowDirection, int radius, long[] out) {
+        for (int i = 1; i <= radius; i++) {
+            int nextCol = col + i * colDirection;
+            int nextRow = row + i * rowDirection;
+            if (nextCol < 0 || nextCol >= numOfCols || nextRow < 0 || nextRow >= numOfRows) return;
+            int bit = toBit(nextCol, nextRow);
+            long tile = 1L << (bit & 63);
+            if (((concreteWalls[bit >>> 6] | brickWalls[bit >>> 6]) & tile) != 0) return;
+            out[bit >>> 6] |= tile;
+        }
+    }
+
+    /**
+     * Finds every tile that can be reached from a tile by moving between adjacent tiles without crossing
+     * walls. The reachable area grows by one tile in every direction at a time, by shifting the whole mask
+     * at once, until it stops growing.
+     * @param col The column of the starting tile.
+     * @param row The row of the starting tile.
+     * @param throughBrickWalls Boolean specifying whether brick walls can be crossed, as with wallPass.
+     * @param out The mask receiving the reachable tiles. Its previous content is discarded.
+     */
+    public void floodFill(int col, int row, boolean throughBrickWalls, long[] out) {
+        long[] passable = newMask();
+        for (int i = 0; i < numOfWords; i++) {
+            passable[i] = allTiles[i] & ~concreteWalls[i] & (throughBrickWalls ? ~0L : ~brickWalls[i]);
+            out[i] = 0;
+        }
+        if (!isSet(passable, col, row)) return;
+        set(out, col, row);
+
+        long[] grown = newMask();
+        boolean growing = true;
+        while (growing) {
+            growing = false;
+            for (int i = 0; i < numOfWords; i++) {
+                // Shifting towards the higher bits moves the tiles east (1) or south (numOfCols),
+                // shifting towards the lower bits moves them west or north.
+                long east = shiftedUp(out, i, 1) & notFirstCol[i];
+                long west = shiftedDown(out, i, 1) & notLastCol[i];
+                long south = shiftedUp(out, i, numOfCols);
+                long north = shiftedDown(out, i, numOfCols);
+                grown[i] = (out[i] | east | west | south | north) & passable[i];
+            }
+            for (int i = 0; i < numOfWords; i++) {
+                if (grown[i] != out[i]) growing = true;
+                out[i] = grown[i];
+            }
+        }
+    }
+
+    /**
+     * Determine whether a tile can be reached from another without crossing walls.
+     * @param fromCol The column of the starting tile.
+     * @param fromRow The row of the starting tile.
+     * @param toCol The column of the destination tile.
+     * @param toRow The row of the destination tile.
+     * @param throughBrickWalls Boolean specifying whether brick walls can be crossed, as with wallPass.
+     * @return A boolean specifying whether a path exists between the tiles.
+     */
+    public boolean isReachable(int fromCol, int fromRow, int toCol, int toRow, boolean throughBrickWalls) {
+        long[] reachable = newMask();
+        floodFill(fromCol, fromRow, throughBrickWalls, reachable);
+        return isSet(reachable, toCol, toRow);
+    }
+
+    /**
+     * Get a word of a mask shifted towards the higher bits, carrying the bits of the previous word.
+     * @param mask The mask shifted.
+     * @param word The index of the word.
+     * @param shift The number of bits shifted, between 1 and 63.
+     * @return The word of the shifted mask.
+     */
+    private long shiftedUp(long[] mask, int word, int shift) {
+        long carry = word > 0 ? mask[word - 1] >>> (64 - shift) : 0;
+        return (mask[word] << shift) | carry;
+    }
+
+    /**
+     * Get a word of a mask shifted towards the lower bits, carrying the bits of the next word.
+     * @param mask The mask shifted.
+     * @param word The index of the word.
+     * @param shift The number of bits shifted, between 1 and 63.
+     * @return The word of the shifted mask.
+     */
+    private long shiftedDown(long[] mask, int word, int shift) {
+        long carry = word < numOfWords - 1 ? mask[word + 1] << (64 - shift) : 0;
+        return (mask[word] >>> shift) | carry;
+    }
+
+    /**
+     * Adds a flame to the flame and danger masks.
+     * @param flame The flame placed on the grid.
+     */
+    public void addFlame(Flame flame) {
+        int col = flame.getPosX() / TileMap.TILE_SIDE_LENGTH;
+        int row = flame.getPosY() / TileMap.TILE_SIDE_LENGTH;
+        if (col < 0 || col >= numOfCols || row < 0 || row >= numOfRows) return;
+        set(flames, col, row);
+        set(danger, col, row);
+    }
+
+    /**
+     * Rebuilds the flame mask from the flames present on the grid, after some of them expired.
+     * @param flameObjects An ArrayList containing the flames present on the grid.
+     */
+    public void syncFlames(ArrayList<Flame> flameObjects) {
+        for (int i = 0; i < numOfWords; i++) {
+            flames[i] = 0;
+        }
+        for (int i = 0; i < flameObjects.size(); i++) {
+            Flame flame = flameObjects.get(i);
+            if (flame.isVisible()) addFlame(flame);
+        }
+        updateDanger();
+    }
+
+    /**
+     * Rebuilds the bomb and blast masks from the bombs placed by the player. The blasts are traced again,
+     * since the walls they stop at may have been destroyed.
+     * @param bombObjects An ArrayList containing the bombs placed by the player.
+     * @param bombRadius The number of tiles reached by the blast of a bomb in every direction.
+     */
+    public void syncBombs(ArrayList<Bomb> bombObjects, int bombRadius) {
+        for (int i = 0; i < numOfWords; i++) {
+            bombs[i] = 0;
+            blasts[i] = 0;
+        }
+        for (int i = 0; i < bombObjects.size(); i++) {
+            Bomb bomb = bombObjects.get(i);
+            if (!bomb.isVisible()) continue;
+            int col = bomb.getPosX() / TileMap.TILE_SIDE_LENGTH;
+            int row = bomb.getPosY() / TileMap.TILE_SIDE_LENGTH;
+            if (col < 0 || col >= numOfCols || row < 0 || row >= numOfRows) continue;
+            set(bombs, col, row);
+            addBlast(col, row, bombRadius, blasts);
+        }
+        updateDanger();
+    }
+
+    /**
+     * Computes the danger mask as the union of the flames and the blasts of the placed bombs.
+     */
+    private void updateDanger() {
+        for (int i = 0; i < numOfWords; i++) {
+            danger[i] = flames[i] | blasts[i];
+        }
+    }
+
+    /**
+     * Get the mask of the tiles holding a flame. The array is the one used by the bitboard,
+     * it must not be modified.
+     * @return An array of longs, one bit per tile.
+     */
+    public long[] getFlames() {
+        return flames;
+    }
+
+    /**
+     * Get the mask of the tiles reached by the blast of a placed bomb. The array is the one used
+     * by the bitboard, it must not be modified.
+     * @return An array of longs, one bit per tile.
+     */
+    public long[] getBlasts() {
+        return blasts;
+    }
+
+    /**
+     * Get the mask of the tiles holding a flame or reached by the blast of a placed bomb. The array
+     * is the one used by the bitboard, it must not be modified.
+     * @return An array of longs, one bit per tile.
+     */
+    public long[] getDanger() {
+        return danger;
+    }
+
+    /**
+     * Get the number of columns of the grid.
+     * @return An integer representing the number of columns.
+     */
+    public int getNumOfCols() {
+        return numOfCols;
+    }
+
+    /**
+     * Get the number of rows of the grid.
+     * @return An integer representing the number of rows.
+     */
+    public int getNumOfRows() {
+        return numOfRows;
+    }
+
+    /**
+     * Get the number of longs used by every mask.
+     * @return An integer representing the number of words of a mask.
+     */
+    public int getNumOfWords() {
+        return numOfWords;
+    }
+}
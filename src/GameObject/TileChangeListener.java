@@ -0,0 +1,24 @@
+package GameObject;
+
+/**
+ * Implemented by the objects that keep their own representation of the walls present on the grid,
+ * such as the graph used for path finding. The TileMap notifies its listeners every time the wall
+ * placed on a tile changes, so they only need to update the tiles affected.
+ */
+public interface TileChangeListener {
+
+    /**
+     * Called when the wall placed on a single tile of the grid changes, for example when a
+     * brick wall is destroyed by a bomb.
+     * @param col The column of the tile that changed.
+     * @param row The row of the tile that changed.
+     * @param wall The wall now placed on the tile, or null if the tile is empty.
+     */
+    void tileChanged(int col, int row, GameObject wall);
+
+    /**
+     * Called when every wall of the grid is replaced, for example when a new stage is populated.
+     * @param walls A two dimensional array containing the walls now present on the grid.
+     */
+    void allTilesChanged(GameObject[][] walls);
+}
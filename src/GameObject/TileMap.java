@@ -5,18 +5,18 @@ package GameObject;
 
 import Database.DatabaseController;
 import Database.MongoDBController;
-import GameObject.ArtificialIntelligence.HighIntelligence;
 import GameObject.ArtificialIntelligence.PathFinder;
-import GamePlay.Coordinate;
+import GameObject.ArtificialIntelligence.ThinkPhase;
 import GamePlay.GamePlayState;
 import GamePlay.Spawner;
+import GamePlay.Viewport;
 
 import java.awt.*;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.ArrayList;
+import java.util.Random;
 
 /**
  * The TileMap class is used to represent the map or grid where GamePlay takes place.
@@ -34,15 +34,25 @@ public class TileMap implements Serializable {
     public static final int TILE_SIDE_LENGTH = 32;
     public static final int CAMERA_MOVING_LIMIT_LEFT = 224;
     public static final int CAMERA_MOVING_LIMIT_RIGHT = 733;
+    //Number of idle flames and enemies kept by the pools of the grid.
+    public static final int FLAME_POOL_CAPACITY = 256;
+    public static final int ENEMY_POOL_CAPACITY = 64;
 
     private Player player;
     private GameObject[][] walls;
     private ArrayList<Flame> flames;
     private ArrayList<Enemy> enemies;
+    //Holds the state of the enemies of the grid, in the order of the enemies ArrayList.
+    private EnemyStore enemyStore;
     private PowerUp powerUp;
     private Door door;
     private Spawner spawner;
+    //Random number generator of the game, shared by the spawner and the enemies.
+    private Random random;
     private PathFinder pathFinder;
+    //Bitboard masks of the walls, bombs, flames and dangerous tiles of the grid.
+    private TileBitboard bitboard;
+    private ArrayList<TileChangeListener> tileChangeListeners;
     private String userName;
     private int bombRadius;
     private boolean isBonusStage;
@@ -52,6 +62,13 @@ public class TileMap implements Serializable {
     private int timeToHarderSetSpawn = 6000; //equivalent to 200 seconds, but in frames
     private int timeToHarderSet = 20;
     private ArrayList<Enemy> newEnemySet;
+    //Images are not serialized, the layer is recreated the first time the walls are drawn.
+    private transient WallLayer wallLayer;
+    private transient ThinkPhase thinkPhase;
+    //The pools are not serialized, they are recreated the first time they are needed.
+    private transient ObjectPool<Flame> flamePool;
+    private transient ObjectPool<Enemy> enemyPool;
+    private transient ExplosionEngine explosionEngine;
 
     //keep track of the current stage
     private int currentStage;
@@ -66,33 +83,64 @@ public class TileMap implements Serializable {
      * @param userName
      */
     public TileMap(Player player, int selectedStage, String userName) {
+        this(player, selectedStage, userName, new Random());
+    }
+
+    /**
+     * Initialize a TileMap object whose walls, enemies and enemy moves are drawn from the random number
+     * generator of a game. The games do not share any random number generator, so a game created with
+     * a seeded generator can be reproduced even while other games run at the same time.
+     * @param player A player instance used to interact with various logic elements present
+     *               in this class
+     * @param selectedStage An integer specifying the stage number that will be used as the
+     *                      blueprint for enemy generation and powerUp generation.
+     * @param userName The name of the user playing the game, or null if nothing is persisted.
+     * @param random The Random instance of the game.
+     */
+    public TileMap(Player player, int selectedStage, String userName, Random random) {
         this.player = player;
         this.userName = userName;
         this.currentStage = selectedStage;
         this.bombRadius = 5;
-        this.spawner = new Spawner(getCurrentStage());
+        this.random = random;
+        this.spawner = new Spawner(getCurrentStage(), random);
         this.flames = new ArrayList<Flame>();
         this.isBonusStage = getCurrentStage().isBonusStage();
         this.pathFinder = new PathFinder();
+        this.enemyStore = new EnemyStore();
+        this.bitboard = new TileBitboard();
+        this.tileChangeListeners = new ArrayList<TileChangeListener>();
         this.harderSetAlreadyCreated = false;
-        HighIntelligence.setPathFinder(pathFinder);
+        addTileChangeListener(pathFinder);
+        addTileChangeListener(bitboard);
         populateGridWithBlocks();
         createEnemySet();
         generatePowerUp();
         generateDoor();
     }
 
+    /**
+     * Advances the timers of the objects contained within the TileMap instance by one tick.
+     * We check if the spawn harder enemies flag is true to generate new enemies, expire the flames
+     * that have been on the grid long enough, and remove the enemies that have been killed.
+     */
+    public void updateObjects() {
+        determineIfShouldSpawnHarderEnemies();
+        updateFlames();
+        removeDeadEnemies();
+    }
+
     /**
      * Draws all the game objects contained within the TileMap instance on the grid.
-     * We check if the spawn harder enemies flag is true to generate new enemies before drawing them.
      * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * @param interpolation Fraction of a tick elapsed since the last update.
+     * @param viewport The part of the grid currently visible, objects outside of it are skipped.
      */
-    public void drawObjects(Graphics2D g) {
-        determineIfShouldSpawnHarderEnemies();
-        drawPowerUp(g);
-        drawDoor(g);
-        drawTiles(g);
-        drawEnemies(g);
+    public void drawObjects(Graphics2D g, float interpolation, Viewport viewport) {
+        drawPowerUp(g, viewport);
+        drawDoor(g, viewport);
+        drawTiles(g, viewport);
+        drawEnemies(g, interpolation, viewport);
     }
 
     /**
@@ -106,7 +154,7 @@ public class TileMap implements Serializable {
             timeToHarderSet--;
             if (timeToHarderSet == 0) {
                 //Populate the enemies array with the new harder enemy set.
-                enemies = newEnemySet;
+                replaceEnemies(newEnemySet);
                 //reset the timer to its default of 20
                 timeToHarderSet = 20;
                 spawnHarderSet = false;
@@ -117,74 +165,110 @@ public class TileMap implements Serializable {
     /**
      * Draws the powerUp object on the grid.
      * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * @param viewport The part of the grid currently visible.
      */
-    private void drawPowerUp(Graphics2D g) {
+    private void drawPowerUp(Graphics2D g, Viewport viewport) {
         //we check if the powerUp is null because during bonus stages there is no powerUp present.
         if (powerUp == null) return;
-        if (powerUp.isVisible()) powerUp.draw(g);
+        if (powerUp.isVisible() && viewport.isVisible(powerUp.getPosX(), powerUp.getWidth())) powerUp.draw(g);
     }
 
     /**
      * Draws the door on the grid.
      * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * @param viewport The part of the grid currently visible.
      */
-    private void drawDoor(Graphics2D g) {
+    private void drawDoor(Graphics2D g, Viewport viewport) {
         //we check if the door is null because during bonus stages there is no powerUp present.
         if (powerUp == null) return;
-        if (door.isVisible()) door.draw(g);
+        if (door.isVisible() && viewport.isVisible(door.getPosX(), door.getWidth())) door.draw(g);
     }
 
     /**
      * Draws the wall and flame objects placed on the different tiles of the grid.
      * Note that this information is held by the two dimension walls array, which
      * represents the 12 by 31 map, and specifies which wall types are held by
-     * different tiles.
+     * different tiles. The walls are pre-rendered in a WallLayer, which is drawn
+     * in a single blit.
      * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * @param viewport The part of the grid currently visible.
      */
-    public void drawTiles(Graphics2D g) {
-        //Draw the walls and the enemies
-        for (GameObject[] row : walls) {
-            for (GameObject object : row) {
-                if (object != null && object.isVisible()) {
-                    if (!(isBonusStage && (object instanceof BrickWall))) {
-                        object.draw(g);
-                    }
-                }
-            }
+    public void drawTiles(Graphics2D g, Viewport viewport) {
+        if (wallLayer == null) {
+            wallLayer = new WallLayer();
         }
+        wallLayer.draw(g, walls, isBonusStage, viewport);
 
-        Flame flame;
-        for (Iterator<Flame> iterator = flames.iterator(); iterator.hasNext();) {
-            flame = iterator.next();
+        for (Flame flame : flames) {
+            if (viewport.isVisible(flame.getPosX(), flame.getWidth())) flame.draw(g);
+        }
+    }
+
+    /**
+     * Increments the time the flames have spent on the grid, and removes the flame objects
+     * that are no longer visible. The flames that remain are compacted at the front of the
+     * flames ArrayList in a single pass, keeping their order.
+     */
+    public void updateFlames() {
+        int flameCount = flames.size();
+        int kept = 0;
+        for (int i = 0; i < flameCount; i++) {
+            Flame flame = flames.get(i);
             flame.incrementTimeOnGrid();
-            if (!flame.isVisible()) {
-                //Remove the flames object from the flames ArrayList when they are
-                //no longer visible.
-                iterator.remove();
+            if (flame.isVisible()) {
+                flames.set(kept++, flame);
             } else {
-                flame.draw(g);
+                //The flames that are no longer visible are given back to the pool for the next explosions.
+                getFlamePool().release(flame);
             }
         }
+        if (kept == flameCount) return;
+
+        flames.subList(kept, flameCount).clear();
+        //Several flames can cover the same tile, so the flame mask is rebuilt from the remaining ones.
+        bitboard.syncFlames(flames);
     }
 
     /**
-     * Draws the enemies on the grid.
+     * Draws the enemies on the grid. The enemy store is only read, it is kept in sync with the enemies
+     * ArrayList by the update.
      * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
-     */
-    public void drawEnemies(Graphics2D g) {
-        if (enemies.isEmpty()) return;
+     * @param interpolation Fraction of a tick elapsed since the last update.
+     * @param viewport The part of the grid currently visible.
+     */
+    public void drawEnemies(Graphics2D g, float interpolation, Viewport viewport) {
+        for (int slot = 0; slot < enemyStore.size; slot++) {
+            if (!enemyStore.hasFlag(slot, EnemyStore.VISIBLE)) continue;
+            int x = enemyStore.getInterpolatedX(slot, interpolation);
+            if (viewport.isVisible(x, enemyStore.width[slot])) {
+                SpriteAtlas.draw(g, enemyStore.views[slot].getSprite(), x, enemyStore.getInterpolatedY(slot, interpolation));
+            }
+        }
+    }
 
+    /**
+     * Removes the enemies that have been killed from the enemies ArrayList. The enemies alive
+     * are compacted at the front of the list in a single pass, keeping their order, so killing
+     * many enemies at once costs the same as killing one.
+     */
+    public void removeDeadEnemies() {
         int enemyCount = enemies.size();
+        int kept = 0;
         for (int i = 0; i < enemyCount; i++) {
             Enemy enemy = enemies.get(i);
             if (enemy.isVisible()) {
-                enemy.draw(g);
+                enemies.set(kept++, enemy);
             } else {
-                //if the enemy is not visible we remove it from the enemies ArrayList
-                enemies.remove(enemy);
-                enemyCount = enemies.size();
+                //if the enemy is not visible we remove it from the enemies ArrayList,
+                //along with the search it may have left running.
+                pathFinder.getPathScheduler().cancel(enemy);
+                getEnemyPool().release(enemy);
             }
         }
+        if (kept == enemyCount) return;
+
+        enemies.subList(kept, enemyCount).clear();
+        syncEnemyStore();
     }
 
     /**
@@ -210,7 +294,11 @@ public class TileMap implements Serializable {
         this.harderSetAlreadyCreated = false;
         this.nextStageTransition = true;
         this.isBonusStage = newStage.isBonusStage();
+        for (int i = 0; i < flames.size(); i++) {
+            getFlamePool().release(flames.get(i));
+        }
         this.flames = new ArrayList<Flame>();
+        bitboard.syncFlames(flames);
         spawner.nextStage(newStage);
         populateGridWithBlocks();
         createEnemySet();
@@ -225,6 +313,7 @@ public class TileMap implements Serializable {
      *                 to be updated.
      */
     private void updateUnlockedStage(int currentStage, String username) {
+        if (username == null) return;
 
         try {
             //DatabaseController.setLevelUnlocked(username, currentStage);
@@ -240,7 +329,51 @@ public class TileMap implements Serializable {
      */
     public void populateGridWithBlocks() {
         walls = spawner.generateWalls();
-        pathFinder.updateGraph(walls);
+        fireAllTilesChanged();
+        invalidateWallLayer();
+    }
+
+    /**
+     * Register an object to be notified every time the walls placed on the grid change.
+     * @param listener The object notified of the changes.
+     */
+    public void addTileChangeListener(TileChangeListener listener) {
+        tileChangeListeners.add(listener);
+    }
+
+    /**
+     * Stop notifying an object of the changes of the walls placed on the grid.
+     * @param listener The object that was notified of the changes.
+     */
+    public void removeTileChangeListener(TileChangeListener listener) {
+        tileChangeListeners.remove(listener);
+    }
+
+    /**
+     * Notify the listeners that the wall placed on a single tile changed.
+     * @param col The column of the tile that changed.
+     * @param row The row of the tile that changed.
+     */
+    private void fireTileChanged(int col, int row) {
+        for (int i = 0; i < tileChangeListeners.size(); i++) {
+            tileChangeListeners.get(i).tileChanged(col, row, walls[col][row]);
+        }
+    }
+
+    /**
+     * Notify the listeners that every wall placed on the grid was replaced.
+     */
+    private void fireAllTilesChanged() {
+        for (int i = 0; i < tileChangeListeners.size(); i++) {
+            tileChangeListeners.get(i).allTilesChanged(walls);
+        }
+    }
+
+    /**
+     * Repaint the whole wall layer the next time the walls are drawn.
+     */
+    private void invalidateWallLayer() {
+        if (wallLayer != null) wallLayer.invalidateAll();
     }
 
     /**
@@ -248,7 +381,37 @@ public class TileMap implements Serializable {
      * the current stage.
      */
     public void createEnemySet() {
-        enemies = spawner.generateEnemies();
+        replaceEnemies(spawner.generateEnemies());
+    }
+
+    /**
+     * Replaces the enemies of the grid with a new set. The searches the replaced enemies left running
+     * are cancelled, so they stop using the budget of the frames once the enemies are gone, and the
+     * replaced enemies are released to the enemy pool.
+     * @param newEnemies An ArrayList containing the enemies placed on the grid.
+     */
+    private void replaceEnemies(ArrayList<Enemy> newEnemies) {
+        if (enemies != null) {
+            for (int i = 0; i < enemies.size(); i++) {
+                pathFinder.getPathScheduler().cancel(enemies.get(i));
+                getEnemyPool().release(enemies.get(i));
+            }
+        }
+        enemies = newEnemies;
+        syncEnemyStore();
+    }
+
+    /**
+     * Moves the enemies of the grid into the slots of the enemy store, in the order of the enemies
+     * ArrayList. The enemies get access to the path finder of this grid, which they use to chase the
+     * player, and to the random number generator of the game. Every game has its own path finder.
+     * Nothing is moved if the store already matches the list.
+     */
+    private void syncEnemyStore() {
+        if (enemies == null) return;
+        enemyStore.sync(enemies);
+        enemyStore.setPathFinder(pathFinder);
+        enemyStore.setRandom(random);
     }
 
     /**
@@ -256,8 +419,9 @@ public class TileMap implements Serializable {
      * where the enemies keep spawning infinitely for 30 seconds.
      */
     public void addNewEnemy() {
-        Enemy bonusEnemy = spawner.createBonusStageEnemy();
+        Enemy bonusEnemy = spawner.createBonusStageEnemy(getEnemyPool());
         enemies.add(bonusEnemy);
+        syncEnemyStore();
     }
 
     /**
@@ -288,7 +452,7 @@ public class TileMap implements Serializable {
         //Place a flame object at the center of the explosion
         //TODO: INTRODUCE CONSTANTS EVERYWHERE!
         //We create a flame object directly on the location where the bomb exploded.
-        flames.add(new Flame(posXOfExplosion * TILE_SIDE_LENGTH, posYOfExplosion * TILE_SIDE_LENGTH, true, bombPosX, bombPosY));
+        addFlame(posXOfExplosion * TILE_SIDE_LENGTH, posYOfExplosion * TILE_SIDE_LENGTH, bombPosX, bombPosY);
 
         boolean isConcreteWall;
         boolean isBrickWall;
@@ -334,25 +498,44 @@ public class TileMap implements Serializable {
                     posYofFlame = (posYofWall) * TILE_SIDE_LENGTH;
                 }
 
-                wall = walls[posXofWall][posYofWall];
-                isConcreteWall = wall instanceof ConcreteWall;
-                isBrickWall = wall instanceof BrickWall;
+                //The walls are looked up in the bitboard, the wall object is only needed
+                //once a brick wall is hit.
+                isConcreteWall = bitboard.isConcreteWall(posXofWall, posYofWall);
+                isBrickWall = bitboard.isBrickWall(posXofWall, posYofWall);
 
                 if (isBrickWall || isConcreteWall) {
                     if (isBrickWall) {
-                        if (wall.getBounds().intersects(powerUp.getBounds())) {
+                        wall = walls[posXofWall][posYofWall];
+                        if (wall.intersects(powerUp)) {
                             powerUp.setFirstCollision(false);
                         }
                         walls[posXofWall][posYofWall] = null;
+                        fireTileChanged(posXofWall, posYofWall);
+                        if (wallLayer != null) wallLayer.invalidateTile(posXofWall, posYofWall);
                     }
                     break;
                 } else {
-                    flames.add(new Flame(posXofFlame, posYofFlame, true, bombPosX, bombPosY));
+                    addFlame(posXofFlame, posYofFlame, bombPosX, bombPosY);
                 }
             }
         }
     }
 
+    /**
+     * Adds a flame to the grid, and to the flame mask of the bitboard. The flame is taken from
+     * the pool of flames of the grid.
+     * @param posX x coordinate of the flame on the grid.
+     * @param posY y coordinate of the flame on the grid.
+     * @param bombPosX x coordinate where the bomb exploded.
+     * @param bombPosY y coordinate where the bomb exploded.
+     */
+    private void addFlame(int posX, int posY, int bombPosX, int bombPosY) {
+        Flame flame = getFlamePool().acquire();
+        flame.reset(posX, posY, true, bombPosX, bombPosY);
+        flames.add(flame);
+        bitboard.addFlame(flame);
+    }
+
     /**
      * Countdown timer used to trigger the spawn of a harder set of enemies
      * once the 200 seconds that a stage lasts ends.
@@ -404,47 +587,64 @@ public class TileMap implements Serializable {
 
     /**
      * Displaces the enemies on the grid, and initiates their artificial intelligence chase mode
-     * if the player is at a specified distance.
+     * if the player is at a specified distance. The danger caused by the bombs and flames is
+     * updated first, so the paths computed during the tick avoid them. Each enemy moves and then
+     * decides whether to chase the player, one enemy at a time, in the order of the list.
      * @param playerPosX Integer specifying the x position of the player on the grid.
      * @param playerPosY Integer specifying the y position of the player on the grid.
      * @param playerIsVisible Boolean specifying whether the player is visible or not.
      */
     public void moveEnemies(int playerPosX, int playerPosY, boolean playerIsVisible) {
-        //We update the pathFinder timer to determine if we should refresh the graph
-        //used to find the shortest path between the enemy and the player by the
-        //high intelligence AI.
-        pathFinder.updateGraphRefreshTimer();
-
-        for (Enemy enemy : enemies) {
-            enemy.move();
-
-            //Calculate the distance between the player and the enemy to determine
-            //whether the enemy should chase the player or not. We set the distance
-            //to a default of 100 which would not result in a chase for any of
-            //the intelligence types.
-            int distanceBetweenPlayerAndEnemy = 100;
-            if (playerIsVisible) {
-
-                Coordinate centerOfPlayerObject = new Coordinate(playerPosX + Player.SPRITE_SIDE_LENGTH / 2,
-                                                                 playerPosY + Player.SPRITE_SIDE_LENGTH / 2);
+        //The enemies chasing the player path around the tiles endangered by bombs and flames.
+        bitboard.syncBombs(player.getBombsPlaced(), bombRadius);
+        pathFinder.updateDanger(bitboard);
+        //The searches suspended on the previous frames are resumed before new ones are requested.
+        pathFinder.getPathScheduler().startFrame();
+
+        //The enemies may have been added to the list directly since the last tick.
+        syncEnemyStore();
+        enemyStore.markTickStart();
+
+        //The enemies only chase a visible player, outside of the bonus stages.
+        boolean chaseEnabled = playerIsVisible && !player.isInvincibilityEnabled() && !isBonusStage;
+        ThinkPhase thinkPhase = getThinkPhase();
+        if (chaseEnabled && thinkPhase.shouldRun(enemies, pathFinder)) {
+            moveEnemiesAheadOfChases(thinkPhase, playerPosX, playerPosY);
+            return;
+        }
 
-                Coordinate centerOfEnemyObject = new Coordinate(enemy.getPosX() + Player.SPRITE_SIDE_LENGTH / 2,
-                                                                enemy.getPosY() + Player.SPRITE_SIDE_LENGTH / 2);
+        for (int slot = 0; slot < enemyStore.size; slot++) {
+            Enemy enemy = enemyStore.views[slot];
+            enemyStore.move(slot);
 
-                distanceBetweenPlayerAndEnemy = centerOfPlayerObject.distanceTo(centerOfEnemyObject);
+            //The distance between the player and the enemy determines whether the enemy should chase the player or not.
+            if (chaseEnabled) {
+                enemy.chasePlayer(playerPosX, playerPosY, ThinkPhase.distanceToPlayer(playerPosX, playerPosY, enemy));
             }
+        }
+    }
 
-            //Updating the graph is an expensive operation, we want to do it once for all the enemies.
-            //Also, we only want to update it when a chase will take place, which only happens when the distance
-            //between the player and the enemy is less than 85 pixels (2 tiles).
-            if (enemy.getIntelligence() instanceof HighIntelligence && distanceBetweenPlayerAndEnemy < 85 && pathFinder.getRefreshGraph()) {
-                pathFinder.updateGraph(walls);
-                pathFinder.setRefreshGraph(false);
-            }
+    /**
+     * Displaces the enemies when they search their own paths to the player, with the searches started ahead
+     * of the chases across several threads. Every enemy moves before the chases are decided. A chase only
+     * changes the chasing enemy and the searches of the path finder, which the moves do not read, so the
+     * enemies end up where they would if each one moved and chased in turn.
+     * @param thinkPhase The ThinkPhase of the grid.
+     * @param playerPosX Integer specifying the x position of the player on the grid.
+     * @param playerPosY Integer specifying the y position of the player on the grid.
+     */
+    private void moveEnemiesAheadOfChases(ThinkPhase thinkPhase, int playerPosX, int playerPosY) {
+        for (int slot = 0; slot < enemyStore.size; slot++) {
+            enemyStore.move(slot);
+        }
 
-            if (playerIsVisible && !player.isInvincibilityEnabled() && !isBonusStage){
-                enemy.chasePlayer(playerPosX, playerPosY, distanceBetweenPlayerAndEnemy);
-            }
+        //Think phase: the distance between the player and each enemy is computed, and the path searches
+        //of the chasers are started ahead of time.
+        thinkPhase.run(enemies, playerPosX, playerPosY);
+
+        //Commit phase: the chases are applied one enemy at a time, in the order of the list.
+        for (int i = 0; i < enemies.size(); i++) {
+            enemies.get(i).chasePlayer(playerPosX, playerPosY, thinkPhase.getDistance(i));
         }
     }
 
@@ -462,6 +662,7 @@ public class TileMap implements Serializable {
             }
 
         });
+        syncEnemyStore();
 
         //Get the most difficult enemy ranking present in the game
         int hardestTypeDifficulty = enemies.get(enemies.size() - 1).getDifficultyRanking();
@@ -541,6 +742,7 @@ public class TileMap implements Serializable {
      */
     public void setEnemies(ArrayList<Enemy> enemies) {
         this.enemies = enemies;
+        syncEnemyStore();
     }
 
     /**
@@ -558,6 +760,84 @@ public class TileMap implements Serializable {
      */
     public void setWalls(GameObject[][] walls) {
         this.walls = walls;
+        fireAllTilesChanged();
+        invalidateWallLayer();
+    }
+
+    /**
+     * Get the path finder used by the high intelligence enemies, which holds the graph
+     * representation of the walls present on the grid.
+     * @return The PathFinder instance of the grid.
+     */
+    public PathFinder getPathFinder() {
+        return pathFinder;
+    }
+
+    /**
+     * Get the store holding the state of the enemies of the grid.
+     * @return The EnemyStore of the grid.
+     */
+    public EnemyStore getEnemyStore() {
+        return enemyStore;
+    }
+
+    /**
+     * Get the pool of the flames of the grid, created the first time it is needed.
+     * @return The ObjectPool the flames of the explosions are taken from.
+     */
+    public ObjectPool<Flame> getFlamePool() {
+        if (flamePool == null) {
+            flamePool = new ObjectPool<Flame>(FLAME_POOL_CAPACITY) {
+                @Override
+                protected Flame create() {
+                    return new Flame(0, 0, false, 0, 0);
+                }
+            };
+        }
+        return flamePool;
+    }
+
+    /**
+     * Get the pool of the enemies of the grid, created the first time it is needed. The enemies
+     * removed from the grid are released to it, and the enemies of the bonus stages are taken from it.
+     * @return The ObjectPool holding the enemies removed from the grid.
+     */
+    public ObjectPool<Enemy> getEnemyPool() {
+        if (enemyPool == null) {
+            enemyPool = new ObjectPool<Enemy>(ENEMY_POOL_CAPACITY) {
+                @Override
+                protected Enemy create() {
+                    return new Enemy();
+                }
+            };
+        }
+        return enemyPool;
+    }
+
+    /**
+     * Get the engine resolving the explosions of the bombs placed on the grid, created the first time it is needed.
+     * @return The ExplosionEngine instance of the grid.
+     */
+    public ExplosionEngine getExplosionEngine() {
+        if (explosionEngine == null) explosionEngine = new ExplosionEngine(this);
+        return explosionEngine;
+    }
+
+    /**
+     * Get the think phase of the update of the enemies, created the first time it is needed.
+     * @return The ThinkPhase instance of the grid.
+     */
+    public ThinkPhase getThinkPhase() {
+        if (thinkPhase == null) thinkPhase = new ThinkPhase();
+        return thinkPhase;
+    }
+
+    /**
+     * Get the bitboard holding the masks of the walls, bombs, flames and dangerous tiles of the grid.
+     * @return The TileBitboard instance of the grid.
+     */
+    public TileBitboard getBitboard() {
+        return bitboard;
     }
 
     /**
@@ -574,6 +854,7 @@ public class TileMap implements Serializable {
      */
     public void setFlames(ArrayList<Flame> flames) {
         this.flames = flames;
+        bitboard.syncFlames(flames);
     }
 
     /**
@@ -623,6 +904,7 @@ public class TileMap implements Serializable {
      */
     public void setBonusStage(boolean isBonusStage) {
         this.isBonusStage = isBonusStage;
+        invalidateWallLayer();
     }
 
     /**
@@ -0,0 +1,102 @@
+package GameObject;
+
+import GamePlay.Viewport;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Offscreen image holding the walls of the grid pre-rendered. The walls only change when a brick wall
+ * is destroyed or when a new stage is populated, so instead of drawing every wall on every frame we keep
+ * them in this layer and only repaint the tiles that were invalidated since the last frame.
+ */
+public class WallLayer {
+
+    private BufferedImage image;
+    private boolean[][] dirtyTiles;
+    private boolean dirty;
+
+    /**
+     * Create an empty wall layer. Every tile is considered dirty until the layer is drawn for the first time.
+     */
+    public WallLayer() {
+        this.dirtyTiles = new boolean[TileMap.NUM_OF_COLS][TileMap.NUM_OF_ROWS];
+        invalidateAll();
+    }
+
+    /**
+     * Mark a tile so that it gets repainted before the layer is drawn again.
+     * @param col Column of the tile on the grid.
+     * @param row Row of the tile on the grid.
+     */
+    public void invalidateTile(int col, int row) {
+        dirtyTiles[col][row] = true;
+        dirty = true;
+    }
+
+    /**
+     * Mark every tile of the layer so that it gets repainted, used when a new stage is populated.
+     */
+    public void invalidateAll() {
+        for (boolean[] column : dirtyTiles) {
+            Arrays.fill(column, true);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Repaint the dirty tiles and draw the columns of the layer that are visible with a single blit.
+     * @param g Graphics object corresponding to the JPanel where the game play state is rendered.
+     * @param walls The two dimensional array containing the walls of the grid.
+     * @param isBonusStage Brick walls are not rendered during bonus stages.
+     * @param viewport The part of the grid currently visible.
+     */
+    public void draw(Graphics2D g, GameObject[][] walls, boolean isBonusStage, Viewport viewport) {
+        if (image == null) {
+            image = SpriteAtlas.createCompatibleImage(TileMap.TOTAL_WIDTH_OF_COLUMNS, TileMap.TOTAL_HEIGHT_OF_ROWS);
+        }
+        if (dirty) {
+            repaintDirtyTiles(walls, isBonusStage);
+        }
+        int minX = viewport.getFirstVisibleCol() * TileMap.TILE_SIDE_LENGTH;
+        int maxX = (viewport.getLastVisibleCol() + 1) * TileMap.TILE_SIDE_LENGTH;
+        int height = TileMap.TOTAL_HEIGHT_OF_ROWS;
+        g.drawImage(image, minX, 0, maxX, height, minX, 0, maxX, height, null);
+    }
+
+    /**
+     * @return True if some tiles need to be repainted before the next blit.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Clear each dirty tile of the layer and draw back the wall it contains, if any.
+     * @param walls The two dimensional array containing the walls of the grid.
+     * @param isBonusStage Brick walls are not rendered during bonus stages.
+     */
+    private void repaintDirtyTiles(GameObject[][] walls, boolean isBonusStage) {
+        Graphics2D layerGraphics = image.createGraphics();
+        for (int col = 0; col < TileMap.NUM_OF_COLS; col++) {
+            for (int row = 0; row < TileMap.NUM_OF_ROWS; row++) {
+                if (!dirtyTiles[col][row]) continue;
+                dirtyTiles[col][row] = false;
+
+                int posX = col * TileMap.TILE_SIDE_LENGTH;
+                int posY = row * TileMap.TILE_SIDE_LENGTH;
+                layerGraphics.setComposite(AlphaComposite.Clear);
+                layerGraphics.fillRect(posX, posY, TileMap.TILE_SIDE_LENGTH, TileMap.TILE_SIDE_LENGTH);
+                layerGraphics.setComposite(AlphaComposite.SrcOver);
+
+                GameObject wall = walls[col][row];
+                if (wall != null && wall.isVisible() && !(isBonusStage && (wall instanceof BrickWall))) {
+                    wall.draw(layerGraphics);
+                }
+            }
+        }
+        layerGraphics.dispose();
+        dirty = false;
+    }
+}
@@ -4,6 +4,7 @@
 package GamePlay;
 
 import GameObject.Player;
+import GameObject.TileMap;
 import SystemController.GameController;
 import java.io.Serializable;
 
@@ -29,6 +30,38 @@ public class Camera implements Serializable {
         posX = -player.getPosX() + GameController.WIDTH/2 - 18;
     }
 
+    /**
+     * Get the x position of the camera following the player as it is rendered
+     * between two updates.
+     * @param interpolation Fraction of a tick elapsed since the last update.
+     * @return Returns the interpolated x-position of the camera.
+     */
+    public int getInterpolatedPosX(float interpolation) {
+        return -player.getInterpolatedX(interpolation) + GameController.WIDTH/2 - 18;
+    }
+
+    /**
+     * Determine the part of the grid seen by the camera as it is rendered between two updates.
+     * @param cameraMoving True when the player has more than 15 tile columns on its left and right
+     *                     sides, in which case the camera is actively following the player.
+     * @param secondCameraRegion True when the player has less than 15 tile columns on its right side.
+     *                           The camera is then snapped to a position encompassing all of the right
+     *                           side of the board. Otherwise it is fixed on the left side of the board.
+     * @param interpolation Fraction of a tick elapsed since the last update.
+     * @return The Viewport seen by the camera.
+     */
+    public Viewport getViewport(boolean cameraMoving, boolean secondCameraRegion, float interpolation) {
+        int minX;
+        if (cameraMoving) {
+            minX = -getInterpolatedPosX(interpolation);
+        } else if (secondCameraRegion) {
+            minX = TileMap.TOTAL_WIDTH_OF_COLUMNS - 15 * TileMap.TILE_SIDE_LENGTH;
+        } else {
+            minX = 0;
+        }
+        return new Viewport(minX, GameController.WIDTH);
+    }
+
     /**
      * @return Returns the x-position of an object in the form of an int.
      */
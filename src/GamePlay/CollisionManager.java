@@ -8,7 +8,6 @@ import Database.MongoDBController;
 import GameObject.*;
 import SystemController.SoundController;
 
-import java.awt.*;
 import java.io.Serializable;
 import java.util.ArrayList;
 
@@ -25,6 +24,8 @@ public class CollisionManager implements Serializable {
     private TileMap tileMap;
     private ScoreManager scoreManager;
     private String userName;
+    private transient ArrayList<KillSet> enemiesKilled;
+    private transient ArrayList<Enemy> enemiesInFlames;
 
     /**
      * Initializes a CollisionManager object, containing the entities to be tested for collisions.
@@ -43,9 +44,9 @@ public class CollisionManager implements Serializable {
 
     /**
      * Fundamental function of the collision manager used to trigger the logic necessary to resolve all the collisions
-     * between the objects present on the grid.
+     * between the objects present on the grid. Objects are compared through their collision boxes directly, so
+     * no Rectangle objects are allocated while handling collisions.
      * @param objects Two dimensional array containing the wall objects present on the grid.
-     * @param playerRectangle The Rectangle object specifying the bounds of the player object.
      * @param enemies ArrayList containing the enemy objects present on the grid.
      * @param bombsPlaced An ArrayList containing the bombs objects placed on the grid.
      * @param flames An ArrayList containing the flame objects present on the grid.
@@ -53,64 +54,78 @@ public class CollisionManager implements Serializable {
      * @param door The door object present on the grid.
      * @param isBonusStage A boolean specifying whether the current stage is a bonus stage or not.
      */
-    public void handleCollisions(GameObject[][] objects,
-                                 Rectangle playerRectangle, ArrayList<Enemy> enemies, ArrayList<Bomb> bombsPlaced,
+    public void handleCollisions(GameObject[][] objects, ArrayList<Enemy> enemies, ArrayList<Bomb> bombsPlaced,
                                  ArrayList<Flame> flames, PowerUp powerUp, Door door, boolean isBonusStage) {
 
-        checkCollisionsWithWalls(objects, playerRectangle, enemies);
-        checkCollisionsWithBombs(bombsPlaced, playerRectangle, enemies);
-        checkCollisionsWithFlames(bombsPlaced, playerRectangle, enemies, flames, powerUp, door, isBonusStage);
+        checkCollisionsWithWalls(objects, enemies);
+        checkCollisionsWithBombs(bombsPlaced, enemies);
+        checkCollisionsWithFlames(enemies, flames, powerUp, door, isBonusStage);
 
         //If the current stage is a bonus stage, then we don't call collision detection between player/flames
         //and player/enemy. We also don't check for collision with powerUp or door, since these objects
         //are not present in a bonus stage.
         if (!isBonusStage) {
-            checkCollisionWithPowerUp(playerRectangle, powerUp);
-            checkCollisionWithDoor(playerRectangle, door, enemies);
-            checkCollisionsWithEnemies(playerRectangle, enemies);
+            checkCollisionWithPowerUp(powerUp);
+            checkCollisionWithDoor(door, enemies);
+            checkCollisionsWithEnemies(enemies);
         }
     }
 
     /**
      * Determines whether the  enemies or the player are colliding with a wall or not. If a collision occurs,
-     * it calls the necessary logic to resolve it.
+     * it calls the necessary logic to resolve it. Since the walls are placed on the tiles of the grid, each
+     * object is only tested against the walls of the tiles its collision box overlaps.
      * @param objects A two dimensional array containing the walls present in the game.
-     * @param playerRectangle The rectangle representing the collision box of the player object.
      * @param enemies An ArrayList containing the enemy objects present in the game.
      */
-    public void checkCollisionsWithWalls(GameObject[][] objects, Rectangle playerRectangle, ArrayList<Enemy> enemies) {
+    public void checkCollisionsWithWalls(GameObject[][] objects, ArrayList<Enemy> enemies) {
 
-        boolean playerHasWallPass = player.hasWallPass();
+        //We don't check for collisions between the player and the brick walls
+        //if the player has the wallPass powerUp enabled
+        resolveCollisionsWithWalls(objects, player, player.hasWallPass());
 
-        //Iterate over all the walls present on the grid, and test if a collision occurs between them
-        //and the player or the enemies.
-        for (GameObject[] row : objects) {
-            for (GameObject wall : row) {
-                if (wall != null) {
+        //Check for collisions of the enemies with the walls, unless the enemy
+        //has wallPass itself.
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            resolveCollisionsWithWalls(objects, enemy, enemy.hasWallPass());
+        }
+    }
 
-                    Rectangle wallRectangle = wall.getBounds();
+    /**
+     * Resolves the collisions between a movable object and the walls placed on the tiles overlapped by
+     * its collision box. A collision box at most as large as a tile overlaps at most 4 tiles. Enemies
+     * reverse their direction of movement when they collide with a wall.
+     * @param objects A two dimensional array containing the walls present in the game.
+     * @param object The player or enemy object tested.
+     * @param hasWallPass Boolean specifying whether the object goes through brick walls.
+     */
+    private void resolveCollisionsWithWalls(GameObject[][] objects, MovableObject object, boolean hasWallPass) {
 
-                    //We don't check for collisions between the player and the walls
-                    //if the player has the wallPass powerUp enabled
-                    if (!playerHasWallPass || (wall instanceof ConcreteWall)) {
-                        if (playerRectangle.intersects(wallRectangle)) {
-                            restoreToBeforeCollision(player, wallRectangle);
-                        }
-                    }
+        //Most objects are not touching any wall, which the bitboard tells with a few bit tests.
+        TileBitboard bitboard = tileMap.getBitboard();
+        if (!bitboard.anyWall(object.getMinX(), object.getMinY(), object.getMaxX() - object.getMinX(),
+                object.getMaxY() - object.getMinY(), hasWallPass)) {
+            return;
+        }
 
-                    //Check for collisions of the enemies with the walls, unless the enemy
-                    //has wallPass itself.
-                    boolean enemyHasWallPass;
-                    for (Enemy enemy : enemies) {
-                        enemyHasWallPass = enemy.hasWallPass();
-                        Rectangle enemyRectangle = enemy.getBounds();
-                        if (!enemyHasWallPass || (wall instanceof ConcreteWall)) {
-                            if (enemyRectangle.intersects(wallRectangle)) {
-                                enemy.reverseDirection();
-                                restoreToBeforeCollision(enemy, wallRectangle);
-                            }
-                        }
+        int firstCol = Math.max(0, object.getMinX() / TileMap.TILE_SIDE_LENGTH);
+        int lastCol = Math.min(objects.length - 1, (object.getMaxX() - 1) / TileMap.TILE_SIDE_LENGTH);
+        int firstRow = Math.max(0, object.getMinY() / TileMap.TILE_SIDE_LENGTH);
+        int lastRow = Math.min(objects[0].length - 1, (object.getMaxY() - 1) / TileMap.TILE_SIDE_LENGTH);
+
+        for (int col = firstCol; col <= lastCol; col++) {
+            for (int row = firstRow; row <= lastRow; row++) {
+                GameObject wall = objects[col][row];
+                if (wall == null || (hasWallPass && !bitboard.isConcreteWall(col, row))) continue;
+
+                //The object is moved while resolving a collision, so the remaining walls
+                //are always tested against its current position.
+                if (object.intersects(wall)) {
+                    if (object instanceof Enemy) {
+                        ((Enemy) object).reverseDirection();
                     }
+                    restoreToBeforeCollision(object, wall);
                 }
             }
         }
@@ -119,15 +134,13 @@ public class CollisionManager implements Serializable {
     /**
      * Determines whether the player is colliding with a powerUp. If this is the case,
      * it enables the powerUp attribute on the player object.
-     * @param playerRectangle The rectangle representing the collision box of the player object.
      * @param powerUp The powerUp object present on the grid.
      */
-    public void checkCollisionWithPowerUp(Rectangle playerRectangle, PowerUp powerUp) {
+    public void checkCollisionWithPowerUp(PowerUp powerUp) {
         if (powerUp == null) return;
-        Rectangle powerUpRectangle = powerUp.getBounds();
 
         if (powerUp.isVisible() && !powerUp.isFirstCollision()) {
-            if (playerRectangle.intersects(powerUpRectangle)) {
+            if (player.intersects(powerUp)) {
                 player.enablePowerUp(powerUp.getPowerUpType());
                 powerUp.setVisible(false);
                 SoundController.POWERUP.play();
@@ -138,17 +151,15 @@ public class CollisionManager implements Serializable {
     /**
      * Check collisions between the player and the door object. If a collision occurs, we advance
      * to the next stage.
-     * @param playerRectangle The rectangle representing the collision box of the player object.
      * @param door The door object present on the grid.
      * @param enemies An ArrayList containing the enemy objects present in the game.
      */
-    public void checkCollisionWithDoor(Rectangle playerRectangle, Door door, ArrayList<Enemy> enemies) {
+    public void checkCollisionWithDoor(Door door, ArrayList<Enemy> enemies) {
         if (door == null) return;
 
         if (enemies.size() == 0) {
-            Rectangle doorRectangle = door.getBounds();
             if (door.isVisible()) {
-                if (playerRectangle.intersects(doorRectangle)){
+                if (player.intersects(door)){
                     System.out.println("advancing to next stage!");
                     player.nextStage();
                 }
@@ -161,16 +172,15 @@ public class CollisionManager implements Serializable {
      * object. Note that by bomb we are not referring to the flames from the explosion, but rather
      * the bomb itself before it blows up.
      * @param bombsPlaced An ArrayList containing the bombs objects placed on the grid.
-     * @param playerRectangle The rectangle representing the collision box of the player object.
      * @param enemies An ArrayList containing the enemy objects present in the game.
      */
-    public void checkCollisionsWithBombs(ArrayList<Bomb> bombsPlaced, Rectangle playerRectangle, ArrayList<Enemy> enemies) {
+    public void checkCollisionsWithBombs(ArrayList<Bomb> bombsPlaced, ArrayList<Enemy> enemies) {
         //Check for collisions of the player with the bombs
-        for (Bomb bomb : bombsPlaced) {
-            Rectangle bombRectangle = bomb.getBounds();
+        for (int i = 0; i < bombsPlaced.size(); i++) {
+            Bomb bomb = bombsPlaced.get(i);
 
             if (!player.hasBombPass()) {
-                if (playerRectangle.intersects(bombRectangle)) {
+                if (player.intersects(bomb)) {
                     if (!bomb.isFirstCollision()) {
                         player.restorePreviousPosition();
                     }
@@ -179,11 +189,11 @@ public class CollisionManager implements Serializable {
                 }
             }
 
-            for (Enemy enemy : enemies) {
-                Rectangle enemyRectangle = enemy.getBounds();
-                if (enemyRectangle.intersects(bombRectangle)) {
+            for (int j = 0; j < enemies.size(); j++) {
+                Enemy enemy = enemies.get(j);
+                if (enemy.intersects(bomb)) {
                     enemy.reverseDirection();
-                    restoreToBeforeCollision(enemy, bombRectangle);
+                    restoreToBeforeCollision(enemy, bomb);
                 }
             }
 
@@ -192,91 +202,97 @@ public class CollisionManager implements Serializable {
 
     /**
      * Checks collision between the player, enemies, door and powerUp with the flames objects that result
-     * from a bomb blast.
-     * @param bombsPlaced An ArrayList containing the bombs objects placed on the grid.
-     * @param playerRectangle The Rectangle object specifying the bounds of the player object.
+     * from a bomb blast. The bombs reached by the flames are exploded by the ExplosionEngine of the grid.
      * @param enemies An ArrayList containing the enemy objects present in the game.
      * @param flames An ArrayList containing the flame objects present on the grid.
      * @param powerUp The powerUp object present on the grid.
      * @param door The door object present on the grid.
      * @param isBonusStage A boolean specifying whether the current stage is a bonus stage or not.
      */
-    public void checkCollisionsWithFlames(ArrayList<Bomb> bombsPlaced, Rectangle playerRectangle, ArrayList<Enemy> enemies,
+    public void checkCollisionsWithFlames(ArrayList<Enemy> enemies,
                                           ArrayList<Flame> flames, PowerUp powerUp, Door door, boolean isBonusStage) {
 
-        Rectangle flameRectangle;
-        ArrayList<KillSet> enemiesKilled = new ArrayList<KillSet>();
+        //The list of kills is reused from one pass to the next.
+        if (enemiesKilled == null) {
+            enemiesKilled = new ArrayList<KillSet>();
+        }
+        enemiesKilled.clear();
+        if (flames.isEmpty()) return;
+
+        //Flames cover whole tiles, so an object can only collide with a flame if it overlaps a tile
+        //of the flame mask of the bitboard. Only those objects are tested against every flame.
+        TileBitboard bitboard = tileMap.getBitboard();
+        if (enemiesInFlames == null) {
+            enemiesInFlames = new ArrayList<Enemy>();
+        }
+        enemiesInFlames.clear();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (isOverFlames(bitboard, enemy)) enemiesInFlames.add(enemy);
+        }
+        boolean playerOverFlames = isOverFlames(bitboard, player);
 
         //All the objects mentioned above are tested for collision with each flame object.
         //We pack everything into a single loop to avoid having to iterate over the same
         //flame object multiple times.
-        for (Flame flame : flames) {
-            flameRectangle = flame.getBounds();
+        for (int i = 0; i < flames.size(); i++) {
+            Flame flame = flames.get(i);
 
             //we decouple this methods for testing purposes.
-            checkCollisionsBetweenFlameAndPlayer(flameRectangle, playerRectangle, isBonusStage);
-            checkCollisionsBetweenFlameAndBomb(flameRectangle, bombsPlaced);
-            checkCollisionsBetweenFlameAndEnemies(flameRectangle, flame, enemies, enemiesKilled);
-            checkCollisionsBetweenFlameAndPowerUp(flameRectangle, powerUp, isBonusStage);
-            checkCollisionsBetweenFlameAndDoor(flameRectangle, door, isBonusStage);
+            if (playerOverFlames) checkCollisionsBetweenFlameAndPlayer(flame, isBonusStage);
+            if (!enemiesInFlames.isEmpty()) checkCollisionsBetweenFlameAndEnemies(flame, enemiesInFlames, enemiesKilled);
+            checkCollisionsBetweenFlameAndPowerUp(flame, powerUp, isBonusStage);
+            checkCollisionsBetweenFlameAndDoor(flame, door, isBonusStage);
         }
 
         calculateScoreFromKills(enemiesKilled);
     }
 
+    /**
+     * Determine whether an object overlaps a tile covered by a flame.
+     * @param bitboard The bitboard of the grid, with its flame mask up to date.
+     * @param object The object tested.
+     * @return A boolean specifying whether the object may collide with a flame.
+     */
+    private boolean isOverFlames(TileBitboard bitboard, GameObject object) {
+        return bitboard.anyFlame(object.getMinX(), object.getMinY(),
+                object.getMaxX() - object.getMinX(), object.getMaxY() - object.getMinY());
+    }
+
     /**
      * Resolves collisions between the player object and a flame object.
-     * @param flameRectangle The rectangle representing the collision box of the flame object.
-     * @param playerRectangle The rectangle representing the collision box of the player object.
+     * @param flame The flame object being tested for collision.
      * @param isBonusStage A boolean specifying whether the current stage is a bonus stage or not.
      */
-    public void checkCollisionsBetweenFlameAndPlayer(Rectangle flameRectangle, Rectangle playerRectangle,
-                                                     boolean isBonusStage) {
+    public void checkCollisionsBetweenFlameAndPlayer(Flame flame, boolean isBonusStage) {
         if (player.isVisible() && !player.isInvincibilityEnabled() && !player.hasFlamePass() && !isBonusStage ) {
-            if (playerRectangle.intersects(flameRectangle)) {
+            if (player.intersects(flame)) {
                 //If the player collides with a bomb object we call it's death method.
                 player.death();
             }
         }
     }
 
-    /**
-     * Resolves the collisions between the bomb objects and a flame object.
-     * @param flameRectangle The rectangle representing the collision box of the flame object.
-     * @param bombsPlaced An ArrayList containing the bombs objects placed on the grid.
-     */
-    public void checkCollisionsBetweenFlameAndBomb(Rectangle flameRectangle, ArrayList<Bomb> bombsPlaced) {
-        for (Bomb bomb : bombsPlaced) {
-            Rectangle bombRectangle = bomb.getBounds();
-            if (flameRectangle.intersects(bombRectangle)) {
-                //Detonate bombs if they collide with the flame object
-                SoundController.BOMBEXPLODE.play();
-                bomb.setVisible(false);
-            }
-        }
-    }
-
     /**
      * Resolves the collisions between the enemy objects and a flame object.
-     * @param flameRectangle The rectangle representing the collision box of the flame object.
      * @param flame The flame object being tested for collision.
      * @param enemies ArrayList containing the enemy objects present on the grid.
      * @param enemiesKilled ArrayList used to keep track of the enemies killed. Used
      *                      for score management.
      */
-    public void checkCollisionsBetweenFlameAndEnemies(Rectangle flameRectangle, Flame flame,
-                                                      ArrayList<Enemy> enemies, ArrayList<KillSet> enemiesKilled) {
-        for (Enemy enemy : enemies) {
-            Rectangle enemyRectangle = enemy.getBounds();
-            if (enemyRectangle.intersects(flameRectangle)) {
+    public void checkCollisionsBetweenFlameAndEnemies(Flame flame, ArrayList<Enemy> enemies,
+                                                      ArrayList<KillSet> enemiesKilled) {
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.intersects(flame)) {
                 enemy.death();
-                Coordinate positionOfDeath = enemy.getCenterOfEnemyAsCoordinate();
-                Coordinate locationOfBomb = flame.getExplosionOriginAsCoordinate();
 
                 //If an enemy collides with a flame object, we create a KillSet object with
                 //the data of the death so that we can then pass it to the score manager to
                 //determine the score obtained.
                 if (!enemy.isHitByFlames()) {
+                    Coordinate positionOfDeath = enemy.getCenterOfEnemyAsCoordinate();
+                    Coordinate locationOfBomb = flame.getExplosionOriginAsCoordinate();
                     enemiesKilled.add(new KillSet(positionOfDeath, locationOfBomb, enemy));
                 }
                 enemy.setHitByFlames(true);
@@ -286,17 +302,16 @@ public class CollisionManager implements Serializable {
 
     /**
      * Resolves the collisions between flame objects and a powerUp object.
-     * @param flameRectangle The rectangle representing the collision box of the flame object.
+     * @param flame The flame object being tested for collision.
      * @param powerUp The powerUp object present on the grid.
      * @param isBonusStage A boolean specifying whether the current stage is a bonus stage or not.
      */
-    public void checkCollisionsBetweenFlameAndPowerUp(Rectangle flameRectangle, PowerUp powerUp, boolean isBonusStage) {
+    public void checkCollisionsBetweenFlameAndPowerUp(Flame flame, PowerUp powerUp, boolean isBonusStage) {
         if (!isBonusStage) {
             //check whether powerUp is visible on the map, and if we haven't already spawned
             //a harder set of enemies.
             if (powerUp.isVisible() && !powerUp.isFirstCollision()) {
-                Rectangle powerUpRectangle = powerUp.getBounds();
-                if (powerUpRectangle.intersects(flameRectangle)) {
+                if (powerUp.intersects(flame)) {
                     powerUp.setVisible(false);
                     spawnSetOfHarderEnemies(powerUp.getPosX(), powerUp.getPosY());
                 }
@@ -306,14 +321,13 @@ public class CollisionManager implements Serializable {
 
     /**
      * Resolves the collision between the door object and a flame object.
-     * @param flameRectangle The rectangle representing the collision box of the flame object.
+     * @param flame The flame object being tested for collision.
      * @param door The door object present on the grid.
      * @param isBonusStage A boolean specifying whether the current stage is a bonus stage or not.
      */
-    public void checkCollisionsBetweenFlameAndDoor(Rectangle flameRectangle, Door door, boolean isBonusStage) {
+    public void checkCollisionsBetweenFlameAndDoor(Flame flame, Door door, boolean isBonusStage) {
         if (!isBonusStage) {
-            Rectangle doorRectangle = door.getBounds();
-            if (doorRectangle.intersects(flameRectangle)) {
+            if (door.intersects(flame)) {
                 if (!tileMap.isHarderSetAlreadyCreated()) {
                     spawnSetOfHarderEnemies(door.getPosX(), door.getPosY());
                 }
@@ -324,15 +338,13 @@ public class CollisionManager implements Serializable {
     /**
      * Checks collision between the player and the enemies present in the grid. If a collision
      * does occur, the player death method is called.
-     * @param playerRectangle The rectangle representing the collision box of the player object.
      * @param enemies ArrayList containing the enemy objects present on the grid.
      */
-    public void checkCollisionsWithEnemies(Rectangle playerRectangle, ArrayList<Enemy> enemies) {
+    public void checkCollisionsWithEnemies(ArrayList<Enemy> enemies) {
         //check for collisions between the player and the enemies
         if (player.isVisible() && !player.isInvincibilityEnabled()) {
-            for (Enemy enemy : enemies) {
-                Rectangle enemyRectangle = enemy.getBounds();
-                if (playerRectangle.intersects(enemyRectangle)) {
+            for (int i = 0; i < enemies.size(); i++) {
+                if (player.intersects(enemies.get(i))) {
                     player.death();
                 }
             }
@@ -360,13 +372,14 @@ public class CollisionManager implements Serializable {
         if (enemiesKilled.isEmpty()) return;
         int scoreObtained = scoreManager.determineScoreFromKills(enemiesKilled);
 
-        try {
-            //TODO: might want to remove this
-            System.out.println("UPDATING SCORE IN DB");
-            //DatabaseController.setScore(userName, scoreObtained);
-            MongoDBController.setScore(userName, scoreObtained);
-        } catch (Exception e){
-            e.printStackTrace();
+        //Games simulated without a logged in user are not persisted.
+        if (userName != null) {
+            try {
+                //DatabaseController.setScore(userName, scoreObtained);
+                MongoDBController.setScore(userName, scoreObtained);
+            } catch (Exception e){
+                e.printStackTrace();
+            }
         }
 
         player.addToScore(scoreObtained);
@@ -374,32 +387,32 @@ public class CollisionManager implements Serializable {
 
     /**
      * Restores the position of the object passed such that it doesn't collide with the
-     * rectangle object passed. This method is called when the player or the enemies collide
+     * obstacle passed. This method is called when the player or the enemies collide
      * with walls and bombs.
-     * @param object The object that is in collision with the obstacle Rectangle.
-     * @param obstacleRectangle The collision box of the obstacle the object is colliding with.
+     * @param object The object that is in collision with the obstacle.
+     * @param obstacle The wall or bomb the object is colliding with.
      */
-    public void restoreToBeforeCollision(MovableObject object, Rectangle obstacleRectangle) {
+    public void restoreToBeforeCollision(MovableObject object, GameObject obstacle) {
         int x = object.getPosX();
         int y = object.getPosY();
 
         //Restore the previous x position of the movable object and then check if it still
-        //collides with the rectangle. If no collision reoccurs, we resolved the problem and
+        //collides with the obstacle. If no collision reoccurs, we resolved the problem and
         //return.
         object.restorePreviousXPosition();
 
-        if (object.getBounds().intersects(obstacleRectangle)) {
+        if (object.intersects(obstacle)) {
             object.restorePositionTo(x,y);
         } else {
             return;
         }
 
         //Restore the previous y position of the movable object and then check if it still
-        //collides with the rectangle. If no collision reoccurs, we resolved the problem and
+        //collides with the obstacle. If no collision reoccurs, we resolved the problem and
         //return.
         object.restorePreviousYPosition();
 
-        if (object.getBounds().intersects(obstacleRectangle)) {
+        if (object.intersects(obstacle)) {
             object.restorePositionTo(x,y);
         } else {
             return;
@@ -5,8 +5,10 @@ package GamePlay;
 
 import java.awt.*;
 
+import java.awt.event.KeyEvent;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Random;
 
 import Database.DatabaseController;
 import Database.MongoDBController;
@@ -42,6 +44,10 @@ public class GamePlayManager extends GameState implements Serializable {
     private Font titleFont = new Font("Gill Sans Ultra Bold", Font.PLAIN, 42);
     private Font subTitleFont = new Font("Gill Sans Ultra Bold", Font.PLAIN, 22);
     private Font hudFont = new Font("Gill Sans Ultra Bold", Font.PLAIN, 12);
+    private Font profilerFont = new Font("Monospaced", Font.PLAIN, 10);
+    //F4 toggles the overlay displaying the durations measured by the TickProfiler, and the recording along with it.
+    private transient boolean profilerOverlayVisible = false;
+    private transient TickProfiler profiler;
 
     /**
      * Initialize an instance of GamePlayManager, which will control and execute all
@@ -61,6 +67,52 @@ public class GamePlayManager extends GameState implements Serializable {
         this.camera = new Camera(player.getPosX(), player);
     }
 
+    /**
+     * Initialize a headless instance of GamePlayManager that is not attached to any GameStateManager,
+     * and thus to any window or user account. Used to simulate the gameplay without rendering it, for
+     * example to run large numbers of stages in tests or benchmarks. Nothing is persisted to the database.
+     * @param selectedStage An integer specifying the stage to load.
+     */
+    public GamePlayManager(int selectedStage) {
+        this(selectedStage, new Random());
+    }
+
+    /**
+     * Initialize a headless instance of GamePlayManager whose stages and enemies are drawn from a random
+     * number generator of its own, so that a game created with a seeded generator can be reproduced.
+     * @param selectedStage An integer specifying the stage to load.
+     * @param random The Random instance of the game.
+     */
+    public GamePlayManager(int selectedStage, Random random) {
+        this.player = new Player(33, 33, true, MovableObject.NORMALSPEED);
+        this.cameraMoving = false;
+        this.tileMap = new TileMap(player, selectedStage, null, random);
+        this.collisionManager = new CollisionManager(player, tileMap, null);
+        this.player.setTileMap(tileMap);
+        this.camera = new Camera(player.getPosX(), player);
+    }
+
+    /**
+     * Advances the specific GamePlayState that the user is currently found in
+     * by one tick. The user can be in one of the following options during
+     * gamePlay: GAMEOVER, PAUSE, INGAME, FINISHEDGAME.
+     */
+    @Override
+    public void update() {
+
+        GamePlayState currentState = player.getCurrentGamePlayState();
+
+        if (currentState == GamePlayState.GAMEOVER) {
+            executeGameOverStateLogic();
+        } else if (currentState == GamePlayState.PAUSE) {
+            if (gsm != null) gsm.setState(TopLevelState.MENUSTATE, MenuState.INGAME);
+        } else if (currentState == GamePlayState.INGAME) {
+            executeInGameLogic();
+        } else if (currentState == GamePlayState.FINISHEDGAME) {
+            executeGameCompletedLogic();
+        }
+    }
+
     /**
      * Draws the specific GamePlayState that the user is currently
      * found in. The user can be in one of the following options during
@@ -73,49 +125,42 @@ public class GamePlayManager extends GameState implements Serializable {
         GamePlayState currentState = player.getCurrentGamePlayState();
 
         if (currentState == GamePlayState.GAMEOVER) {
-            executeGameOverStateLogic(g);
-        } else if (currentState == GamePlayState.PAUSE) {
-            gsm.setState(TopLevelState.MENUSTATE, MenuState.INGAME);
+            g.setColor(titleColor);
+            g.setFont(titleFont);
+            g.drawString("Game Over", 100, 200);
         } else if (currentState == GamePlayState.INGAME) {
-            executeInGameLogic(g);
+            drawInGame(g);
         } else if (currentState == GamePlayState.FINISHEDGAME) {
-            executeGameCompletedLogic(g);
+            g.setColor(titleColor);
+            g.setFont(titleFont);
+            g.drawString("Congratulations!", 80, 200);
+            g.setColor(titleColor);
+            g.setFont(subTitleFont);
+            g.drawString("All your bases are belong to us.", 70, 250);
         }
     }
 
     /**
      * This method gets called once the player has completed all 60 levels
-     * of the game (50 stages + 10 bonus stages).
-     * @param g The Graphics2D object where the endgame notification is drawn.
+     * of the game (50 stages + 10 bonus stages). It redirects to the main menu
+     * once the endgame notification has been displayed.
      */
-    private void executeGameCompletedLogic(Graphics2D g) {
-        g.setColor(titleColor);
-        g.setFont(titleFont);
-        g.drawString("Congratulations!", 80, 200);
-        g.setColor(titleColor);
-        g.setFont(subTitleFont);
-        g.drawString("All your bases are belong to us.", 70, 250);
-
+    private void executeGameCompletedLogic() {
         boolean redirectToMainMenu = notificationDurationCountDown();
-        if (redirectToMainMenu) {
+        if (redirectToMainMenu && gsm != null) {
             gsm.setState(TopLevelState.MENUSTATE, MenuState.GAMEOVER);
         }
     }
 
     /**
      * This method gets called once the player has lost all the lives given
-     * to him/her. It renders an endgame notification and then redirects to the
-     * GameOver menu.
-     * @param g The Graphics2D object where all the GameOver notification is drawn.
+     * to him/her. It redirects to the GameOver menu once the endgame notification
+     * has been displayed.
      */
-    private void executeGameOverStateLogic(Graphics2D g) {
-
-        g.setColor(titleColor);
-        g.setFont(titleFont);
-        g.drawString("Game Over", 100, 200);
+    private void executeGameOverStateLogic() {
 
         boolean redirectToGameOverMenu = notificationDurationCountDown();
-        if (redirectToGameOverMenu) {
+        if (redirectToGameOverMenu && gsm != null) {
 
             //We update the number of games played.
             try {
@@ -133,13 +178,12 @@ public class GamePlayManager extends GameState implements Serializable {
     /**
      * Executes the logic tied to the current GamePlayState. It triggers
      * stage transitions, and notifications. And it also calls the methods
-     * necessary to draw all the objects present during GamePlay.
-     * @param g
+     * necessary to update the models of all the objects present during GamePlay.
      */
-    public void executeInGameLogic(Graphics2D g) {
+    public void executeInGameLogic() {
 
         if (tileMap.isNextStageTransition()) {
-            inStageTransition(g);
+            inStageTransition();
             return;
         }
 
@@ -148,64 +192,118 @@ public class GamePlayManager extends GameState implements Serializable {
             initiateTimeToSpawnEnemy();
         }
 
-        // Fundamental calls necessary to update the models of the game
+        // Fundamental calls necessary to update the models of the game. The duration
+        // of each of them is measured by the profiler.
+        TickProfiler profiler = getProfiler();
+        player.markTickStart();
+        long start = profiler.start();
         player.move();
+        profiler.stop(TickPhase.PLAYER_MOVE, start);
+
+        start = profiler.start();
         tileMap.moveEnemies(player.getPosX(), player.getPosY(), player.isVisible());
+        profiler.stop(TickPhase.MOVE_ENEMIES, start);
+
+        start = profiler.start();
         checkCollisions();
+        profiler.stop(TickPhase.CHECK_COLLISIONS, start);
+
+        start = profiler.start();
         updateCamera();
         camera.adjustPosition();
+        profiler.stop(TickPhase.UPDATE_CAMERA, start);
 
-        // The camera is moving when the player has more than 15 tile columns
-        // on his left and right sides.
-        if (cameraMoving) {
+        // Advance the timers of the bombs, flames, enemies and powerUps.
+        player.updateBombs();
+        tileMap.updateObjects();
+        player.update();
+    }
 
-            // The g.translate method shifts the JPanel so all the objects move with
-            // the player. In this case, the camera is actively following the player.
-            g.translate(camera.getPosX(), 0);
-            player.drawBombs(g);
-            tileMap.drawObjects(g);
-            player.draw(g);
-            g.translate(-camera.getPosX(), 0);
+    /**
+     * Draws all the objects present during GamePlay, or the stage transition
+     * notification if the player is advancing to the next stage.
+     * @param g The Graphics2D object where all the objects are drawn.
+     */
+    private void drawInGame(Graphics2D g) {
 
-        } else {
+        if (tileMap.isNextStageTransition()) {
+            g.setColor(titleColor);
+            g.setFont(titleFont);
+            g.drawString("Next Stage!", 100, 200);
+            return;
+        }
 
-            // The secondCameraRegion refers to when the player has less than 15 tile columns
-            // on its right side, which means that the camera isn't moving.
-            // In this case we snap the camera to a position encompassing all of the right
-            // side of the board.
-            if (secondCameraRegion) {
-                g.translate(-(tileMap.TOTAL_WIDTH_OF_COLUMNS - 15 * tileMap.TILE_SIDE_LENGTH), 0);
-                player.drawBombs(g);
-                tileMap.drawObjects(g);
-                player.draw(g);
-                g.translate(tileMap.TOTAL_WIDTH_OF_COLUMNS - 15 * tileMap.TILE_SIDE_LENGTH, 0);
-            } else {
-                // The player has less than 15 tile columns on its left side. In this case we do
-                // not need to adjust the camera position; it is fixed on the left side of the board.
-                player.drawBombs(g);
-                tileMap.drawObjects(g);
-                player.draw(g);
-            }
+        // The g.translate method shifts the JPanel so that the part of the grid seen
+        // by the camera is drawn on the screen. Objects outside of it are not drawn.
+        TickProfiler profiler = getProfiler();
+        Viewport viewport = camera.getViewport(cameraMoving, secondCameraRegion, interpolation);
+        long start = profiler.start();
+        g.translate(-viewport.getMinX(), 0);
+        drawObjects(g, viewport);
+        g.translate(viewport.getMinX(), 0);
+        profiler.stop(TickPhase.DRAW_OBJECTS, start);
+
+        start = profiler.start();
+        drawHUD(g, tileMap.isBonusStage(), tileMap.getTimeToHarderSetSpawn());
+        profiler.stop(TickPhase.DRAW_HUD, start);
+
+        if (profilerOverlayVisible) drawProfilerOverlay(g, profiler);
+    }
 
+    /**
+     * Get the profiler measuring the phases of the ticks and frames of this game, created the first time
+     * it is needed. Only the profiler of a game attached to a GameStateManager is exposed through JMX, the
+     * headless games keep theirs to themselves.
+     * @return The TickProfiler of the game.
+     */
+    public TickProfiler getProfiler() {
+        if (profiler == null) {
+            profiler = new TickProfiler();
+            if (gsm != null) profiler.register();
         }
-        drawHUD(g, tileMap.isBonusStage(), tileMap.getTimeToHarderSetSpawn());
+        return profiler;
+    }
+
+    /**
+     * Draws the median, 99th percentile and maximum duration of each phase
+     * measured by the profiler, below the heads-up display.
+     * @param g The Graphics2D object where GamePlay is drawn.
+     * @param profiler The profiler holding the durations of the phases.
+     */
+    private void drawProfilerOverlay(Graphics2D g, TickProfiler profiler) {
+        g.setColor(hudColor);
+        g.setFont(profilerFont);
+        int posY = 40;
+        g.drawString("phase (us)              p50      p99      max", 10, posY);
+        for (TickPhase phase : TickPhase.values()) {
+            posY += 12;
+            g.drawString(String.format("%-20s %8.1f %8.1f %8.1f", phase.getLabel(),
+                    profiler.getPercentileMicros(phase, 50), profiler.getPercentileMicros(phase, 99),
+                    profiler.getMaxMicros(phase)), 10, posY);
+        }
+    }
+
+    /**
+     * Draws the bombs, the objects contained in the tileMap and the player, in that order.
+     * @param g The Graphics2D object where all the objects are drawn.
+     * @param viewport The part of the grid currently visible on the screen.
+     */
+    private void drawObjects(Graphics2D g, Viewport viewport) {
+        player.drawBombs(g, viewport);
+        tileMap.drawObjects(g, interpolation, viewport);
+        player.draw(g, interpolation);
     }
 
     /**
-     * This method gets called once the player has completed a stage. It draws a
-     * transition screen notifying the player that they are advancing to the next
-     * stage.
-     * @param g The Graphics2D object where all the StageTransition notification is drawn.
+     * This method gets called once the player has completed a stage. It counts down
+     * the duration of the transition screen notifying the player that they are advancing
+     * to the next stage.
      */
-    public void inStageTransition(Graphics2D g) {
+    public void inStageTransition() {
         boolean redirectToNextStage = notificationDurationCountDown();
 
         if (redirectToNextStage) {
             tileMap.setNextStageTransition(false);
-        } else {
-            g.setColor(titleColor);
-            g.setFont(titleFont);
-            g.drawString("Next Stage!", 100, 200);
         }
     }
 
@@ -300,7 +398,6 @@ public class GamePlayManager extends GameState implements Serializable {
      * new frame is drawn.
      */
     public void checkCollisions() {
-        Rectangle playerRectangle = player.getBounds();
         GameObject[][] objects = tileMap.getWalls();
         ArrayList<Bomb> bombsPlaced = player.getBombsPlaced();
         ArrayList<Enemy> enemies = tileMap.getEnemies();
@@ -309,7 +406,6 @@ public class GamePlayManager extends GameState implements Serializable {
         Door door = tileMap.getDoor();
         collisionManager.handleCollisions(
                 objects,
-                playerRectangle,
                 enemies,
                 bombsPlaced,
                 flames,
@@ -327,6 +423,11 @@ public class GamePlayManager extends GameState implements Serializable {
      */
     @Override
     public void keyPressed(int k) {
+        if (k == KeyEvent.VK_F4) {
+            profilerOverlayVisible = !profilerOverlayVisible;
+            getProfiler().setEnabled(profilerOverlayVisible);
+            return;
+        }
         this.player.keyPressed(k);
     }
 
@@ -350,6 +451,20 @@ public class GamePlayManager extends GameState implements Serializable {
         this.player.setCurrentGamePlayState(GamePlayState.INGAME);
     }
 
+    /**
+     * @return The Player object controlled by the user in this instance of GamePlayManager.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return The TileMap containing the objects of the stage currently played.
+     */
+    public TileMap getTileMap() {
+        return tileMap;
+    }
+
     /**
      * Retrieves the String associated with this instance of GamePlayManager that
      * is assigned right before serialization.
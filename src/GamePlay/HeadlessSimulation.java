@@ -0,0 +1,129 @@
+package GamePlay;
+
+import SystemController.SoundController;
+
+import java.awt.event.KeyEvent;
+import java.util.Random;
+
+/**
+ * Runs the gameplay models (TileMap, CollisionManager, enemies and their artificial intelligence)
+ * without any window, sprite or sound. The simulation advances as fast as the machine allows
+ * instead of at the 30 ticks per second used when the game is played, which makes it suitable for
+ * balance and regression testing over large numbers of stages.
+ *
+ * The player is driven by a simple random input policy, seeded so that two simulations created with
+ * the same seed behave the same way. Every simulation has its own random number generators, so this
+ * holds even when several simulations run at the same time.
+ */
+public class HeadlessSimulation {
+
+    private static final int[] MOVEMENT_KEYS = {KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT};
+    private static final int TICKS_BETWEEN_DECISIONS = 15;
+    private static final float BOMB_PROBABILITY = 0.2f;
+
+    private GamePlayManager gamePlayManager;
+    private Random inputRandom;
+    private int heldKey = -1;
+    private long ticksSimulated = 0;
+
+    /**
+     * Create a headless simulation of the given stage. Sounds are muted, and the random number
+     * generators of the game and of the input are seeded so that the simulation can be reproduced.
+     * @param selectedStage Integer specifying the stage to simulate.
+     * @param seed Seed of the random number generators used by the spawner, the enemies and the simulated input.
+     */
+    public HeadlessSimulation(int selectedStage, long seed) {
+        SoundController.setMuted(true);
+        this.inputRandom = new Random(seed);
+        this.gamePlayManager = new GamePlayManager(selectedStage, new Random(seed));
+    }
+
+    /**
+     * Advance the simulation by a single tick, feeding the simulated input to the player first.
+     */
+    public void tick() {
+        if (ticksSimulated % TICKS_BETWEEN_DECISIONS == 0) {
+            simulateInput();
+        }
+        gamePlayManager.update();
+        ticksSimulated++;
+    }
+
+    /**
+     * Simulate the current stage until it is completed, the game is over, or the maximum number
+     * of ticks is reached.
+     * @param maxTicks Maximum number of ticks to simulate.
+     * @return The number of ticks that were simulated.
+     */
+    public int runStage(int maxTicks) {
+        int stage = gamePlayManager.getTileMap().getCurrentStageNumber();
+        int ticks = 0;
+        while (ticks < maxTicks && !isGameFinished()
+                && gamePlayManager.getTileMap().getCurrentStageNumber() == stage) {
+            tick();
+            ticks++;
+        }
+        return ticks;
+    }
+
+    /**
+     * @return True if the player lost all its lives or completed the last stage.
+     */
+    public boolean isGameFinished() {
+        GamePlayState state = gamePlayManager.getPlayer().getCurrentGamePlayState();
+        return state == GamePlayState.GAMEOVER || state == GamePlayState.FINISHEDGAME;
+    }
+
+    /**
+     * Randomly change the direction of movement of the player and occasionally drop a bomb.
+     */
+    private void simulateInput() {
+        if (heldKey != -1) {
+            gamePlayManager.keyReleased(heldKey);
+        }
+        heldKey = MOVEMENT_KEYS[inputRandom.nextInt(MOVEMENT_KEYS.length)];
+        gamePlayManager.keyPressed(heldKey);
+
+        if (inputRandom.nextFloat() < BOMB_PROBABILITY) {
+            gamePlayManager.keyPressed(KeyEvent.VK_X);
+            gamePlayManager.keyReleased(KeyEvent.VK_X);
+        }
+    }
+
+    /**
+     * @return The GamePlayManager being simulated.
+     */
+    public GamePlayManager getGamePlayManager() {
+        return gamePlayManager;
+    }
+
+    /**
+     * @return The total number of ticks simulated so far.
+     */
+    public long getTicksSimulated() {
+        return ticksSimulated;
+    }
+
+    /**
+     * Simulate a number of stages headlessly and print the throughput of the simulation.
+     * Usage: HeadlessSimulation [stages] [ticksPerStage] [seed]
+     * @param args Optional number of stages, maximum ticks per stage and seed.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int stages = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int ticksPerStage = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+
+        long totalTicks = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < stages; i++) {
+            HeadlessSimulation simulation = new HeadlessSimulation(i % 10 + 1, seed + i);
+            totalTicks += simulation.runStage(ticksPerStage);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Simulated %d stages (%d ticks) in %.2f s: %.0f stages/s, %.0f ticks/s%n",
+                stages, totalTicks, seconds, stages / seconds, totalTicks / seconds);
+    }
+}
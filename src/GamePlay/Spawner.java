@@ -15,7 +15,7 @@ import java.util.Random;
  */
 public class Spawner implements Serializable {
 
-    private Random randomGenerator = new Random();
+    private Random randomGenerator;
     private ArrayList<Coordinate> possibleEnemyCoordinates;
     private ArrayList<Coordinate> possiblePowerUpAndDoorCoordinates;
     private StageData stageData;
@@ -31,6 +31,19 @@ public class Spawner implements Serializable {
      *                  stage is a bonus stage or not.
      */
     public Spawner(StageData stageData) {
+        this(stageData, new Random());
+    }
+
+    /**
+     * Initializes a spawner object drawing the positions of the objects from the random number
+     * generator of a game, so the whole game can be reproduced from the seed of that generator.
+     * @param stageData Object specifying the types of enemies present
+     *                  on the current stage and whether the current
+     *                  stage is a bonus stage or not.
+     * @param random The Random instance of the game.
+     */
+    public Spawner(StageData stageData, Random random) {
+        this.randomGenerator = random;
         int numRows = 13;
         int numCols = 31;
         gridLayout = new GameObject[numCols][numRows];
@@ -127,7 +140,7 @@ public class Spawner implements Serializable {
                 int row = positionOnGrid.getRow();
                 int col = positionOnGrid.getCol();
 
-                enemies.add(new Enemy(onlyTypePresent, col * TileMap.TILE_SIDE_LENGTH, row * TileMap.TILE_SIDE_LENGTH));
+                enemies.add(new Enemy(onlyTypePresent, col * TileMap.TILE_SIDE_LENGTH, row * TileMap.TILE_SIDE_LENGTH, randomGenerator));
             }
             return enemies;
         }
@@ -144,7 +157,7 @@ public class Spawner implements Serializable {
                 int row = positionOnGrid.getRow();
                 int col = positionOnGrid.getCol();
 
-                enemies.add(new Enemy(currentSetType, col * TileMap.TILE_SIDE_LENGTH, row * TileMap.TILE_SIDE_LENGTH));
+                enemies.add(new Enemy(currentSetType, col * TileMap.TILE_SIDE_LENGTH, row * TileMap.TILE_SIDE_LENGTH, randomGenerator));
             }
 
         }
@@ -169,7 +182,7 @@ public class Spawner implements Serializable {
 
         // We spawn 8 harder enemies than the hardest type present on the grid.
         for (int i = 0; i < 8; i++) {
-            enemies.add(new Enemy(harderEnemyType, posX, posY));
+            enemies.add(new Enemy(harderEnemyType, posX, posY, randomGenerator));
         }
 
         return enemies;
@@ -196,7 +209,7 @@ public class Spawner implements Serializable {
             spawnCoordinate = getRandomCoordinateFromSet(possibleEnemyCoordinates);
             int row = spawnCoordinate.getRow();
             int col = spawnCoordinate.getCol();
-            enemies.add(new Enemy(harderEnemyType, col * TileMap.TILE_SIDE_LENGTH + 1, row * TileMap.TILE_SIDE_LENGTH + 1));
+            enemies.add(new Enemy(harderEnemyType, col * TileMap.TILE_SIDE_LENGTH + 1, row * TileMap.TILE_SIDE_LENGTH + 1, randomGenerator));
 
         }
         return enemies;
@@ -209,6 +222,16 @@ public class Spawner implements Serializable {
      * @return A new enemy object to be placed on the grid.
      */
     public Enemy createBonusStageEnemy() {
+        return createBonusStageEnemy(null);
+    }
+
+    /**
+     * Used to generate a new enemy of the unique type present in a bonus stage, reusing
+     * an enemy released to a pool when there is one.
+     * @param enemyPool The pool the enemy is acquired from, or null to create a new enemy.
+     * @return An enemy object to be placed on the grid.
+     */
+    public Enemy createBonusStageEnemy(ObjectPool<Enemy> enemyPool) {
         Coordinate positionOnGrid = getRandomCoordinateFromSet(possibleEnemyCoordinates);
         int row = positionOnGrid.getRow();
         int col = positionOnGrid.getCol();
@@ -216,7 +239,11 @@ public class Spawner implements Serializable {
         //In the case of a bonus stage, the enemiesPresent array will only contain one enemySet
         //We retrieve the only type to create new enemies of that same type.
         EnemyType type = stageData.getEnemiesPresent()[0].getEnemyType();
-        Enemy bonusEnemy = new Enemy(type, col * TileMap.TILE_SIDE_LENGTH, row * TileMap.TILE_SIDE_LENGTH);
+        if (enemyPool == null) {
+            return new Enemy(type, col * TileMap.TILE_SIDE_LENGTH, row * TileMap.TILE_SIDE_LENGTH, randomGenerator);
+        }
+        Enemy bonusEnemy = enemyPool.acquire();
+        bonusEnemy.reset(type, col * TileMap.TILE_SIDE_LENGTH, row * TileMap.TILE_SIDE_LENGTH, randomGenerator);
         return bonusEnemy;
     }
 
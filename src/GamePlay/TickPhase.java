@@ -0,0 +1,30 @@
+package GamePlay;
+
+/**
+ * Phases of a gameplay tick and of a gameplay frame whose duration is measured by the TickProfiler.
+ */
+public enum TickPhase {
+
+    PLAYER_MOVE("player.move"),
+    MOVE_ENEMIES("tileMap.moveEnemies"),
+    CHECK_COLLISIONS("checkCollisions"),
+    UPDATE_CAMERA("updateCamera"),
+    DRAW_OBJECTS("drawObjects"),
+    DRAW_HUD("drawHUD");
+
+    private final String label;
+
+    /**
+     * @param label Name of the phase as displayed in the overlay and through JMX.
+     */
+    TickPhase(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return Name of the phase as displayed in the overlay and through JMX.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,167 @@
+package GamePlay;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records the duration of each phase of the gameplay ticks and frames over a rolling window of the
+ * most recent samples, and computes the median, 99th percentile and maximum of each phase.
+ * Every game has its own profiler, so games running at the same time neither contend for it nor mix
+ * their samples. The profiler of the interactive game is exposed through the platform MBean server.
+ * Nothing is recorded until the profiler is enabled, from JMX or by showing the overlay.
+ *
+ * Phases are measured as follows:
+ * <pre>
+ *     long start = profiler.start();
+ *     player.move();
+ *     profiler.stop(TickPhase.PLAYER_MOVE, start);
+ * </pre>
+ */
+public class TickProfiler implements TickProfilerMXBean {
+
+    public static final int WINDOW_SIZE = 256;
+    public static final String OBJECT_NAME = "Bomberman:type=TickProfiler";
+    //Returned by start() when the profiler is disabled, so that the matching stop() is ignored.
+    private static final long NOT_MEASURED = Long.MIN_VALUE;
+
+    private final long[][] samples = new long[TickPhase.values().length][WINDOW_SIZE];
+    private final int[] counts = new int[TickPhase.values().length];
+    private final int[] nextSample = new int[TickPhase.values().length];
+    private volatile boolean enabled = false;
+
+    /**
+     * Register the profiler with the platform MBean server, in place of the profiler of a previous game.
+     */
+    public void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+            server.registerMBean(this, name);
+        } catch (Exception e) {
+            //The profiler still works without JMX.
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Get the timestamp marking the beginning of a phase.
+     * @return The current value of System.nanoTime, or a sentinel value when the profiler is disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : NOT_MEASURED;
+    }
+
+    /**
+     * Record the duration of a phase that began at the given timestamp.
+     * @param phase The phase that just completed.
+     * @param start The value returned by start() when the phase began.
+     */
+    public void stop(TickPhase phase, long start) {
+        if (!enabled || start == NOT_MEASURED) return;
+        record(phase, System.nanoTime() - start);
+    }
+
+    /**
+     * Add a duration to the rolling window of a phase.
+     * @param phase The phase measured.
+     * @param durationNanos Duration of the phase in nanoseconds.
+     */
+    public synchronized void record(TickPhase phase, long durationNanos) {
+        int index = phase.ordinal();
+        samples[index][nextSample[index]] = durationNanos;
+        nextSample[index] = (nextSample[index] + 1) % WINDOW_SIZE;
+        if (counts[index] < WINDOW_SIZE) counts[index]++;
+    }
+
+    /**
+     * Get a percentile of the durations of a phase over the rolling window.
+     * @param phase The phase measured.
+     * @param percentile The percentile, between 0 and 100.
+     * @return The duration in microseconds, or 0 if the phase was never measured.
+     */
+    public synchronized double getPercentileMicros(TickPhase phase, double percentile) {
+        int index = phase.ordinal();
+        int count = counts[index];
+        if (count == 0) return 0;
+        long[] sorted = Arrays.copyOf(samples[index], count);
+        Arrays.sort(sorted);
+        //Nearest-rank percentile.
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(0, Math.min(count, rank) - 1)] / 1000.0;
+    }
+
+    /**
+     * Get the longest duration of a phase over the rolling window.
+     * @param phase The phase measured.
+     * @return The duration in microseconds, or 0 if the phase was never measured.
+     */
+    public synchronized double getMaxMicros(TickPhase phase) {
+        int index = phase.ordinal();
+        long max = 0;
+        for (int i = 0; i < counts[index]; i++) max = Math.max(max, samples[index][i]);
+        return max / 1000.0;
+    }
+
+    /**
+     * @return The number of samples held in the rolling window of a phase.
+     */
+    public synchronized int getSampleCount(TickPhase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Map<String, Double> getP50Micros() {
+        return percentilePerPhase(50);
+    }
+
+    @Override
+    public Map<String, Double> getP99Micros() {
+        return percentilePerPhase(99);
+    }
+
+    @Override
+    public Map<String, Double> getMaxMicros() {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        for (TickPhase phase : TickPhase.values()) {
+            result.put(phase.getLabel(), getMaxMicros(phase));
+        }
+        return result;
+    }
+
+    /**
+     * Discard every sample recorded so far.
+     */
+    @Override
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(nextSample, 0);
+    }
+
+    /**
+     * Compute a percentile for every phase.
+     * @param percentile The percentile, between 0 and 100.
+     * @return The durations in microseconds keyed by the label of the phases.
+     */
+    private Map<String, Double> percentilePerPhase(double percentile) {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        for (TickPhase phase : TickPhase.values()) {
+            result.put(phase.getLabel(), getPercentileMicros(phase, percentile));
+        }
+        return result;
+    }
+}
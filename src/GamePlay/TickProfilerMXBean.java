@@ -0,0 +1,23 @@
+package GamePlay;
+
+import java.util.Map;
+
+/**
+ * Management interface of the TickProfiler, registered with the platform MBean server so that the
+ * duration of the gameplay phases can be inspected with tools such as JConsole or VisualVM.
+ * The durations are given in microseconds and keyed by the label of the phase.
+ */
+public interface TickProfilerMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Double> getP50Micros();
+
+    Map<String, Double> getP99Micros();
+
+    Map<String, Double> getMaxMicros();
+
+    void reset();
+}
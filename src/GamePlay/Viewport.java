@@ -0,0 +1,61 @@
+package GamePlay;
+
+import GameObject.TileMap;
+
+/**
+ * Horizontal window of the grid that is visible on the screen during a frame. Used to skip
+ * the rendering of the objects that are outside of the camera's view.
+ */
+public class Viewport {
+
+    private final int minX;
+    private final int maxX;
+
+    /**
+     * Create a viewport covering the pixels of the grid in [minX, minX + width).
+     * @param minX x coordinate on the grid of the left edge of the screen.
+     * @param width Width of the screen in pixels.
+     */
+    public Viewport(int minX, int width) {
+        this.minX = minX;
+        this.maxX = minX + width;
+    }
+
+    /**
+     * Determine whether an object spanning the given horizontal interval can be seen.
+     * @param posX x coordinate of the left edge of the object.
+     * @param width Width of the object.
+     * @return True if some part of the object is within the viewport.
+     */
+    public boolean isVisible(int posX, int width) {
+        return posX + width > minX && posX < maxX;
+    }
+
+    /**
+     * @return x coordinate on the grid of the left edge of the viewport.
+     */
+    public int getMinX() {
+        return minX;
+    }
+
+    /**
+     * @return x coordinate on the grid right after the right edge of the viewport.
+     */
+    public int getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * @return The first column of tiles that is at least partially visible.
+     */
+    public int getFirstVisibleCol() {
+        return Math.max(0, minX) / TileMap.TILE_SIDE_LENGTH;
+    }
+
+    /**
+     * @return The last column of tiles that is at least partially visible.
+     */
+    public int getLastVisibleCol() {
+        return Math.min(TileMap.NUM_OF_COLS - 1, Math.max(0, maxX - 1) / TileMap.TILE_SIDE_LENGTH);
+    }
+}
@@ -93,6 +93,14 @@ public class MenuManager extends GameState {
         leaderboardMenu.setPreviousMenuState(state);
     }
 
+    /**
+     * Menus only react to user input, so there is no model to advance between frames.
+     */
+    @Override
+    public void update() {
+
+    }
+
     /**
      * Draws the current menu
      * @param g Graphics object corresponding to the JPanel where the game play state is rendered
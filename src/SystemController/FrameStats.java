@@ -0,0 +1,139 @@
+package SystemController;
+
+/**
+ * Keeps statistics about the frames presented on the screen over a rolling window of the most recent
+ * frames: the time spent presenting a frame (page flip), the jitter of the interval between two frames
+ * compared to the targeted frame duration, and the number of frames that missed their deadline.
+ */
+public class FrameStats {
+
+    public static final int WINDOW_SIZE = 128;
+
+    private final long targetFrameNanos;
+    private final long[] presentNanos = new long[WINDOW_SIZE];
+    private final long[] intervalNanos = new long[WINDOW_SIZE];
+    private int count;
+    private int next;
+    private long lastPresentEnd = -1;
+    private long totalFrames;
+    private long totalMissedDeadlines;
+
+    /**
+     * Create an empty set of statistics.
+     * @param targetFrameNanos Targeted duration of a frame in nanoseconds. A frame presented more than
+     *                         half a frame later than this after the previous one missed its deadline.
+     */
+    public FrameStats(long targetFrameNanos) {
+        this.targetFrameNanos = targetFrameNanos;
+    }
+
+    /**
+     * Record a frame that was just presented.
+     * @param presentStart Value of System.nanoTime right before the frame was presented.
+     * @param presentEnd Value of System.nanoTime right after the frame was presented.
+     */
+    public void recordFrame(long presentStart, long presentEnd) {
+        //The first frame has no previous frame to be compared with.
+        if (lastPresentEnd >= 0) {
+            long interval = presentEnd - lastPresentEnd;
+            presentNanos[next] = presentEnd - presentStart;
+            intervalNanos[next] = interval;
+            next = (next + 1) % WINDOW_SIZE;
+            if (count < WINDOW_SIZE) count++;
+            totalFrames++;
+            if (isMissedDeadline(interval)) totalMissedDeadlines++;
+        }
+        lastPresentEnd = presentEnd;
+    }
+
+    /**
+     * @return Number of frames currently held by the rolling window.
+     */
+    public int getFrameCount() {
+        return count;
+    }
+
+    /**
+     * @return Average number of frames per second over the rolling window.
+     */
+    public double getFramesPerSecond() {
+        if (count == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < count; i++) total += intervalNanos[i];
+        return total == 0 ? 0 : count * 1e9 / total;
+    }
+
+    /**
+     * @return Average time in milliseconds spent presenting a frame over the rolling window.
+     */
+    public double getAveragePresentMillis() {
+        if (count == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < count; i++) total += presentNanos[i];
+        return total / (count * 1e6);
+    }
+
+    /**
+     * @return Longest time in milliseconds spent presenting a frame over the rolling window.
+     */
+    public double getMaxPresentMillis() {
+        long max = 0;
+        for (int i = 0; i < count; i++) max = Math.max(max, presentNanos[i]);
+        return max / 1e6;
+    }
+
+    /**
+     * @return Average absolute difference in milliseconds between the interval separating two frames
+     * and the targeted frame duration, over the rolling window.
+     */
+    public double getJitterMillis() {
+        if (count == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < count; i++) total += Math.abs(intervalNanos[i] - targetFrameNanos);
+        return total / (count * 1e6);
+    }
+
+    /**
+     * @return Number of frames in the rolling window that missed their deadline.
+     */
+    public int getMissedDeadlines() {
+        int missed = 0;
+        for (int i = 0; i < count; i++) {
+            if (isMissedDeadline(intervalNanos[i])) missed++;
+        }
+        return missed;
+    }
+
+    /**
+     * @return Number of frames that missed their deadline since the statistics were created.
+     */
+    public long getTotalMissedDeadlines() {
+        return totalMissedDeadlines;
+    }
+
+    /**
+     * @return Number of frames recorded since the statistics were created.
+     */
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+
+    /**
+     * Determine whether a frame was presented too late.
+     * @param interval Time elapsed since the previous frame was presented.
+     * @return True if the frame was presented more than half a frame after its deadline.
+     */
+    private boolean isMissedDeadline(long interval) {
+        return interval > targetFrameNanos + targetFrameNanos / 2;
+    }
+
+    /**
+     * @return A one line summary of the statistics, used by the debug overlay.
+     */
+    @Override
+    public String toString() {
+        return String.format("%.1f fps  present %.2f/%.2f ms  jitter %.2f ms  missed %d/%d",
+                getFramesPerSecond(), getAveragePresentMillis(), getMaxPresentMillis(), getJitterMillis(),
+                getMissedDeadlines(), count);
+    }
+}
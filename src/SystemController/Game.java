@@ -67,11 +67,13 @@ public class Game {
         }
         JFrame window = new JFrame("Bomberman");
         //Start the single thread of the application.
-        window.setContentPane(new GameController());
+        GameController gameController = new GameController();
+        window.add(gameController);
         window.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         window.setResizable(false);
         window.pack();
         window.setVisible(true);
+        gameController.requestFocus();
 
     }
 
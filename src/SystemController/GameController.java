@@ -3,29 +3,44 @@
  */
 package SystemController;
 
-import javax.swing.JPanel;
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.awt.event.*;
+import java.awt.image.BufferStrategy;
 
 /**
  * GameController manages the single thread of the application, and it
  * trickles user inputs to the corresponding game state the user
- * is in. It also sets up the top-most visual layer of the application.
+ * is in. It also sets up the top-most visual layer of the application, which is
+ * actively rendered through a page flipping BufferStrategy.
  */
-public class GameController extends JPanel implements Runnable, KeyListener {
+public class GameController extends Canvas implements Runnable, KeyListener {
 
     //screen size attributes
     public static final int WIDTH = 480;
     public static final int HEIGHT = 416;
 
+    //simulation and rendering rates
+    public static final int TICKS_PER_SECOND = 30;
+    public static final int MAX_FRAMES_PER_SECOND = 60;
+    private static final long NANOS_PER_TICK = 1000000000L / TICKS_PER_SECOND;
+    private static final long NANOS_PER_FRAME = 1000000000L / MAX_FRAMES_PER_SECOND;
+    //Maximum number of ticks we run to catch up before rendering a frame. Past this
+    //limit the remaining backlog is dropped so that a long stall cannot freeze the game.
+    private static final int MAX_TICKS_PER_FRAME = 5;
+    //Below this amount of time we stop sleeping and yield until the deadline, since
+    //Thread.sleep is not precise enough to hit it.
+    private static final long SPIN_THRESHOLD_NANOS = 2000000L;
+
     private Thread thread;
-    private boolean running;
-    private int FPS = 30;
-    private long targetTime = 1000 / FPS;
+    private volatile boolean running;
+
+    private BufferStrategy bufferStrategy;
+    private Color backgroundColor = new Color(10, 176, 0);
+    private Color statsColor = new Color(255, 255, 255);
+    private Font statsFont = new Font("Monospaced", Font.PLAIN, 10);
 
-    private BufferedImage image;
-    private Graphics2D g;
+    private FrameStats frameStats = new FrameStats(NANOS_PER_FRAME);
+    private volatile boolean frameStatsVisible = false;
 
     private GameStateManager gsm;
 
@@ -38,6 +53,8 @@ public class GameController extends JPanel implements Runnable, KeyListener {
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         setFocusable(true);
         setBackground(Color.BLACK);
+        //We render actively from the game thread, the repaint events of AWT are not needed.
+        setIgnoreRepaint(true);
         requestFocus();
     }
 
@@ -56,40 +73,83 @@ public class GameController extends JPanel implements Runnable, KeyListener {
 
     /**
      * Method called to start the main thread of the application.
-     * It controls the game loop that refreshes the screen at the specified
-     * frame rate.
+     * It controls the game loop, which advances the models at a fixed rate of
+     * 30 ticks per second and renders the views as often as the frame budget
+     * allows in between.
      */
     public void run() {
-        long start;
-        long elapse;
-        long wait;
+        long previousTime;
+        long currentTime;
+        long nextFrameTime;
+        long accumulator = 0;
+        int ticks;
 
         init();
+        previousTime = System.nanoTime();
+        nextFrameTime = previousTime;
 
-        //Game loop - it refreshes the views and updates the models
-        //based on the user inputs
+        //Game loop - it updates the models at a fixed timestep and refreshes the
+        //views based on the user inputs
         while (running) {
 
-            g.setPaint(new Color(10, 176,0));
-            g.fillRect(0, 0, image.getWidth(), image.getHeight() );
-
-            start = System.nanoTime();
+            //Frames are drawn on evenly spaced deadlines, the ticks that fell due while
+            //we waited are run by the accumulator below.
+            waitUntil(nextFrameTime);
+
+            currentTime = System.nanoTime();
+            accumulator += currentTime - previousTime;
+            previousTime = currentTime;
+
+            //Run one update for every tick that has elapsed since the last frame. If
+            //rendering was slow we catch up on the dropped ticks before drawing again,
+            //so the speed of gameplay does not depend on the cost of rendering.
+            ticks = 0;
+            while (accumulator >= NANOS_PER_TICK && ticks < MAX_TICKS_PER_FRAME) {
+                gsm.update();
+                accumulator -= NANOS_PER_TICK;
+                ticks++;
+            }
+            if (accumulator >= NANOS_PER_TICK) {
+                accumulator %= NANOS_PER_TICK;
+            }
 
-            //Tell the current view to update its model and render its view
-            updateAndDraw();
+            //Render the current views, interpolating the moving objects by the fraction
+            //of a tick that has elapsed since the last update.
+            render((float) accumulator / NANOS_PER_TICK);
+
+            //Frames are paced against absolute deadlines so that the error of one wait does not
+            //accumulate over the next frames. If we fell behind we skip the deadlines we missed,
+            //so the frames stay a whole number of frame periods apart and never exceed the cap.
+            nextFrameTime += NANOS_PER_FRAME;
+            long lateness = System.nanoTime() - nextFrameTime;
+            if (lateness > 0) {
+                nextFrameTime += (lateness / NANOS_PER_FRAME + 1) * NANOS_PER_FRAME;
+            }
+        }
 
-            elapse  = System.nanoTime() - start;
-            wait = Math.abs(targetTime - elapse / 1000000);
+    }
 
-            //This block is set to limit the refresh rate at to exactly 30 frames per second.
-            try {
-                Thread.sleep(wait);
-            } catch (Exception e) {
-                e.printStackTrace();
+    /**
+     * Block the game thread until System.nanoTime reaches the given deadline. We sleep
+     * while the deadline is far away and yield the processor for the last couple of
+     * milliseconds, which Thread.sleep cannot measure accurately.
+     * @param deadline Value of System.nanoTime at which the method returns.
+     */
+    private void waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        while (remaining > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                try {
+                    Thread.sleep((remaining - SPIN_THRESHOLD_NANOS) / 1000000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } else {
+                Thread.yield();
             }
-
+            remaining = deadline - System.nanoTime();
         }
-
     }
 
     /**
@@ -97,24 +157,59 @@ public class GameController extends JPanel implements Runnable, KeyListener {
      * in which fundamental state the game is in: MENU or GAMEPLAY.
      */
     private void init() {
-        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
-        g = image.createGraphics();
-        g.setPaint(new Color(0,0,200));
-        g.fillRect(0, 0, image.getWidth(), image.getHeight() );
+        createBufferStrategy(2);
+        bufferStrategy = getBufferStrategy();
         running = true;
         gsm = new GameStateManager(1);
     }
 
     /**
-     * Update the current model, and draw its corresponding view.
-     * The game state manager will trickle down the draw call to the current
-     * menu or the gamePlay state.
+     * Draw the view corresponding to the current model in the back buffer and flip it
+     * to the screen. The game state manager will trickle down the draw call to the current
+     * menu or the gamePlay state. The contents of the buffers can be lost (e.g. when the
+     * window is minimized), in which case the frame is drawn again.
+     * @param interpolation Fraction of a tick elapsed since the last update.
+     */
+    private void render(float interpolation) {
+        long presentStart;
+        do {
+            do {
+                Graphics2D g = (Graphics2D) bufferStrategy.getDrawGraphics();
+                try {
+                    g.setPaint(backgroundColor);
+                    g.fillRect(0, 0, WIDTH, HEIGHT);
+                    gsm.draw(g, interpolation);
+                    if (frameStatsVisible) drawFrameStats(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (bufferStrategy.contentsRestored());
+
+            presentStart = System.nanoTime();
+            bufferStrategy.show();
+            //Flush the rendering pipeline so that the frame is on the screen when we measure it.
+            Toolkit.getDefaultToolkit().sync();
+        } while (bufferStrategy.contentsLost());
+
+        frameStats.recordFrame(presentStart, System.nanoTime());
+    }
+
+    /**
+     * Draw the frame pacing statistics on the bottom of the screen.
+     * @param g The Graphics2D object of the back buffer.
      */
-    private void updateAndDraw() {
-        gsm.draw(g);
-        Graphics g2 = getGraphics();
-        g2.drawImage(image, 0, 0, WIDTH, HEIGHT, null);
-        g2.dispose();
+    private void drawFrameStats(Graphics2D g) {
+        g.setColor(statsColor);
+        g.setFont(statsFont);
+        g.drawString(frameStats.toString(), 5, HEIGHT - 5);
+    }
+
+    /**
+     * Get the statistics about the frames presented on the screen.
+     * @return The FrameStats of the game loop.
+     */
+    public FrameStats getFrameStats() {
+        return frameStats;
     }
 
     /**
@@ -126,6 +221,11 @@ public class GameController extends JPanel implements Runnable, KeyListener {
      */
     public void keyPressed(KeyEvent key) {
         int keyCode = key.getKeyCode();
+        //F3 toggles the display of the frame pacing statistics.
+        if (keyCode == KeyEvent.VK_F3) {
+            frameStatsVisible = !frameStatsVisible;
+            return;
+        }
         if (keyCode == KeyEvent.VK_ENTER) {
             SoundController.SELECT.play();
         }
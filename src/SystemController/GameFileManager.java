@@ -39,13 +39,11 @@ public class GameFileManager {
         // old file is replaced by the new one.
         gamePlayManager.setSaveFileName(fileName);
         try {
-            System.out.println(userName);
             FileOutputStream fileOut = new FileOutputStream(saveDirectory + userName + "/" + fileName +".ser");
             ObjectOutputStream out = new ObjectOutputStream(fileOut);
             out.writeObject(gamePlayManager);
             out.close();
             fileOut.close();
-            System.out.println("Successfully saved the game");
         } catch (IOException i) {
             System.out.println("Save Game Failed");
             i.printStackTrace();
@@ -67,7 +65,6 @@ public class GameFileManager {
             loadedGame = (GamePlayManager) in.readObject();
             in.close();
             fileIn.close();
-            System.out.println("Game loaded successfully!");
         } catch(IOException i) {
             i.printStackTrace();
             return null;
@@ -18,11 +18,20 @@ public abstract class GameState {
     protected GameStateManager gsm;
     protected MenuManager menuManager;
 
+    public abstract void update();
     public abstract void draw(Graphics2D g);
     public abstract void keyPressed(int k);
     public abstract void keyReleased(int k);
 
+    // Fraction of a tick elapsed since the last update, used to smooth the
+    // rendering of moving objects between two fixed-timestep updates.
+    protected float interpolation;
+
     public void setGameStateManager(GameStateManager gsm) {
         this.gsm = gsm;
     }
+
+    public void setInterpolation(float interpolation) {
+        this.interpolation = interpolation;
+    }
 }
@@ -71,16 +71,31 @@ public class GameStateManager {
         fileManager.saveGame(gamePlayManager, fileName);
     }
 
+    /**
+     * Advance the model of the current game state Controller by one tick.
+     * Called at a fixed rate by the game loop, independently of rendering.
+     */
+    public void update() {
+        if (currentState == TopLevelState.GAMEPLAYSTATE) {
+            gamePlayManager.update();
+        } else {
+            menuManager.update();
+        }
+    }
+
     /**
      * Call the draw method within the current game state Controller
      * at a given time
      * @param g The Graphics2D object where all the objects for
      *          both GamePlay and Menus are drawn.
+     * @param interpolation Fraction of a tick elapsed since the last update.
      */
-    public void draw(Graphics2D g) {
+    public void draw(Graphics2D g, float interpolation) {
         if (currentState == TopLevelState.GAMEPLAYSTATE) {
+            gamePlayManager.setInterpolation(interpolation);
             gamePlayManager.draw(g);
         } else {
+            menuManager.setInterpolation(interpolation);
             menuManager.draw(g);
         }
     }
@@ -7,38 +7,80 @@ import java.applet.AudioClip;
 
 /**
  * Class used to store the sound used throughout the game.
+ * The audio clips are only loaded the first time they are played, so that the game
+ * logic can run without an audio device (e.g. in a headless simulation) once the sounds are muted.
  */
-public class SoundController {
+public enum SoundController {
 
-    public static final AudioClip THEME = Applet.newAudioClip(
-            SoundController.class.getResource("/res/raw/pirates-of-the-caribbean-8-bit.wav")
-    );
+    THEME("/res/raw/pirates-of-the-caribbean-8-bit.wav"),
+    GAMEOVER("/res/raw/gameover.wav"),
+    DEATH("/res/raw/death.wav"),
+    PAUSE("/res/raw/PAUSE.wav"),
+    POWERUP("/res/raw/PowerUp.wav"),
+    BOMBEXPLODE("/res/raw/BombExplode.wav"),
+    SELECT("/res/raw/select.wav");
 
-    public static final AudioClip GAMEOVER = Applet.newAudioClip(
-            SoundController.class.getResource("/res/raw/gameover.wav")
-    );
+    private static volatile boolean muted = false;
+    private final String resourcePath;
+    private AudioClip clip;
 
-    public static final AudioClip DEATH = Applet.newAudioClip(
-            SoundController.class.getResource("/res/raw/death.wav")
-    );
+    /**
+     * Create a sound backed by the wav file at the given resource path.
+     * @param resourcePath path of the wav file in the res folder
+     */
+    SoundController(String resourcePath) {
+        this.resourcePath = resourcePath;
+    }
 
-    public static final AudioClip PAUSE = Applet.newAudioClip(
-            SoundController.class.getResource("/res/raw/PAUSE.wav")
-    );
+    /**
+     * Play the sound once.
+     */
+    public void play() {
+        if (!muted) getClip().play();
+    }
 
-    public static final AudioClip POWERUP = Applet.newAudioClip(
-            SoundController.class.getResource("/res/raw/PowerUp.wav")
-    );
+    /**
+     * Play the sound in a loop until stop is called.
+     */
+    public void loop() {
+        if (!muted) getClip().loop();
+    }
 
-    public static final AudioClip BOMBEXPLODE = Applet.newAudioClip(
-            SoundController.class.getResource("/res/raw/BombExplode.wav")
-    );
+    /**
+     * Stop the sound, if it was ever loaded.
+     */
+    public void stop() {
+        if (clip != null) clip.stop();
+    }
 
-    public static final AudioClip SELECT = Applet.newAudioClip(
-            SoundController.class.getResource("/res/raw/select.wav")
-    );
+    /**
+     * Mute or unmute every sound of the game. Muting stops the sounds currently playing.
+     * @param isMuted true to disable all sounds
+     */
+    public static void setMuted(boolean isMuted) {
+        muted = isMuted;
+        if (isMuted) {
+            for (SoundController sound : values()) {
+                sound.stop();
+            }
+        }
+    }
 
+    /**
+     * @return True if the sounds of the game are currently muted
+     */
+    public static boolean isMuted() {
+        return muted;
+    }
 
+    /**
+     * Lazily load the audio clip associated with the sound.
+     * @return the AudioClip of the sound
+     */
+    private synchronized AudioClip getClip() {
+        if (clip == null) {
+            clip = Applet.newAudioClip(SoundController.class.getResource(resourcePath));
+        }
+        return clip;
+    }
 }
-
-
@@ -0,0 +1,122 @@
+package GameObject.ArtificialIntelligence;
+
+import GameObject.Bomb;
+import GameObject.BrickWall;
+import GameObject.Flame;
+import GameObject.TileBitboard;
+import GamePlay.Coordinate;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class DangerMapTest {
+
+    private PathFinder pathFinder;
+    private ArrayList<Bomb> bombs;
+    private ArrayList<Flame> flames;
+    private TileBitboard bitboard;
+
+    @Before
+    public void setUp() {
+        pathFinder = new PathFinder();
+        bombs = new ArrayList<Bomb>();
+        flames = new ArrayList<Flame>();
+        bitboard = new TileBitboard();
+    }
+
+    @Test
+    public void testBlastOfPlacedBomb() throws Exception {
+        setBrickWall(0, 4, true);
+        bombs.add(new Bomb(toPixels(2), toPixels(0)));
+        updateDanger(2);
+
+        assertEquals("The tile of the bomb is endangered", DangerMap.BLAST_COST, pathFinder.getDangerMap().getDangerCost(index(0, 2)));
+        assertEquals("The blast reaches the radius of the bomb", DangerMap.BLAST_COST, pathFinder.getDangerMap().getDangerCost(index(0, 0)));
+        assertEquals("The blast reaches the radius of the bomb", DangerMap.BLAST_COST, pathFinder.getDangerMap().getDangerCost(index(2, 2)));
+        assertEquals("The blast does not go further than the radius", 0, pathFinder.getDangerMap().getDangerCost(index(3, 2)));
+        assertEquals("The blast stops at brick walls", 0, pathFinder.getDangerMap().getDangerCost(index(0, 4)));
+        assertEquals("Endangered tiles cost more to enter", 1 + DangerMap.BLAST_COST, pathFinder.getStepCost(index(0, 3)));
+
+        setBrickWall(0, 4, false);
+        updateDanger(2);
+        assertEquals("The blast is traced again once the brick wall is destroyed", DangerMap.BLAST_COST,
+                pathFinder.getDangerMap().getDangerCost(index(0, 4)));
+
+        bombs.get(0).setVisible(false);
+        updateDanger(2);
+        assertFalse("Exploded bombs are no longer dangerous", pathFinder.hasDanger());
+        assertEquals("Safe tiles cost 1 to enter", 1, pathFinder.getStepCost(index(0, 3)));
+    }
+
+    @Test
+    public void testFlames() throws Exception {
+        Flame flame = new Flame(toPixels(5), toPixels(4), true, toPixels(5), toPixels(4));
+        flames.add(flame);
+        updateDanger(1);
+        assertEquals("Tiles covered by flames are endangered", DangerMap.FLAME_COST,
+                pathFinder.getDangerMap().getDangerCost(index(4, 5)));
+        assertEquals("Only the tile of the flame is endangered", 0, pathFinder.getDangerMap().getDangerCost(index(4, 6)));
+
+        int graphVersion = pathFinder.getGraphVersion();
+        updateDanger(1);
+        assertEquals("Updating without changes keeps the version of the graph", graphVersion, pathFinder.getGraphVersion());
+
+        flames.remove(flame);
+        updateDanger(1);
+        assertFalse("Expired flames are no longer dangerous", pathFinder.hasDanger());
+        assertTrue("Changing the danger changes the version of the graph", pathFinder.getGraphVersion() > graphVersion);
+    }
+
+    @Test
+    public void testPathsAvoidDanger() throws Exception {
+        // The blast covers (0,1), (0,2), (0,3) and (1,2), the safe detour goes through the third row.
+        bombs.add(new Bomb(toPixels(2), toPixels(0)));
+        updateDanger(1);
+
+        ArrayList<Coordinate> path = pathFinder.aStar(index(0, 0), index(0, 4), false);
+        ArrayList<Coordinate> detour = new ArrayList<Coordinate>();
+        detour.add(new Coordinate(0, 0));
+        detour.add(new Coordinate(2, 0));
+        detour.add(new Coordinate(2, 4));
+        detour.add(new Coordinate(0, 4));
+        assertEquals("The path goes around the blast", detour, path);
+
+        DistanceField distanceField = pathFinder.getDistanceField(false);
+        distanceField.update(index(0, 4));
+        assertEquals("The distance field follows the cheapest path", 8, distanceField.getDistance(index(0, 0)));
+        assertEquals("Enemies move away from the blast", index(1, 0), distanceField.getNextTile(index(0, 0)));
+    }
+
+    @Test
+    public void testJumpPointSearchFallsBackToAStar() throws Exception {
+        pathFinder.setSearchAlgorithm(SearchAlgorithm.JUMP_POINT_SEARCH);
+        bombs.add(new Bomb(toPixels(2), toPixels(0)));
+        updateDanger(1);
+
+        ArrayList<Coordinate> path = pathFinder.findShortestPath(index(0, 0), index(0, 4), false);
+        assertEquals("The weighted search avoids the blast", new Coordinate(2, 0), path.get(1));
+    }
+
+    private void updateDanger(int bombRadius) {
+        bitboard.syncBombs(bombs, bombRadius);
+        bitboard.syncFlames(flames);
+        pathFinder.updateDanger(bitboard);
+    }
+
+    private void setBrickWall(int row, int col, boolean present) {
+        pathFinder.setObstacle(row, col, present);
+        bitboard.tileChanged(col + 1, row + 1, present ? new BrickWall(toPixels(col), toPixels(row), true, false) : null);
+    }
+
+    private int index(int row, int col) {
+        return pathFinder.toIndex(row, col);
+    }
+
+    private int toPixels(int graphTile) {
+        // The graph starts one tile away from the corner of the map.
+        return (graphTile + 1) * 32;
+    }
+}
@@ -0,0 +1,70 @@
+package GameObject.ArtificialIntelligence;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DistanceFieldTest {
+
+    private PathFinder pathFinder;
+
+    @Before
+    public void setUp() {
+        pathFinder = new PathFinder();
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        DistanceField distanceField = pathFinder.getDistanceField(false);
+        int goal = pathFinder.toIndex(0, 0);
+
+        distanceField.update(goal);
+        assertEquals("The tile of the player is at distance 0", 0, distanceField.getDistance(goal));
+        assertEquals("Distances on an open row are counted in tiles", 4, distanceField.getDistance(pathFinder.toIndex(0, 4)));
+        assertEquals("Concrete walls are never reached", DistanceField.UNREACHABLE,
+                distanceField.getDistance(pathFinder.toIndex(1, 1)));
+
+        distanceField.update(goal);
+        assertEquals("The distances are not computed again if nothing changed", 1, distanceField.getComputations());
+
+        pathFinder.setObstacle(0, 2, true);
+        distanceField.update(goal);
+        assertEquals("The distances are computed again when the graph changes", 2, distanceField.getComputations());
+        assertEquals("The brick wall forces a detour around the concrete walls", 8,
+                distanceField.getDistance(pathFinder.toIndex(0, 4)));
+
+        distanceField.update(pathFinder.toIndex(0, 4));
+        assertEquals("The distances are computed again when the player changes tile", 3, distanceField.getComputations());
+    }
+
+    @Test
+    public void testWallPassDistanceField() throws Exception {
+        pathFinder.setObstacle(0, 2, true);
+        int goal = pathFinder.toIndex(0, 0);
+
+        DistanceField wallPassDistanceField = pathFinder.getDistanceField(true);
+        assertNotSame("Enemies with wallPass use their own distance field", pathFinder.getDistanceField(false),
+                wallPassDistanceField);
+
+        wallPassDistanceField.update(goal);
+        assertEquals("Enemies with wallPass go straight through the brick wall", 4,
+                wallPassDistanceField.getDistance(pathFinder.toIndex(0, 4)));
+    }
+
+    @Test
+    public void testGetNextTile() throws Exception {
+        DistanceField distanceField = pathFinder.getDistanceField(false);
+        distanceField.update(pathFinder.toIndex(0, 0));
+
+        assertEquals("The next tile is one step closer to the player", pathFinder.toIndex(0, 3),
+                distanceField.getNextTile(pathFinder.toIndex(0, 4)));
+        assertEquals("There is no next tile once the player is reached", DistanceField.NO_TILE,
+                distanceField.getNextTile(pathFinder.toIndex(0, 0)));
+
+        // Tiles of the map are one row and one column away from the tiles of the graph.
+        pathFinder.setPlayerPosition(32, 32);
+        assertEquals("Every chaser reads the shared distance field", pathFinder.toIndex(2, 0),
+                pathFinder.getNextTileTowardsPlayer(32, 128, false));
+    }
+}
@@ -0,0 +1,129 @@
+package GameObject.ArtificialIntelligence;
+
+import GamePlay.Coordinate;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class JumpPointSearchTest {
+
+    private PathFinder pathFinder;
+
+    @Before
+    public void setUp() {
+        pathFinder = new PathFinder();
+    }
+
+    @Test
+    public void testFindPathOnClearedGrid() throws Exception {
+        int start = pathFinder.toIndex(0, 0);
+        int goal = pathFinder.toIndex(10, 28);
+        ArrayList<Coordinate> path = pathFinder.jumpPointSearch(start, goal, false);
+
+        assertEquals("The path starts on the starting tile", new Coordinate(0, 0), path.get(0));
+        assertEquals("The path ends on the destination tile", new Coordinate(10, 28), path.get(path.size() - 1));
+        assertEquals("The path is as short as the one found by A*", getLength(pathFinder.aStar(start, goal, false)),
+                getLength(path));
+        assertStraightLinks(path);
+    }
+
+    @Test
+    public void testFindPathOnRandomGrids() throws Exception {
+        Random random = new Random(17);
+        DistanceField distanceField = new DistanceField(pathFinder, false);
+
+        for (int grid = 0; grid < 50; grid++) {
+            for (int row = 0; row < pathFinder.getGraphRows(); row++) {
+                for (int col = 0; col < pathFinder.getGraphCols(); col++) {
+                    if (!pathFinder.isConcreteWall(row, col)) {
+                        pathFinder.setObstacle(row, col, random.nextInt(3) == 0);
+                    }
+                }
+            }
+            int start = pathFinder.toIndex(0, 0);
+            pathFinder.setObstacle(0, 0, false);
+            distanceField.update(start);
+
+            for (int goal = 0; goal < pathFinder.getNumOfTiles(); goal += 7) {
+                ArrayList<Coordinate> path = pathFinder.jumpPointSearch(start, goal, false);
+                int distance = distanceField.getDistance(goal);
+                if (distance == DistanceField.UNREACHABLE || distance == 0) {
+                    assertEquals("Without a path, only the starting tile is returned", 1, path.size());
+                } else {
+                    assertEquals("The path is as short as possible", distance, getLength(path));
+                    assertStraightLinks(path);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testExpandsFewerNodesThanAStar() throws Exception {
+        int start = pathFinder.toIndex(0, 0);
+        int goal = pathFinder.toIndex(10, 28);
+
+        pathFinder.setSearchAlgorithm(SearchAlgorithm.A_STAR);
+        pathFinder.findShortestPath(start, goal, false);
+        int aStarExpandedNodes = pathFinder.getLastExpandedNodes();
+
+        pathFinder.setSearchAlgorithm(SearchAlgorithm.JUMP_POINT_SEARCH);
+        pathFinder.findShortestPath(start, goal, false);
+        int jumpPointExpandedNodes = pathFinder.getLastExpandedNodes();
+
+        assertTrue("Jump Point Search expands fewer tiles than A* on an open grid",
+                jumpPointExpandedNodes < aStarExpandedNodes);
+    }
+
+    @Test
+    public void testSetSearchAlgorithm() throws Exception {
+        assertEquals("A* is used by default", SearchAlgorithm.A_STAR, pathFinder.getSearchAlgorithm());
+
+        pathFinder.findPath(32, 32, 32 * 29, 32 * 11, false);
+        assertEquals("The path is cached", 1, pathFinder.getPathCache().size());
+
+        pathFinder.setSearchAlgorithm(SearchAlgorithm.JUMP_POINT_SEARCH);
+        assertEquals("Changing the algorithm discards the cached paths", 0, pathFinder.getPathCache().size());
+
+        ArrayList<Coordinate> path = pathFinder.findPath(32, 32, 32 * 29, 32 * 11, false);
+        assertEquals("The path found by the Jump Point Search ends on the player", new Coordinate(0, 0),
+                path.get(path.size() - 1));
+    }
+
+    /**
+     * Get the number of tiles traversed by a path.
+     * @param path The path returned by a search.
+     * @return The sum of the distances between the consecutive coordinates of the path.
+     */
+    private int getLength(ArrayList<Coordinate> path) {
+        int length = 0;
+        for (int i = 1; i < path.size(); i++) {
+            length += path.get(i - 1).distanceTo(path.get(i));
+        }
+        return length;
+    }
+
+    /**
+     * Verify that the consecutive coordinates of a path lie on the same row or column, and that
+     * every tile between them is passable.
+     * @param path The path returned by a search.
+     */
+    private void assertStraightLinks(ArrayList<Coordinate> path) {
+        for (int i = 1; i < path.size(); i++) {
+            Coordinate from = path.get(i - 1);
+            Coordinate to = path.get(i);
+            assertTrue("Consecutive coordinates lie on the same row or column",
+                    from.getRow() == to.getRow() || from.getCol() == to.getCol());
+
+            int rowStep = Integer.signum(to.getRow() - from.getRow());
+            int colStep = Integer.signum(to.getCol() - from.getCol());
+            for (int row = from.getRow(), col = from.getCol(); row != to.getRow() || col != to.getCol();
+                 row += rowStep, col += colStep) {
+                assertFalse("The path does not cross obstacles", pathFinder.isObstacle(row, col));
+            }
+        }
+    }
+}
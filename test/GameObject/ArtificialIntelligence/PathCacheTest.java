@@ -0,0 +1,58 @@
+package GameObject.ArtificialIntelligence;
+
+import GamePlay.Coordinate;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class PathCacheTest {
+
+    private PathCache pathCache;
+    private ArrayList<Coordinate> path;
+
+    @Before
+    public void setUp() {
+        pathCache = new PathCache(2);
+        path = new ArrayList<Coordinate>();
+        path.add(new Coordinate(0, 0));
+        path.add(new Coordinate(2, 0));
+    }
+
+    @Test
+    public void testGetAndPut() throws Exception {
+        assertNull("A path that was never stored is not cached", pathCache.get(0, 58, false, 0));
+        assertEquals("A query that is not cached counts as a miss", 1, pathCache.getMisses());
+
+        pathCache.put(0, 58, false, 0, path);
+        ArrayList<Coordinate> cachedPath = pathCache.get(0, 58, false, 0);
+        assertEquals("The cached path is returned", path, cachedPath);
+        assertEquals("A query answered from the cache counts as a hit", 1, pathCache.getHits());
+
+        cachedPath.remove(0);
+        assertEquals("Modifying the returned path does not alter the cache", 2, pathCache.get(0, 58, false, 0).size());
+        assertNull("Paths are cached separately for enemies with wallPass", pathCache.get(0, 58, true, 0));
+    }
+
+    @Test
+    public void testGraphVersion() throws Exception {
+        pathCache.put(0, 58, false, 0, path);
+        assertNull("Paths computed on an older version of the graph are not returned", pathCache.get(0, 58, false, 1));
+        assertEquals("Stale paths are removed from the cache", 0, pathCache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() throws Exception {
+        pathCache.put(0, 1, false, 0, path);
+        pathCache.put(0, 2, false, 0, path);
+        pathCache.get(0, 1, false, 0);
+        pathCache.put(0, 3, false, 0, path);
+
+        assertEquals("The cache never holds more paths than its capacity", 2, pathCache.size());
+        assertNull("The least recently used path is evicted", pathCache.get(0, 2, false, 0));
+        assertNotNull("Recently used paths are kept", pathCache.get(0, 1, false, 0));
+        assertNotNull("Recently stored paths are kept", pathCache.get(0, 3, false, 0));
+    }
+}
@@ -10,6 +10,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
@@ -23,87 +27,164 @@ public class PathFinderTest {
     }
 
     @Test
-    public void testUpdateGraphTimer() throws Exception {
-        int currentTimeBeforeRefresh = pathFinder.getTimeToRefreshGraph();
-        assertEquals("Upon creating a PathFinder instance, the timeToRefreshGraph should equal " +
-                "45", currentTimeBeforeRefresh, pathFinder.getTimeToRefreshGraph());
+    public void testTileChanged() throws Exception {
+        int initialVersion = pathFinder.getGraphVersion();
 
-        pathFinder.updateGraphRefreshTimer();
-        assertEquals("Calling update updateGraphRefreshTimer should decrease the timeToRefreshGraph by 1 if " +
-                "said variable is not equal to 0", currentTimeBeforeRefresh - 1, pathFinder.getTimeToRefreshGraph());
+        // Tile (1,1) of the map is the first tile of the graph.
+        pathFinder.tileChanged(1, 1, new BrickWall(32, 32, true, false));
+        assertTrue("Placing a brick wall on a tile turns it into an obstacle", pathFinder.isObstacle(0, 0));
+        assertEquals("Changing a tile increments the version of the graph", initialVersion + 1, pathFinder.getGraphVersion());
 
-        pathFinder.setTimeToRefreshGraph(1);
-        pathFinder.updateGraphRefreshTimer();
-        assertTrue("When timeToRefreshGraph equals 0, the refreshGraph flag should be set to true ", pathFinder.getRefreshGraph());
-        assertEquals("When timeToRefreshGraph equals 0, it should be reset to 45", 45, pathFinder.getTimeToRefreshGraph());
+        pathFinder.tileChanged(1, 1, new BrickWall(32, 32, true, false));
+        assertEquals("Notifying a change that leaves the tile as it was keeps the version", initialVersion + 1,
+                pathFinder.getGraphVersion());
 
+        pathFinder.tileChanged(1, 1, null);
+        assertFalse("Destroying the brick wall frees the tile", pathFinder.isObstacle(0, 0));
+        assertEquals("Changing a tile increments the version of the graph", initialVersion + 2, pathFinder.getGraphVersion());
+
+        pathFinder.tileChanged(0, 0, null);
+        assertEquals("The outer concrete walls are not part of the graph", initialVersion + 2, pathFinder.getGraphVersion());
     }
 
     @Test
     public void testFindPath() throws Exception {
-        Node[][] graph = pathFinder.graph;
-
         //test find path has a direct dependency on A*; we only test for the unexpected behaviour.
         ArrayList<Coordinate> pathBetweenPlayerAndEnemy = pathFinder.findPath(-1000, 160, -200, 96, false);
         assertNull("If the nodes requested do not exits, findPath should return null", pathBetweenPlayerAndEnemy);
 
-        graph[0][0].setObstacle(false);
-        graph[1][0].setObstacle(false);
-        graph[2][0].setObstacle(false);
+        pathFinder.setObstacle(0, 0, false);
+        pathFinder.setObstacle(1, 0, false);
+        pathFinder.setObstacle(2, 0, false);
 
         pathBetweenPlayerAndEnemy = pathFinder.findPath(32, 96, 32, 32, false);
         ArrayList<Coordinate> expectedResult = new ArrayList<Coordinate>();
         expectedResult.add(new Coordinate(0, 0));
         expectedResult.add(new Coordinate(2, 0));
-        boolean pathIsCorrect = determineIfPathMatches(pathBetweenPlayerAndEnemy, expectedResult, graph);
+        boolean pathIsCorrect = determineIfPathMatches(pathBetweenPlayerAndEnemy, expectedResult);
 
         assertTrue("If the nodes exist, findPath should return the path connecting the enemy and the player",
                 pathIsCorrect);
     }
 
+    @Test
+    public void testFindPathCache() throws Exception {
+        PathCache pathCache = pathFinder.getPathCache();
+        ArrayList<Coordinate> firstPath = pathFinder.findPath(160, 32, 32, 32, false);
+        ArrayList<Coordinate> secondPath = pathFinder.findPath(160, 32, 32, 32, false);
+        assertEquals("The first query runs a search", 1, pathCache.getMisses());
+        assertEquals("A repeated query is answered from the cache", 1, pathCache.getHits());
+        assertEquals("The cached path matches the one computed", firstPath, secondPath);
+
+        // Destroying or placing a brick wall changes the version of the graph.
+        pathFinder.tileChanged(3, 1, new BrickWall(96, 32, true, false));
+        ArrayList<Coordinate> pathAroundWall = pathFinder.findPath(160, 32, 32, 32, false);
+        assertEquals("Changing the walls invalidates the cached paths", 2, pathCache.getMisses());
+        assertTrue("The new path goes around the brick wall", pathAroundWall.size() > 2);
+    }
+
     @Test
     public void testAStar() throws Exception {
-        Node[][] graph = pathFinder.graph;
-        graph[0][0].setObstacle(false);
-        graph[1][0].setObstacle(false);
-        graph[2][0].setObstacle(false);
+        pathFinder.setObstacle(0, 0, false);
+        pathFinder.setObstacle(1, 0, false);
+        pathFinder.setObstacle(2, 0, false);
 
-        ArrayList<Coordinate> resultFromAStar = pathFinder.aStar(graph[0][0], graph[0][0], false);
+        ArrayList<Coordinate> resultFromAStar = pathFinder.aStar(pathFinder.toIndex(0, 0), pathFinder.toIndex(0, 0), false);
         assertTrue("A* should return one coordinate for a path between a node and itself", resultFromAStar.size() == 1);
 
-        resultFromAStar = pathFinder.aStar(null, null, false);
-        assertNull("A* should return null when the nodes passed are null", resultFromAStar);
-
-        resultFromAStar = pathFinder.aStar(graph[0][0], graph[2][0], false);
+        resultFromAStar = pathFinder.aStar(pathFinder.toIndex(0, 0), pathFinder.toIndex(2, 0), false);
         ArrayList<Coordinate> expectedResult = new ArrayList<Coordinate>();
         expectedResult.add(new Coordinate(0, 0));
         expectedResult.add(new Coordinate(2, 0));
 
-        boolean isThePathCorrect = determineIfPathMatches(resultFromAStar, expectedResult, graph);
+        boolean isThePathCorrect = determineIfPathMatches(resultFromAStar, expectedResult);
 
         assertTrue("The path from coordinate (0,0) to (0,2) should be exactly those two ends, " +
                 "without the 'chain link' (0,1)", isThePathCorrect);
 
         // We expect the same result as above if the enemy is capable of walking through walls
-        graph[1][0].setObstacle(true);
-        resultFromAStar = pathFinder.aStar(graph[0][0], graph[2][0], true);
+        pathFinder.setObstacle(1, 0, true);
+        resultFromAStar = pathFinder.aStar(pathFinder.toIndex(0, 0), pathFinder.toIndex(2, 0), true);
 
-        isThePathCorrect = determineIfPathMatches(resultFromAStar, expectedResult, graph);
+        isThePathCorrect = determineIfPathMatches(resultFromAStar, expectedResult);
 
         assertTrue("The path from coordinate (0,0) to (0,2) with a wall at coordinate (0,1) should be exactly those two ends, " +
                 "without the 'chain link' (0,1) if the enemy is able to walk through walls", isThePathCorrect);
 
-        graph[1][0].setObstacle(true);
-        graph[0][1].setObstacle(true);
-        resultFromAStar = pathFinder.aStar(graph[0][0], graph[2][0], false);
+        pathFinder.setObstacle(1, 0, true);
+        pathFinder.setObstacle(0, 1, true);
+        resultFromAStar = pathFinder.aStar(pathFinder.toIndex(0, 0), pathFinder.toIndex(2, 0), false);
 
         assertTrue("If A* can't find a path between the two selected nodes, it should return the starting node",
                 resultFromAStar.size() == 1);
 
     }
 
-    public boolean determineIfPathMatches(ArrayList<Coordinate> resultFromAStar, ArrayList<Coordinate> expectedResult,
-                                       Node[][] graph) {
+    @Test
+    public void testAStarOverTileIndices() throws Exception {
+        // Block the direct route along the first row; the detour goes around the concrete walls.
+        pathFinder.setObstacle(0, 2, true);
+        int start = pathFinder.toIndex(0, 0);
+        int goal = pathFinder.toIndex(0, 4);
+
+        ArrayList<Coordinate> expectedResult = new ArrayList<Coordinate>();
+        expectedResult.add(new Coordinate(0, 0));
+        expectedResult.add(new Coordinate(2, 0));
+        expectedResult.add(new Coordinate(2, 4));
+        expectedResult.add(new Coordinate(0, 4));
+
+        // Searches reuse the same arrays, so repeating the query must give the same path.
+        for (int i = 0; i < 3; i++) {
+            ArrayList<Coordinate> resultFromAStar = pathFinder.aStar(start, goal, false);
+            assertEquals("The detour only keeps the endpoints and the turns", expectedResult.size(), resultFromAStar.size());
+            assertTrue("A* should go around the brick wall", determineIfPathMatches(resultFromAStar, expectedResult));
+        }
+
+        ArrayList<Coordinate> resultFromAStar = pathFinder.aStar(start, goal, true);
+        assertEquals("An enemy with wallPass goes straight through the brick wall", 2, resultFromAStar.size());
+    }
+
+    @Test
+    public void testConcurrentSearches() throws Exception {
+        // Scatter brick walls so that the paths take turns.
+        for (int row = 0; row < pathFinder.getGraphRows(); row += 2) {
+            for (int col = 3 + row % 4; col < pathFinder.getGraphCols(); col += 5) {
+                pathFinder.setObstacle(row, col, true);
+            }
+        }
+
+        final int numOfQueries = 40;
+        final ArrayList<ArrayList<Coordinate>> expectedPaths = new ArrayList<ArrayList<Coordinate>>();
+        for (int i = 0; i < numOfQueries; i++) {
+            expectedPaths.add(pathFinder.aStar(pathFinder.toIndex(0, 0), pathFinder.toIndex(10, i % 29), false));
+        }
+
+        // Every thread keeps its own search state, so the searches can't corrupt each other.
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ArrayList<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+        for (int thread = 0; thread < 4; thread++) {
+            results.add(executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    for (int repetition = 0; repetition < 25; repetition++) {
+                        for (int i = 0; i < numOfQueries; i++) {
+                            ArrayList<Coordinate> path = pathFinder.aStar(pathFinder.toIndex(0, 0),
+                                    pathFinder.toIndex(10, i % 29), false);
+                            if (!path.equals(expectedPaths.get(i))) return false;
+                        }
+                    }
+                    return true;
+                }
+            }));
+        }
+        executor.shutdown();
+
+        for (Future<Boolean> result : results) {
+            assertTrue("Concurrent searches should find the same paths as sequential ones", result.get());
+        }
+    }
+
+    public boolean determineIfPathMatches(ArrayList<Coordinate> resultFromAStar, ArrayList<Coordinate> expectedResult) {
 
         boolean isThePathCorrect = true;
         for (int i = 0; i < resultFromAStar.size(); i++) {
@@ -122,9 +203,9 @@ public class PathFinderTest {
 
     @Test
     public void testEstimateDistance() throws Exception {
-        Node n1 = new Node(1, 1);
-        Node n2 = new Node(2,2);
-        Node n3 = new Node(5,1);
+        int n1 = pathFinder.toIndex(1, 1);
+        int n2 = pathFinder.toIndex(2, 2);
+        int n3 = pathFinder.toIndex(5, 1);
 
         int distance = pathFinder.estimateDistance(n1, n1);
         assertEquals("The between a node and itself should be 0", 0, distance);
@@ -151,12 +232,11 @@ public class PathFinderTest {
         walls[3][1] = new BrickWall(32, 32, true, false);
 
         pathFinder.updateGraph(walls);
-        Node[][] graph = pathFinder.graph;
 
         // The graph only represents the 29x11 inner tiles of the map, which is why the coordinates
         // used to target the walls shown above are different.
-        boolean allGraphPositionsAreObstacles = graph[0][0].isObstacle() && graph[0][1].isObstacle()
-                && graph[0][2].isObstacle() && graph[1][0].isObstacle() && graph[2][0].isObstacle();
+        boolean allGraphPositionsAreObstacles = pathFinder.isObstacle(0, 0) && pathFinder.isObstacle(0, 1)
+                && pathFinder.isObstacle(0, 2) && pathFinder.isObstacle(1, 0) && pathFinder.isObstacle(2, 0);
 
         assertTrue("Updating the graph should set the nodes that contains brick walls as " +
                 "obstacles", allGraphPositionsAreObstacles);
@@ -168,10 +248,9 @@ public class PathFinderTest {
         walls[3][1] = null;
 
         pathFinder.updateGraph(walls);
-        graph = pathFinder.graph;
 
-        boolean previousObstaclesAreNowClear = !graph[0][0].isObstacle() && !graph[0][1].isObstacle()
-                && !graph[0][2].isObstacle() && !graph[1][0].isObstacle() && !graph[2][0].isObstacle();
+        boolean previousObstaclesAreNowClear = !pathFinder.isObstacle(0, 0) && !pathFinder.isObstacle(0, 1)
+                && !pathFinder.isObstacle(0, 2) && !pathFinder.isObstacle(1, 0) && !pathFinder.isObstacle(2, 0);
 
         assertTrue("Updating the graph should set the nodes that previously contain walls as not " +
                 "obstacles", previousObstaclesAreNowClear);
@@ -180,7 +259,19 @@ public class PathFinderTest {
     }
 
     @Test
-    public void testCreateMap() throws Exception {
-        assertNotNull("The graph returned should not be null", pathFinder.graph);
+    public void testCreateGraph() throws Exception {
+        assertEquals("The graph only represents the 11 inner rows of the map", 11, pathFinder.getGraphRows());
+        assertEquals("The graph only represents the 29 inner columns of the map", 29, pathFinder.getGraphCols());
+        assertTrue("The inner concrete walls are part of the graph", pathFinder.isConcreteWall(1, 1));
+        assertFalse("The tiles between the inner concrete walls are free", pathFinder.isConcreteWall(0, 1));
+
+        PathFinder largerPathFinder = new PathFinder(21, 41);
+        assertEquals("The graph is built from the size of the map", 19, largerPathFinder.getGraphRows());
+        assertEquals("The graph is built from the size of the map", 39, largerPathFinder.getGraphCols());
+        assertTrue("The concrete walls follow the same pattern on larger maps", largerPathFinder.isConcreteWall(17, 37));
+
+        ArrayList<Coordinate> path = largerPathFinder.aStar(largerPathFinder.toIndex(0, 0),
+                largerPathFinder.toIndex(18, 38), false);
+        assertEquals("The path across an open map has a single turn", 3, path.size());
     }
 }
\ No newline at end of file
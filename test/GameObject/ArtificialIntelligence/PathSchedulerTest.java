@@ -0,0 +1,199 @@
+package GameObject.ArtificialIntelligence;
+
+import GamePlay.Coordinate;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class PathSchedulerTest {
+
+    private PathFinder pathFinder;
+    private PathScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        pathFinder = new PathFinder();
+        scheduler = pathFinder.getPathScheduler();
+    }
+
+    @Test
+    public void testSearchWithinBudget() throws Exception {
+        scheduler.startFrame();
+        ArrayList<Coordinate> path = scheduler.requestPath(this, index(0, 0), index(10, 28), false);
+
+        assertEquals("A search that fits in the budget returns its path right away",
+                pathFinder.aStar(index(0, 0), index(10, 28), false), path);
+        assertTrue("The tiles expanded are taken from the budget", scheduler.getRemainingBudget() < scheduler.getFrameBudget());
+        assertEquals("No search was suspended", 0, scheduler.getNumOfSuspendedSearches());
+    }
+
+    @Test
+    public void testSuspendedSearchResumes() throws Exception {
+        scheduler.setFrameBudget(10);
+        scheduler.startFrame();
+        assertNull("A search that does not fit in the budget is suspended",
+                scheduler.requestPath(this, index(0, 0), index(10, 28), false));
+        assertEquals("The search waits for the next frame", 1, scheduler.getNumOfSuspendedSearches());
+
+        ArrayList<Coordinate> path = null;
+        int frames = 0;
+        while (path == null && frames < 100) {
+            scheduler.startFrame();
+            assertTrue("The budget is never exceeded", scheduler.getRemainingBudget() >= 0);
+            path = scheduler.requestPath(this, index(0, 0), index(10, 28), false);
+            frames++;
+        }
+        assertEquals("The search resumed over several frames finds the same path",
+                pathFinder.aStar(index(0, 0), index(10, 28), false), path);
+        assertTrue("The search needed several frames", frames > 1);
+    }
+
+    @Test
+    public void testRoundRobin() throws Exception {
+        // Enclose the goal, so every search expands all the tiles it can reach.
+        pathFinder.setObstacle(9, 28, true);
+        pathFinder.setObstacle(10, 27, true);
+        Object[] enemies = {new Object(), new Object(), new Object()};
+        int[] starts = {index(0, 0), index(0, 10), index(10, 0)};
+        int goal = index(10, 28);
+
+        scheduler.setFrameBudget(100);
+        scheduler.startFrame();
+        // A first search uses the budget of the frame, the others start on the next frame.
+        scheduler.requestPath(new Object(), index(0, 28), goal, false);
+        for (int i = 0; i < enemies.length; i++) {
+            scheduler.requestPath(enemies[i], starts[i], goal, false);
+        }
+
+        int[] finishedOnFrame = new int[enemies.length];
+        for (int frame = 1; frame <= 30; frame++) {
+            scheduler.startFrame();
+            for (int i = 0; i < enemies.length; i++) {
+                if (finishedOnFrame[i] == 0 && scheduler.requestPath(enemies[i], starts[i], goal, false) != null) {
+                    finishedOnFrame[i] = frame;
+                }
+            }
+        }
+
+        int first = Math.min(finishedOnFrame[0], Math.min(finishedOnFrame[1], finishedOnFrame[2]));
+        int last = Math.max(finishedOnFrame[0], Math.max(finishedOnFrame[1], finishedOnFrame[2]));
+        assertTrue("Every search finished", first > 0);
+        assertTrue("The searches share the budget of the frames", last - first <= 1);
+    }
+
+    @Test
+    public void testPathFollowedFromFirstSegment() throws Exception {
+        scheduler.setFrameBudget(5);
+        scheduler.startFrame();
+        scheduler.requestPath(this, index(0, 0), index(0, 10), false);
+        while (scheduler.getNumOfSuspendedSearches() > 0) {
+            scheduler.startFrame();
+        }
+
+        // The enemy moved three tiles along the path while the search was running.
+        ArrayList<Coordinate> path = scheduler.requestPath(this, index(0, 3), index(0, 10), false);
+        ArrayList<Coordinate> expected = new ArrayList<Coordinate>();
+        expected.add(new Coordinate(0, 3));
+        expected.add(new Coordinate(0, 10));
+        assertEquals("The path is followed from the tile of the enemy", expected, path);
+    }
+
+    @Test
+    public void testFinishedPathDroppedWhenGoalMoves() throws Exception {
+        scheduler.setFrameBudget(5);
+        scheduler.startFrame();
+        scheduler.requestPath(this, index(0, 0), index(0, 10), false);
+        while (scheduler.getNumOfSuspendedSearches() > 0) {
+            scheduler.startFrame();
+        }
+
+        // The player moved while the search was running, the path to its previous tile is dropped.
+        assertNull("A new search is started towards the new tile of the player",
+                scheduler.requestPath(this, index(0, 0), index(0, 20), false));
+        ArrayList<Coordinate> path = null;
+        for (int frame = 0; frame < 100 && path == null; frame++) {
+            scheduler.startFrame();
+            path = scheduler.requestPath(this, index(0, 0), index(0, 20), false);
+        }
+        assertEquals("The path leads to the new tile of the player",
+                pathFinder.aStar(index(0, 0), index(0, 20), false), path);
+    }
+
+    @Test
+    public void testGraphChangeRestartsSearch() throws Exception {
+        scheduler.setFrameBudget(5);
+        scheduler.startFrame();
+        scheduler.requestPath(this, index(0, 0), index(0, 10), false);
+        pathFinder.setObstacle(0, 5, true);
+
+        ArrayList<Coordinate> path = null;
+        for (int frame = 0; frame < 100 && path == null; frame++) {
+            scheduler.startFrame();
+            path = scheduler.requestPath(this, index(0, 0), index(0, 10), false);
+        }
+        assertEquals("The search is run again on the new graph",
+                pathFinder.aStar(index(0, 0), index(0, 10), false), path);
+    }
+
+    @Test
+    public void testPrefetchedSearchChargesBudget() throws Exception {
+        pathFinder.aStar(index(0, 0), index(10, 28), false);
+        int expandedNodes = pathFinder.getLastExpandedNodes();
+
+        scheduler.startFrame();
+        scheduler.prefetch(this, index(0, 0), index(10, 28), false);
+        ArrayList<Coordinate> path = scheduler.requestPath(this, index(0, 0), index(10, 28), false);
+        assertEquals("The search run ahead of time gives the same path",
+                pathFinder.aStar(index(0, 0), index(10, 28), false), path);
+        assertEquals("The search run ahead of time is used", 1, scheduler.getPrefetchedSearchesUsed());
+        assertEquals("Its tiles are taken from the budget", scheduler.getFrameBudget() - expandedNodes,
+                scheduler.getRemainingBudget());
+
+        // A search that would not fit in the budget is suspended, as if it had not been run ahead of time.
+        ArrayList<Coordinate> expected = pathFinder.aStar(index(0, 1), index(10, 28), false);
+        expandedNodes = pathFinder.getLastExpandedNodes();
+        scheduler.setFrameBudget(expandedNodes - 1);
+        scheduler.startFrame();
+        Object enemy = new Object();
+        scheduler.prefetch(enemy, index(0, 1), index(10, 28), false);
+        assertNull("A search that does not fit in the budget is suspended",
+                scheduler.requestPath(enemy, index(0, 1), index(10, 28), false));
+        assertEquals("The search waits for the next frame", 1, scheduler.getNumOfSuspendedSearches());
+        assertEquals("The search started ahead of time is taken over", 2, scheduler.getPrefetchedSearchesUsed());
+
+        // The search goes on from where it stopped instead of running again.
+        scheduler.startFrame();
+        assertEquals("Only the tile left is expanded on the next frame", scheduler.getFrameBudget() - 1,
+                scheduler.getRemainingBudget());
+        assertEquals("The search finishes with the same path", expected,
+                scheduler.requestPath(enemy, index(0, 1), index(10, 28), false));
+    }
+
+    @Test
+    public void testPrefetchedSearchStaysWithinBudget() throws Exception {
+        pathFinder.aStar(index(0, 0), index(10, 28), false);
+        int expandedNodes = pathFinder.getLastExpandedNodes();
+
+        // The search started ahead of time expands a frame at most, the rest is charged on the next frames.
+        scheduler.setFrameBudget(expandedNodes / 3);
+        scheduler.startFrame();
+        scheduler.prefetch(this, index(0, 0), index(10, 28), false);
+        ArrayList<Coordinate> path = scheduler.requestPath(this, index(0, 0), index(10, 28), false);
+        int frames = 1;
+        while (path == null) {
+            assertEquals("The whole budget of the frame is used", 0, scheduler.getRemainingBudget());
+            scheduler.startFrame();
+            path = scheduler.requestPath(this, index(0, 0), index(10, 28), false);
+            frames++;
+        }
+        assertEquals("The search takes as many frames as if it had not been started ahead of time",
+                (expandedNodes + scheduler.getFrameBudget() - 1) / scheduler.getFrameBudget(), frames);
+    }
+
+    private int index(int row, int col) {
+        return pathFinder.toIndex(row, col);
+    }
+}
@@ -0,0 +1,85 @@
+package GameObject.ArtificialIntelligence;
+
+import GameObject.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ThinkPhaseTest {
+
+    private static final long SEED = 1234L;
+    private static final int PLAYER_COL = 5;
+    private static final int PLAYER_ROW = 5;
+
+    @Test
+    public void testDistances() throws Exception {
+        ArrayList<Enemy> enemies = new ArrayList<Enemy>();
+        enemies.add(new Enemy(EnemyType.BALLOOM, 32, 32));
+        enemies.add(new Enemy(EnemyType.BALLOOM, 32 + 30, 32 + 40));
+        ThinkPhase thinkPhase = new ThinkPhase();
+        thinkPhase.run(enemies, 32, 32);
+
+        assertEquals("An enemy on the tile of the player is at distance 0", 0, thinkPhase.getDistance(0));
+        assertEquals("The distance is measured between the centers of the objects", 50, thinkPhase.getDistance(1));
+        assertEquals("Few enemies do not need the pool", 0, thinkPhase.getParallelRuns());
+    }
+
+    @Test
+    public void testParallelMatchesSequential() throws Exception {
+        TileMap sequential = createTileMap(Integer.MAX_VALUE);
+        TileMap parallel = createTileMap(0);
+
+        ArrayList<String> sequentialStates = simulate(sequential);
+        ArrayList<String> parallelStates = simulate(parallel);
+
+        assertTrue("The think phase ran in parallel", parallel.getThinkPhase().getParallelRuns() > 0);
+        assertTrue("The searches run ahead of time were used",
+                parallel.getPathFinder().getPathScheduler().getPrefetchedSearchesUsed() > 0);
+        assertEquals("The think phase never ran in parallel", 0, sequential.getThinkPhase().getParallelRuns());
+        assertTrue("The enemies searched for paths to the player",
+                sequential.getPathFinder().getPathCache().getMisses() > 0);
+        assertEquals("The enemies behave the same whether they think in parallel or not", sequentialStates, parallelStates);
+    }
+
+    private TileMap createTileMap(int parallelThreshold) {
+        Random random = new Random(SEED);
+        Player player = new Player(toPixels(PLAYER_COL), toPixels(PLAYER_ROW), true, MovableObject.NORMALSPEED);
+        TileMap tileMap = new TileMap(player, 1, null, random);
+
+        // A horde of chasers around the player, with a budget small enough to suspend some of their searches.
+        EnemyType[] types = {EnemyType.KONDORIA, EnemyType.PASS, EnemyType.PONTAN};
+        int[][] tiles = {{3, 5}, {4, 5}, {6, 5}, {7, 5}, {5, 3}, {5, 4}, {5, 6}, {5, 7}};
+        ArrayList<Enemy> enemies = new ArrayList<Enemy>();
+        for (int i = 0; i < 96; i++) {
+            int[] tile = tiles[i % tiles.length];
+            enemies.add(new Enemy(types[i % types.length], toPixels(tile[0]), toPixels(tile[1]), random));
+        }
+        tileMap.setEnemies(enemies);
+        // The chasers search their own paths, which is the work the think phase runs ahead of time.
+        tileMap.getPathFinder().setDistanceFieldEnabled(false);
+        tileMap.getPathFinder().getPathScheduler().setFrameBudget(40);
+        tileMap.getThinkPhase().setParallelThreshold(parallelThreshold);
+        return tileMap;
+    }
+
+    private ArrayList<String> simulate(TileMap tileMap) {
+        ArrayList<String> states = new ArrayList<String>();
+        for (int tick = 0; tick < 120; tick++) {
+            tileMap.moveEnemies(toPixels(PLAYER_COL), toPixels(PLAYER_ROW), true);
+
+            StringBuilder state = new StringBuilder();
+            for (Enemy enemy : tileMap.getEnemies()) {
+                state.append(enemy.getPosX()).append(',').append(enemy.getPosY()).append(' ');
+            }
+            states.add(state.toString());
+        }
+        return states;
+    }
+
+    private int toPixels(int tile) {
+        return tile * TileMap.TILE_SIDE_LENGTH;
+    }
+}
@@ -0,0 +1,121 @@
+package GameObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class EnemyStoreTest {
+
+    private EnemyStore store;
+    private ArrayList<Enemy> enemies;
+
+    @Before
+    public void setUp() {
+        store = new EnemyStore(2);
+        enemies = new ArrayList<Enemy>();
+        enemies.add(new Enemy(EnemyType.BALLOOM, 32, 32));
+        enemies.add(new Enemy(EnemyType.PASS, 64, 32));
+        enemies.add(new Enemy(EnemyType.KONDORIA, 96, 64));
+    }
+
+    @Test
+    public void testSyncFollowsTheList() throws Exception {
+        store.sync(enemies);
+        assertEquals("Every enemy of the list has a slot", 3, store.size());
+        for (int i = 0; i < enemies.size(); i++) {
+            assertSame("The enemies are stored in the order of the list", enemies.get(i), store.getEnemy(i));
+        }
+        assertEquals("The state of the enemies is copied into the store", 64, store.posX[1]);
+        assertTrue("The flags are copied into the store", store.hasFlag(2, EnemyStore.WALL_PASS));
+
+        // Reverse the list, and drop its first enemy.
+        Enemy removed = enemies.remove(0);
+        Enemy first = enemies.get(0);
+        enemies.set(0, enemies.get(1));
+        enemies.set(1, first);
+        store.sync(enemies);
+
+        assertEquals("Removed enemies leave the store", 2, store.size());
+        assertSame("The slots follow the new order of the list", enemies.get(0), store.getEnemy(0));
+        assertEquals("The state moves along with the enemy", 96, store.posX[0]);
+        assertEquals("The state moves along with the enemy", EnemyType.PASS, store.getEnemy(1).getEnemyType());
+
+        removed.setPosX(200);
+        assertEquals("Removed enemies keep their own state", 200, removed.getPosX());
+        assertEquals("Removed enemies keep their type", EnemyType.BALLOOM, removed.getEnemyType());
+        assertEquals("Removed enemies no longer write to the store", 64, store.posX[1]);
+    }
+
+    @Test
+    public void testViewsReadAndWriteTheStore() throws Exception {
+        store.sync(enemies);
+        Enemy enemy = enemies.get(1);
+
+        enemy.setPosX(70);
+        enemy.setDirectionOfMovement(Direction.WEST);
+        enemy.setHitByFlames(true);
+        assertEquals("Views write the position into the store", 70, store.posX[1]);
+        assertEquals("Views write the direction into the store", Direction.WEST.ordinal(), store.direction[1]);
+        assertTrue("Views write the flags into the store", store.hasFlag(1, EnemyStore.HIT_BY_FLAMES));
+        assertTrue("Setting a flag keeps the others", enemy.isVisible());
+
+        store.posY[1] = 40;
+        assertEquals("Views read the position from the store", 40, enemy.getPosY());
+        assertTrue("Collisions use the position held by the store", enemy.intersects(70, 40, 1, 1));
+        assertFalse("Collisions use the position held by the store", enemy.intersects(64, 32, 6, 8));
+
+        enemy.setChaseEnabled(true);
+        enemy.setNextDestination(96, 32);
+        store.sync(new ArrayList<Enemy>(enemies.subList(1, 3)));
+        assertTrue("The state of the chase moves along with the enemy", enemy.isChaseEnabled());
+        assertEquals("The state of the chase moves along with the enemy", 96, enemy.getNextDestinationX());
+    }
+
+    @Test
+    public void testInheritedMethodsUseTheStore() throws Exception {
+        store.sync(enemies);
+        Enemy enemy = enemies.get(1);
+        enemy.setPreviousX(60);
+        enemy.setPosX(70);
+
+        enemy.restorePreviousXPosition();
+        assertEquals("The movements inherited from MovableObject go through the store", 60, store.posX[1]);
+        enemy.restorePositionTo(80, 48);
+        assertEquals("The movements inherited from MovableObject go through the store", 48, store.posY[1]);
+        assertEquals("The bounds inherited from GameObject are read from the store",
+                new Rectangle(80, 48, store.width[1], store.height[1]), enemy.getBounds());
+        assertEquals("The collision box inherited from GameObject is read from the store",
+                80 + store.width[1], enemy.getMaxX());
+    }
+
+    @Test
+    public void testMoveDispatchesByType() throws Exception {
+        store.sync(enemies);
+        Enemy balloom = enemies.get(0);
+        balloom.setDirectionOfMovement(Direction.SOUTH);
+        store.move(0);
+        assertEquals("The enemies moving straight are displaced on the arrays", 32 + balloom.getSpeed(), store.posY[0]);
+        assertEquals("The previous coordinate is kept", 32, store.previousY[0]);
+        assertEquals("The other coordinate does not change", 32, store.posX[0]);
+
+        // The same movement as the one of the low intelligence.
+        Enemy expected = new Enemy(EnemyType.BALLOOM, 32, 32);
+        expected.setDirectionOfMovement(Direction.SOUTH);
+        Enemy.intelligenceFor(EnemyType.BALLOOM).moveEnemyOnBoard(expected);
+        assertEquals("Moving on the arrays matches the low intelligence", expected.getPosY(), balloom.getPosY());
+    }
+
+    @Test
+    public void testMarkTickStart() throws Exception {
+        store.sync(enemies);
+        store.markTickStart();
+        enemies.get(0).setPosX(48);
+        assertEquals("The enemy is drawn between its positions at the start and the end of the tick",
+                40, enemies.get(0).getInterpolatedX(0.5f));
+        assertEquals("The enemies that did not move are drawn where they are", 64, enemies.get(1).getInterpolatedX(0.5f));
+    }
+}
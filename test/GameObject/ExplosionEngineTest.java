@@ -0,0 +1,101 @@
+package GameObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class ExplosionEngineTest {
+
+    private Player player;
+    private TileMap tileMap;
+    private ArrayList<Bomb> bombs;
+
+    @Before
+    public void setUp() {
+        player = new Player(35, 35, true, MovableObject.NORMALSPEED);
+        tileMap = new TileMap(player, 1, null);
+        player.setTileMap(tileMap);
+        tileMap.setBombRadius(2);
+
+        // An empty grid surrounded by concrete walls, with a single brick wall at column 8 of row 5.
+        GameObject[][] walls = new GameObject[TileMap.NUM_OF_COLS][TileMap.NUM_OF_ROWS];
+        for (int col = 0; col < TileMap.NUM_OF_COLS; col++) {
+            walls[col][0] = new ConcreteWall(toPixels(col), 0);
+            walls[col][TileMap.NUM_OF_ROWS - 1] = new ConcreteWall(toPixels(col), toPixels(TileMap.NUM_OF_ROWS - 1));
+        }
+        for (int row = 0; row < TileMap.NUM_OF_ROWS; row++) {
+            walls[0][row] = new ConcreteWall(0, toPixels(row));
+            walls[TileMap.NUM_OF_COLS - 1][row] = new ConcreteWall(toPixels(TileMap.NUM_OF_COLS - 1), toPixels(row));
+        }
+        walls[8][5] = new BrickWall(toPixels(8), toPixels(5), true, false);
+        tileMap.setWalls(walls);
+
+        // Bombs two tiles apart along row 5, the last one behind the brick wall, and one far away.
+        bombs = new ArrayList<Bomb>();
+        bombs.add(new Bomb(toPixels(3), toPixels(5)));
+        bombs.add(new Bomb(toPixels(5), toPixels(5)));
+        bombs.add(new Bomb(toPixels(7), toPixels(5)));
+        bombs.add(new Bomb(toPixels(9), toPixels(5)));
+        bombs.add(new Bomb(toPixels(3), toPixels(9)));
+    }
+
+    @Test
+    public void testChainReaction() throws Exception {
+        ExplosionEngine engine = tileMap.getExplosionEngine();
+        assertEquals("No bomb explodes before one detonates", 0, engine.detonate(bombs));
+        assertTrue("The bombs are left on the grid", bombs.get(0).isVisible());
+
+        bombs.get(0).explode();
+        assertEquals("The whole chain explodes at once", 3, engine.detonate(bombs));
+        assertFalse("The bombs reached by a blast explode", bombs.get(1).isVisible());
+        assertFalse("The chain goes on through the blasts of the chained bombs", bombs.get(2).isVisible());
+        assertTrue("The blasts do not go through the brick wall", bombs.get(3).isVisible());
+        assertTrue("The bombs out of reach do not explode", bombs.get(4).isVisible());
+        assertEquals("Two bombs exploded because of the chain", 2, engine.getChainedBombsDetonated());
+        assertTrue("The flames of every bomb of the chain are placed",
+                tileMap.getBitboard().isFlame(3, 5) && tileMap.getBitboard().isFlame(7, 5));
+        assertNull("The brick wall was destroyed by the chain", tileMap.getWalls()[8][5]);
+
+        // A bomb placed on a tile that is still burning explodes, once the exploded bombs are removed.
+        bombs.subList(0, 3).clear();
+        Bomb onFlames = new Bomb(toPixels(4), toPixels(5));
+        bombs.add(onFlames);
+        assertEquals("Bombs on burning tiles explode", 1, engine.detonate(bombs));
+        assertFalse("Bombs on burning tiles explode", onFlames.isVisible());
+    }
+
+    @Test
+    public void testFlamesDetonateBombs() throws Exception {
+        // The flames of a blast centered on the tile of the far away bomb.
+        tileMap.addFlames(toPixels(3), toPixels(9));
+
+        ExplosionEngine engine = tileMap.getExplosionEngine();
+        assertEquals("Only the bomb reached by the flames explodes", 1, engine.detonate(bombs));
+        assertFalse("If a bomb collides with a flame object, its visibility will be set to false", bombs.get(4).isVisible());
+        for (int i = 0; i < 4; i++) {
+            assertTrue("If a bomb does not collide with a flame object, it will remain visible", bombs.get(i).isVisible());
+        }
+    }
+
+    @Test
+    public void testUpdateBombsRemovesTheChain() throws Exception {
+        player.setBombsPlaced(bombs);
+        bombs.get(0).explode();
+        Bomb behindWall = bombs.get(3);
+        Bomb farAway = bombs.get(4);
+
+        player.updateBombs();
+        assertEquals("The bombs of the chain leave the grid on the same tick", 2, player.getBombsPlaced().size());
+        assertSame("The other bombs keep their order", behindWall, player.getBombsPlaced().get(0));
+        assertSame("The other bombs keep their order", farAway, player.getBombsPlaced().get(1));
+        assertEquals("The fuse of the other bombs goes on", 1, farAway.getFramesOnGrid());
+        assertEquals("The bombs of the chain are released to the pool", 3, player.getBombPool().getIdleCount());
+    }
+
+    private int toPixels(int tile) {
+        return tile * TileMap.TILE_SIDE_LENGTH;
+    }
+}
@@ -0,0 +1,41 @@
+package GameObject;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GameObjectTest {
+
+    @Test
+    public void testBoundingBoxEdges() throws Exception {
+        ConcreteWall wall = new ConcreteWall(64, 32);
+        assertEquals("The left edge is the x position of the object", 64, wall.getMinX());
+        assertEquals("The top edge is the y position of the object", 32, wall.getMinY());
+        assertEquals("The right edge is the x position plus the width", 64 + 32, wall.getMaxX());
+        assertEquals("The bottom edge is the y position plus the height", 32 + 32, wall.getMaxY());
+    }
+
+    @Test
+    public void testIntersectsMatchesRectangle() throws Exception {
+        ConcreteWall wall = new ConcreteWall(64, 32);
+        ConcreteWall other = new ConcreteWall(0, 0);
+
+        // Slide the second wall around the first one, including the touching edges.
+        for (int x = 0; x <= 128; x += 4) {
+            for (int y = 0; y <= 96; y += 4) {
+                other.setPosX(x);
+                other.setPosY(y);
+                assertEquals("Intersection must agree with the one of the bounding rectangles",
+                        wall.getBounds().intersects(other.getBounds()), wall.intersects(other));
+            }
+        }
+    }
+
+    @Test
+    public void testIntersectsEmptyBox() throws Exception {
+        ConcreteWall wall = new ConcreteWall(64, 32);
+        assertTrue("A box inside the wall intersects it", wall.intersects(70, 40, 4, 4));
+        assertFalse("A box without width never intersects", wall.intersects(70, 40, 0, 4));
+        assertFalse("A box touching the right edge does not intersect", wall.intersects(96, 40, 4, 4));
+    }
+}
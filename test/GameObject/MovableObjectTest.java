@@ -28,6 +28,26 @@ public class MovableObjectTest {
 
     }
 
+    @Test
+    public void testGetInterpolatedPosition() throws Exception {
+        movableObject.setPosX(30);
+        movableObject.setPosY(30);
+        movableObject.setDeltaX(4);
+        movableObject.markTickStart();
+        movableObject.move();
+        assertEquals("At the start of a tick the object is rendered where the tick started", 30,
+                movableObject.getInterpolatedX(0f));
+        assertEquals("Halfway through a tick the object is rendered halfway along its displacement", 32,
+                movableObject.getInterpolatedX(0.5f));
+        assertEquals("At the end of a tick the object is rendered at its current position", 34,
+                movableObject.getInterpolatedX(1f));
+
+        movableObject.markTickStart();
+        movableObject.setPosY(300);
+        assertEquals("Displacements longer than a tile are not interpolated", 300,
+                movableObject.getInterpolatedY(0.5f));
+    }
+
     @Test
     public void testMoveVertically() throws Exception {
         movableObject.setPosY(30);
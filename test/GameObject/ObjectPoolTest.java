@@ -0,0 +1,105 @@
+package GameObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class ObjectPoolTest {
+
+    private ObjectPool<Bomb> pool;
+
+    @Before
+    public void setUp() {
+        pool = new ObjectPool<Bomb>(2) {
+            @Override
+            protected Bomb create() {
+                return new Bomb(0, 0);
+            }
+        };
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+        Bomb first = pool.acquire();
+        Bomb second = pool.acquire();
+        Bomb third = pool.acquire();
+        assertEquals("An empty pool creates the objects", 0, pool.getHits());
+        assertEquals("Three objects were handed out at the same time", 3, pool.getHighWaterMark());
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+        assertEquals("The pool keeps no more idle objects than its capacity", 2, pool.getIdleCount());
+        assertEquals("The objects released to a full pool are dropped", 1, pool.getDrops());
+
+        assertSame("The last object released is reused first", second, pool.acquire());
+        assertEquals("Reused objects count as hits", 1, pool.getHits());
+        assertEquals("The hit rate is the fraction of the objects reused", 0.25, pool.getHitRate(), 1e-9);
+        assertEquals("The high-water mark is kept", 3, pool.getHighWaterMark());
+    }
+
+    @Test
+    public void testReleasedObjectsNotFromThePool() throws Exception {
+        Bomb acquired = pool.acquire();
+        pool.release(new Bomb(32, 32));
+        pool.release(new Bomb(64, 32));
+        assertEquals("Objects created without the pool are not counted as handed out", 1, pool.getInUseCount());
+        assertEquals("Objects created without the pool are reused", 2, pool.getIdleCount());
+
+        Bomb reused = pool.acquire();
+        pool.acquire();
+        assertEquals("The reused objects count as handed out", 3, pool.getInUseCount());
+        assertEquals("The high-water mark counts the objects handed out", 3, pool.getHighWaterMark());
+
+        pool.release(reused);
+        pool.release(acquired);
+        pool.release(acquired);
+        assertEquals("An object released twice is counted once", 1, pool.getInUseCount());
+    }
+
+    @Test
+    public void testExpiredFlamesAreReused() throws Exception {
+        Player player = new Player(35, 35, true, MovableObject.NORMALSPEED);
+        TileMap tileMap = new TileMap(player, 1, null);
+        tileMap.addFlames(32, 32);
+        int flameCount = tileMap.getFlames().size();
+        ArrayList<Flame> expired = new ArrayList<Flame>(tileMap.getFlames());
+
+        for (int i = 0; i < 21; i++) {
+            tileMap.updateFlames();
+        }
+        assertTrue("The flames left the grid", tileMap.getFlames().isEmpty());
+        assertEquals("The expired flames were released to the pool", flameCount, tileMap.getFlamePool().getIdleCount());
+
+        // The walls destroyed by the first explosion let the second one spread further.
+        tileMap.addFlames(32, 32);
+        assertEquals("The next explosion reuses the expired flames", flameCount, tileMap.getFlamePool().getHits());
+        int reused = 0;
+        for (Flame flame : tileMap.getFlames()) {
+            if (expired.contains(flame)) reused++;
+            assertTrue("The flames of the explosion are visible", flame.isVisible());
+        }
+        assertEquals("Every expired flame is back on the grid", flameCount, reused);
+    }
+
+    @Test
+    public void testResetEnemy() throws Exception {
+        Enemy enemy = new Enemy(EnemyType.PONTAN, 64, 64);
+        enemy.setChaseEnabled(true);
+        enemy.setNextDestination(96, 64);
+        enemy.setHitByFlames(true);
+        enemy.death();
+
+        enemy.reset(EnemyType.BALLOOM, 32, 96);
+        assertEquals("The enemy takes the new type", EnemyType.BALLOOM, enemy.getEnemyType());
+        assertEquals("The enemy takes the attributes of the new type", 100, enemy.getScore());
+        assertFalse("The attributes of the old type are cleared", enemy.hasWallPass());
+        assertTrue("The enemy is alive again", enemy.isVisible());
+        assertFalse("The enemy is no longer hit by flames", enemy.isHitByFlames());
+        assertFalse("The chase of the old enemy is cleared", enemy.isChaseEnabled() || enemy.hasNextDestination());
+        assertEquals("The enemy is placed at the new position", 96, enemy.getPreviousY());
+    }
+}
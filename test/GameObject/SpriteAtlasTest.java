@@ -0,0 +1,34 @@
+package GameObject;
+
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+public class SpriteAtlasTest {
+
+    @Test
+    public void testSpriteForTypes() throws Exception {
+        for (EnemyType enemyType : EnemyType.values()) {
+            assertEquals("Every enemy type should have its own sprite",
+                    enemyType.name(), Sprite.forEnemy(enemyType).name());
+        }
+        assertEquals("PowerUp sprites are prefixed by POWERUP_",
+                Sprite.POWERUP_WALLPASS, Sprite.forPowerUp(PowerUpType.WALLPASS));
+    }
+
+    @Test
+    public void testDraw() throws Exception {
+        BufferedImage canvas = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = canvas.createGraphics();
+        SpriteAtlas.draw(g, Sprite.CONCRETE_WALL, 16, 16);
+        g.dispose();
+
+        assertTrue("The atlas should be loaded once a sprite is drawn", SpriteAtlas.isLoaded());
+        assertEquals("Nothing should be drawn outside of the sprite", 0, canvas.getRGB(15, 15));
+        assertTrue("The concrete wall sprite should be drawn at the given location",
+                (canvas.getRGB(16 + 16, 16 + 16) >>> 24) != 0);
+    }
+}
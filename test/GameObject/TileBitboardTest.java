@@ -0,0 +1,117 @@
+package GameObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class TileBitboardTest {
+
+    private TileBitboard bitboard;
+    private GameObject[][] walls;
+
+    @Before
+    public void setUp() {
+        bitboard = new TileBitboard();
+        walls = new GameObject[TileMap.NUM_OF_COLS][TileMap.NUM_OF_ROWS];
+        for (int col = 0; col < TileMap.NUM_OF_COLS; col++) {
+            walls[col][0] = new ConcreteWall(col * 32, 0);
+            walls[col][TileMap.NUM_OF_ROWS - 1] = new ConcreteWall(col * 32, (TileMap.NUM_OF_ROWS - 1) * 32);
+        }
+        for (int row = 0; row < TileMap.NUM_OF_ROWS; row++) {
+            walls[0][row] = new ConcreteWall(0, row * 32);
+            walls[TileMap.NUM_OF_COLS - 1][row] = new ConcreteWall((TileMap.NUM_OF_COLS - 1) * 32, row * 32);
+        }
+    }
+
+    @Test
+    public void testWallsFollowTileChanges() throws Exception {
+        walls[5][3] = new BrickWall(5 * 32, 3 * 32, true, false);
+        bitboard.allTilesChanged(walls);
+        assertTrue("Concrete walls are part of the concrete wall mask", bitboard.isConcreteWall(0, 4));
+        assertTrue("Brick walls are part of the brick wall mask", bitboard.isBrickWall(5, 3));
+        assertFalse("Brick walls are not concrete walls", bitboard.isConcreteWall(5, 3));
+        assertEquals("Every wall has a single bit", 2 * TileMap.NUM_OF_COLS + 2 * (TileMap.NUM_OF_ROWS - 2),
+                bitboard.count(bitboardConcreteWalls()));
+
+        assertTrue("A box overlapping the brick wall hits a wall", bitboard.anyWall(5 * 32 - 10, 3 * 32, 20, 20, false));
+        assertFalse("Brick walls are ignored with wallPass", bitboard.anyWall(5 * 32 - 10, 3 * 32, 20, 20, true));
+        assertFalse("A box on empty tiles hits no wall", bitboard.anyWall(2 * 32, 2 * 32, 32, 32, false));
+
+        bitboard.tileChanged(5, 3, null);
+        assertFalse("Destroyed brick walls are cleared", bitboard.isBrickWall(5, 3));
+    }
+
+    @Test
+    public void testBlastStopsAtWalls() throws Exception {
+        walls[7][2] = new BrickWall(7 * 32, 2 * 32, true, false);
+        bitboard.allTilesChanged(walls);
+        ArrayList<Bomb> bombs = new ArrayList<Bomb>();
+        bombs.add(new Bomb(5 * 32, 2 * 32));
+        bitboard.syncBombs(bombs, 3);
+
+        assertTrue("The tile of the bomb is part of the blast", bitboard.isDangerous(5, 2));
+        assertTrue("The blast reaches the tiles before a wall", bitboard.isDangerous(6, 2));
+        assertFalse("The blast does not cover the brick wall", bitboard.isDangerous(7, 2));
+        assertFalse("The blast does not go through the brick wall", bitboard.isDangerous(8, 2));
+        assertTrue("The blast reaches the radius of the bomb", bitboard.isDangerous(2, 2));
+        assertFalse("The blast does not cover the concrete wall", bitboard.isDangerous(5, 0));
+        assertTrue("The blast goes down to the radius", bitboard.isDangerous(5, 5));
+        assertFalse("The blast does not go further than the radius", bitboard.isDangerous(5, 6));
+
+        bombs.get(0).setVisible(false);
+        bitboard.syncBombs(bombs, 3);
+        assertEquals("Exploded bombs are no longer dangerous", 0, bitboard.count(bitboard.getDanger()));
+    }
+
+    @Test
+    public void testFloodFill() throws Exception {
+        // Close the first column of the grid with brick walls at column 2.
+        for (int row = 1; row < TileMap.NUM_OF_ROWS - 1; row++) {
+            walls[2][row] = new BrickWall(2 * 32, row * 32, true, false);
+        }
+        bitboard.allTilesChanged(walls);
+
+        long[] reachable = bitboard.newMask();
+        bitboard.floodFill(1, 1, false, reachable);
+        assertEquals("Only the tiles of the closed column are reachable", TileMap.NUM_OF_ROWS - 2, bitboard.count(reachable));
+        assertFalse("Walls can't be crossed", bitboard.isReachable(1, 1, 20, 8, false));
+        assertTrue("Brick walls can be crossed with wallPass", bitboard.isReachable(1, 1, 20, 8, true));
+
+        bitboard.floodFill(1, 1, true, reachable);
+        assertFalse("Tiles do not wrap around to the other side of the grid", bitboard.isSet(reachable, 0, 2));
+        assertEquals("Every tile inside the concrete walls is reachable with wallPass",
+                (TileMap.NUM_OF_COLS - 2) * (TileMap.NUM_OF_ROWS - 2), bitboard.count(reachable));
+    }
+
+    @Test
+    public void testFlames() throws Exception {
+        ArrayList<Flame> flames = new ArrayList<Flame>();
+        flames.add(new Flame(4 * 32, 6 * 32, true, 4 * 32, 6 * 32));
+        bitboard.syncFlames(flames);
+
+        assertTrue("Flames are part of the flame mask", bitboard.isFlame(4, 6));
+        assertTrue("A box overlapping the tile of a flame hits it", bitboard.anyFlame(4 * 32 + 31, 6 * 32 - 10, 20, 20));
+        assertFalse("A box touching the edge of a flame tile does not", bitboard.anyFlame(5 * 32, 6 * 32, 32, 32));
+
+        long[] tiles = bitboard.newMask();
+        bitboard.set(tiles, 4, 6);
+        assertTrue("Masks holding the tile of a flame intersect the flames", bitboard.anyFlame(tiles));
+
+        flames.get(0).setVisible(false);
+        bitboard.syncFlames(flames);
+        assertFalse("Expired flames are cleared", bitboard.isFlame(4, 6));
+    }
+
+    private long[] bitboardConcreteWalls() {
+        long[] mask = bitboard.newMask();
+        for (int row = 0; row < TileMap.NUM_OF_ROWS; row++) {
+            for (int col = 0; col < TileMap.NUM_OF_COLS; col++) {
+                if (bitboard.isConcreteWall(col, row)) bitboard.set(mask, col, row);
+            }
+        }
+        return mask;
+    }
+}
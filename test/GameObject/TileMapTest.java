@@ -1,5 +1,6 @@
 package GameObject;
 
+import GameObject.ArtificialIntelligence.PathScheduler;
 import GamePlay.GamePlayState;
 import org.junit.Before;
 import org.junit.Test;
@@ -43,6 +44,24 @@ public class TileMapTest {
 
     }
 
+    @Test
+    public void testDestroyedBrickWallUpdatesPathFinder() {
+        GameObject[][] walls = tileMap.getWalls();
+        tileMap.setBombRadius(1);
+        tileMap.setPowerUp(new PowerUp(PowerUpType.BOMBPASS, 200, 200));
+        walls[3][1] = new BrickWall(96, 32, true, false);
+        tileMap.setWalls(walls);
+        assertTrue("Replacing the walls updates the graph of the path finder",
+                tileMap.getPathFinder().isObstacle(0, 2));
+
+        int version = tileMap.getPathFinder().getGraphVersion();
+        tileMap.addFlames(64, 32);
+        assertFalse("The tile of the destroyed brick wall is freed in the graph right away",
+                tileMap.getPathFinder().isObstacle(0, 2));
+        assertTrue("Destroying a brick wall increments the version of the graph",
+                tileMap.getPathFinder().getGraphVersion() > version);
+    }
+
     @Test
     public void testAddFlames() {
         GameObject[][] walls = tileMap.getWalls();
@@ -52,6 +71,7 @@ public class TileMapTest {
         // col then row      |     row then col
         walls[2][1] = new BrickWall(1, 2, true, false);
         walls[1][2] = new BrickWall(2, 1, true, false);
+        tileMap.setWalls(walls);
 
         tileMap.addFlames(32, 32);
         assertTrue("We expect brick walls within the radius of explosion to be replaced by null in the two-dimensional " +
@@ -64,6 +84,7 @@ public class TileMapTest {
         tileMap = new TileMap(player, 1, userName);
         walls = tileMap.getWalls();
         walls[2][3] = new BrickWall(3, 2, true, false);
+        tileMap.setWalls(walls);
         // get the powerUp far from the explosion so that it doesn't alter the result.
         tileMap.setPowerUp(new PowerUp(PowerUpType.BOMBPASS, 200,200));
         tileMap.addFlames(64, 32);
@@ -79,6 +100,7 @@ public class TileMapTest {
         tileMap.setBombRadius(8);
         walls = tileMap.getWalls();
         walls[2][1] = new BrickWall(1, 2, true, true);
+        tileMap.setWalls(walls);
 
         tileMap.addFlames(32,32);
 
@@ -203,4 +225,83 @@ public class TileMapTest {
                 "harder enemy type", harderEnemy, EnemyType.PONTAN);
     }
 
+    @Test
+    public void testRemoveDeadEnemies() throws Exception {
+        ArrayList<Enemy> enemies = new ArrayList<Enemy>();
+        for (int i = 0; i < 6; i++) {
+            enemies.add(new Enemy(EnemyType.BALLOOM, 32 + 32 * i, 32));
+        }
+        tileMap.setEnemies(enemies);
+        Enemy firstAlive = enemies.get(2);
+        Enemy secondAlive = enemies.get(5);
+        // Enemies killed by the same blast are next to each other in the list.
+        enemies.get(0).death();
+        enemies.get(1).death();
+        enemies.get(3).death();
+        enemies.get(4).death();
+
+        tileMap.removeDeadEnemies();
+        assertEquals("Every dead enemy is removed in a single pass", 2, tileMap.getEnemies().size());
+        assertSame("The enemies alive keep their order", firstAlive, tileMap.getEnemies().get(0));
+        assertSame("The enemies alive keep their order", secondAlive, tileMap.getEnemies().get(1));
+        assertEquals("The enemy store follows the list", 2, tileMap.getEnemyStore().size());
+        assertSame("The enemy store follows the list", secondAlive, tileMap.getEnemyStore().getEnemy(1));
+        assertEquals("The dead enemies are released to the pool", 4, tileMap.getEnemyPool().getIdleCount());
+    }
+
+    @Test
+    public void testPooledEnemiesAllocateNoStore() throws Exception {
+        tileMap.setEnemies(new ArrayList<Enemy>());
+        tileMap.addNewEnemy();
+        Enemy enemy = tileMap.getEnemies().get(0);
+        enemy.death();
+        tileMap.removeDeadEnemies();
+        EnemyStore ownStore = enemy.getStore();
+        assertSame("The removed enemy moves back into the store it was created with", enemy.getOwnStore(), ownStore);
+
+        for (int i = 0; i < 3; i++) {
+            tileMap.addNewEnemy();
+            assertSame("The enemy is acquired from the pool", enemy, tileMap.getEnemies().get(0));
+            assertSame("The enemy is moved into the store of the grid", tileMap.getEnemyStore(), enemy.getStore());
+            enemy.death();
+            tileMap.removeDeadEnemies();
+            assertSame("Killing the enemy again allocates no store", ownStore, enemy.getStore());
+            assertEquals("The enemy keeps its state in its own store", EnemyType.BALLOOM, enemy.getEnemyType());
+        }
+        assertEquals("Only the enemies acquired from the pool are counted as handed out",
+                0, tileMap.getEnemyPool().getInUseCount());
+    }
+
+    @Test
+    public void testReplacedEnemiesCancelTheirSearches() throws Exception {
+        PathScheduler scheduler = tileMap.getPathFinder().getPathScheduler();
+        scheduler.setFrameBudget(1);
+        scheduler.startFrame();
+        for (Enemy enemy : tileMap.getEnemies()) {
+            scheduler.requestPath(enemy, tileMap.getPathFinder().toIndex(1, 1), tileMap.getPathFinder().toIndex(9, 27), false);
+        }
+        assertTrue("The searches of the enemies are suspended", scheduler.getNumOfSuspendedSearches() > 0);
+
+        tileMap.nextStage();
+        assertEquals("The searches of the enemies of the previous stage are cancelled",
+                0, scheduler.getNumOfSuspendedSearches());
+    }
+
+    @Test
+    public void testReplacedEnemiesAreReleasedToThePool() throws Exception {
+        ArrayList<Enemy> previousEnemies = new ArrayList<Enemy>(tileMap.getEnemies());
+        tileMap.nextStage();
+        assertEquals("The enemies of the previous stage are released to the pool",
+                previousEnemies.size(), tileMap.getEnemyPool().getIdleCount());
+
+        tileMap.spawnSetOfHarderEnemies(64, 64);
+        ArrayList<Enemy> stageEnemies = new ArrayList<Enemy>(tileMap.getEnemies());
+        for (int i = 0; i < 20; i++) {
+            tileMap.determineIfShouldSpawnHarderEnemies();
+        }
+        assertFalse("The harder set replaced the enemies of the stage", tileMap.getEnemies().contains(stageEnemies.get(0)));
+        assertEquals("The enemies replaced by the harder set are released to the pool",
+                previousEnemies.size() + stageEnemies.size(), tileMap.getEnemyPool().getIdleCount());
+    }
+
 }
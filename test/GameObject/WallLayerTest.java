@@ -0,0 +1,52 @@
+package GameObject;
+
+import GamePlay.Viewport;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+public class WallLayerTest {
+
+    @Test
+    public void testInvalidateTile() throws Exception {
+        GameObject[][] walls = new GameObject[TileMap.NUM_OF_COLS][TileMap.NUM_OF_ROWS];
+        walls[2][1] = new BrickWall(64, 32, true, false);
+        walls[0][0] = new ConcreteWall(0, 0);
+        WallLayer wallLayer = new WallLayer();
+        assertTrue("A new wall layer must be painted before being drawn", wallLayer.isDirty());
+
+        BufferedImage canvas = drawLayer(wallLayer, walls, false);
+        assertFalse("The dirty tiles are repainted when the layer is drawn", wallLayer.isDirty());
+        assertTrue("The brick wall should be part of the layer", (canvas.getRGB(64 + 16, 32 + 16) >>> 24) != 0);
+
+        // Destroying the brick wall without invalidating its tile keeps the cached image.
+        walls[2][1] = null;
+        canvas = drawLayer(wallLayer, walls, false);
+        assertTrue("Tiles that are not invalidated are not repainted", (canvas.getRGB(64 + 16, 32 + 16) >>> 24) != 0);
+
+        wallLayer.invalidateTile(2, 1);
+        canvas = drawLayer(wallLayer, walls, false);
+        assertEquals("The destroyed brick wall should be cleared from the layer", 0, canvas.getRGB(64 + 16, 32 + 16));
+        assertTrue("The other tiles should be kept", (canvas.getRGB(16, 16) >>> 24) != 0);
+    }
+
+    @Test
+    public void testBrickWallsHiddenDuringBonusStage() throws Exception {
+        GameObject[][] walls = new GameObject[TileMap.NUM_OF_COLS][TileMap.NUM_OF_ROWS];
+        walls[2][1] = new BrickWall(64, 32, true, false);
+        BufferedImage canvas = drawLayer(new WallLayer(), walls, true);
+        assertEquals("Brick walls are not rendered during bonus stages", 0, canvas.getRGB(64 + 16, 32 + 16));
+    }
+
+    private BufferedImage drawLayer(WallLayer wallLayer, GameObject[][] walls, boolean isBonusStage) {
+        BufferedImage canvas = new BufferedImage(TileMap.TOTAL_WIDTH_OF_COLUMNS, TileMap.TOTAL_HEIGHT_OF_ROWS,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = canvas.createGraphics();
+        wallLayer.draw(g, walls, isBonusStage, new Viewport(0, TileMap.TOTAL_WIDTH_OF_COLUMNS));
+        g.dispose();
+        return canvas;
+    }
+}
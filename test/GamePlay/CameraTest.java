@@ -23,4 +23,14 @@ public class CameraTest {
                 "thresholds", 222, result);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testGetViewport() throws Exception {
+        assertEquals("The viewport is fixed on the left side of the board before the camera moves",
+                0, cam.getViewport(false, false, 0).getMinX());
+        assertEquals("The viewport encompasses the right side of the board in the second camera region",
+                992 - 480, cam.getViewport(false, true, 0).getMinX());
+        assertEquals("The viewport follows the camera while it is moving",
+                -222, cam.getViewport(true, false, 0).getMinX());
+    }
+
+}
@@ -0,0 +1,117 @@
+package GamePlay;
+
+import GameObject.Enemy;
+import GameObject.Sprite;
+import GameObject.TileMap;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class HeadlessSimulationTest {
+
+    @Test
+    public void testModelsAreCreatedWithoutLoadingSprites() throws Exception {
+        GamePlayManager gamePlayManager = new GamePlayManager(1);
+        assertEquals("The player should be represented by the bomberman sprite",
+                Sprite.BOMBERMAN, gamePlayManager.getPlayer().getSprite());
+        for (Enemy enemy : gamePlayManager.getTileMap().getEnemies()) {
+            assertEquals("The enemies should take the dimensions of their sprite without loading it",
+                    enemy.getSprite().getWidth(), enemy.getWidth());
+        }
+    }
+
+    @Test
+    public void testRunStage() throws Exception {
+        HeadlessSimulation simulation = new HeadlessSimulation(1, 42);
+        int ticks = simulation.runStage(500);
+        assertTrue("The stage should be simulated for at least one tick", ticks > 0);
+        assertTrue("The simulation should stop after the maximum number of ticks", ticks <= 500);
+        assertEquals("Every simulated tick should be counted", ticks, simulation.getTicksSimulated());
+    }
+
+    @Test
+    public void testSimulationIsReproducible() throws Exception {
+        HeadlessSimulation first = new HeadlessSimulation(3, 7);
+        first.runStage(300);
+        HeadlessSimulation second = new HeadlessSimulation(3, 7);
+        second.runStage(300);
+
+        assertEquals("Simulations with the same seed should end with the player at the same X position",
+                first.getGamePlayManager().getPlayer().getPosX(), second.getGamePlayManager().getPlayer().getPosX());
+        assertEquals("Simulations with the same seed should end with the player at the same Y position",
+                first.getGamePlayManager().getPlayer().getPosY(), second.getGamePlayManager().getPlayer().getPosY());
+    }
+
+    @Test
+    public void testOtherGamesDoNotAffectReproducibility() throws Exception {
+        HeadlessSimulation alone = new HeadlessSimulation(3, 7);
+        alone.runStage(300);
+
+        // Another game created and played between the ticks draws from its own random number generator.
+        HeadlessSimulation simulation = new HeadlessSimulation(3, 7);
+        GamePlayManager other = new GamePlayManager(3);
+        for (int tick = 0; tick < 300 && !simulation.isGameFinished(); tick++) {
+            simulation.tick();
+            other.update();
+        }
+        assertEquals("A game should not be affected by the other games of the process",
+                describeOutcome(alone), describeOutcome(simulation));
+    }
+
+    @Test
+    public void testGamesRunInParallel() throws Exception {
+        ArrayList<HeadlessSimulation> simulations = new ArrayList<HeadlessSimulation>();
+        for (int i = 0; i < 4; i++) {
+            simulations.add(new HeadlessSimulation(5 + i, i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(simulations.size());
+        ArrayList<Future<Integer>> results = new ArrayList<Future<Integer>>();
+        for (final HeadlessSimulation simulation : simulations) {
+            results.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return simulation.runStage(300);
+                }
+            }));
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < simulations.size(); i++) {
+            assertTrue("Every game should be simulated on its own thread", results.get(i).get() > 0);
+            TileMap tileMap = simulations.get(i).getGamePlayManager().getTileMap();
+            for (Enemy enemy : tileMap.getEnemies()) {
+                assertSame("The enemies should use the path finder of their own game",
+                        tileMap.getPathFinder(), enemy.getPathFinder());
+            }
+
+            // The same game run alone, after the others, ends the same way.
+            HeadlessSimulation sequential = new HeadlessSimulation(5 + i, i);
+            sequential.runStage(300);
+            assertEquals("A game run in parallel with others should end as when it runs alone",
+                    describeOutcome(sequential), describeOutcome(simulations.get(i)));
+        }
+    }
+
+    /**
+     * Describe the state a simulation ended in: the ticks simulated, the player and every enemy.
+     */
+    private String describeOutcome(HeadlessSimulation simulation) {
+        GamePlayManager gamePlayManager = simulation.getGamePlayManager();
+        StringBuilder outcome = new StringBuilder();
+        outcome.append(simulation.getTicksSimulated()).append(' ')
+               .append(gamePlayManager.getPlayer().getPosX()).append(',').append(gamePlayManager.getPlayer().getPosY())
+               .append(' ').append(gamePlayManager.getPlayer().getCurrentGamePlayState());
+        for (Enemy enemy : gamePlayManager.getTileMap().getEnemies()) {
+            outcome.append(' ').append(enemy.getEnemyType()).append('@')
+                   .append(enemy.getPosX()).append(',').append(enemy.getPosY());
+        }
+        return outcome.toString();
+    }
+}
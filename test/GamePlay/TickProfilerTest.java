@@ -0,0 +1,79 @@
+package GamePlay;
+
+import org.junit.Test;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+public class TickProfilerTest {
+
+    @Test
+    public void testPercentiles() throws Exception {
+        TickProfiler profiler = new TickProfiler();
+        for (int i = 1; i <= 100; i++) {
+            profiler.record(TickPhase.CHECK_COLLISIONS, i * 1000L);
+        }
+        assertEquals("The median of 1..100 microseconds", 50.0, profiler.getPercentileMicros(TickPhase.CHECK_COLLISIONS, 50), 1e-9);
+        assertEquals("The 99th percentile of 1..100 microseconds", 99.0, profiler.getPercentileMicros(TickPhase.CHECK_COLLISIONS, 99), 1e-9);
+        assertEquals("The maximum of 1..100 microseconds", 100.0, profiler.getMaxMicros(TickPhase.CHECK_COLLISIONS), 1e-9);
+        assertEquals("Phases that were not measured report 0", 0.0, profiler.getPercentileMicros(TickPhase.DRAW_HUD, 50), 1e-9);
+    }
+
+    @Test
+    public void testRollingWindow() throws Exception {
+        TickProfiler profiler = new TickProfiler();
+        profiler.record(TickPhase.PLAYER_MOVE, 1000000L);
+        for (int i = 0; i < TickProfiler.WINDOW_SIZE; i++) {
+            profiler.record(TickPhase.PLAYER_MOVE, 1000L);
+        }
+        assertEquals("Old samples leave the window", 1.0, profiler.getMaxMicros(TickPhase.PLAYER_MOVE), 1e-9);
+        assertEquals("The window is bounded", TickProfiler.WINDOW_SIZE, profiler.getSampleCount(TickPhase.PLAYER_MOVE));
+
+        profiler.reset();
+        assertEquals("Reset discards every sample", 0, profiler.getSampleCount(TickPhase.PLAYER_MOVE));
+    }
+
+    @Test
+    public void testDisabledProfilerDoesNotRecord() throws Exception {
+        TickProfiler profiler = new TickProfiler();
+        profiler.setEnabled(false);
+        long start = profiler.start();
+        profiler.stop(TickPhase.UPDATE_CAMERA, start);
+        assertEquals("Nothing is recorded while the profiler is disabled", 0, profiler.getSampleCount(TickPhase.UPDATE_CAMERA));
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        TickProfiler profiler = new TickProfiler();
+        assertFalse("The profiler does not record until it is enabled", profiler.isEnabled());
+        profiler.stop(TickPhase.MOVE_ENEMIES, profiler.start());
+        assertEquals("Nothing is recorded by default", 0, profiler.getSampleCount(TickPhase.MOVE_ENEMIES));
+    }
+
+    @Test
+    public void testGamesHaveTheirOwnProfiler() throws Exception {
+        GamePlayManager first = new GamePlayManager(1);
+        GamePlayManager second = new GamePlayManager(1);
+        assertNotSame("Every game has its own profiler", first.getProfiler(), second.getProfiler());
+
+        first.getProfiler().record(TickPhase.PLAYER_MOVE, 1000L);
+        assertEquals("The samples of a game stay in its profiler", 0, second.getProfiler().getSampleCount(TickPhase.PLAYER_MOVE));
+    }
+
+    @Test
+    public void testRegisteredWithPlatformMBeanServer() throws Exception {
+        TickProfiler previous = new TickProfiler();
+        previous.register();
+        TickProfiler profiler = new TickProfiler();
+        profiler.register();
+        profiler.record(TickPhase.DRAW_OBJECTS, 2000L);
+
+        TickProfilerMXBean bean = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+                new ObjectName(TickProfiler.OBJECT_NAME), TickProfilerMXBean.class);
+        assertEquals("The profiler registered last is exposed through JMX",
+                2.0, bean.getMaxMicros().get(TickPhase.DRAW_OBJECTS.getLabel()), 1e-9);
+    }
+}
@@ -0,0 +1,30 @@
+package GamePlay;
+
+import GameObject.TileMap;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ViewportTest {
+
+    @Test
+    public void testIsVisible() throws Exception {
+        Viewport viewport = new Viewport(100, 480);
+        assertTrue("An object inside the viewport is visible", viewport.isVisible(200, 32));
+        assertTrue("An object overlapping the left edge is visible", viewport.isVisible(80, 32));
+        assertTrue("An object overlapping the right edge is visible", viewport.isVisible(570, 32));
+        assertFalse("An object left of the viewport is not visible", viewport.isVisible(68, 32));
+        assertFalse("An object right of the viewport is not visible", viewport.isVisible(580, 32));
+    }
+
+    @Test
+    public void testVisibleColumns() throws Exception {
+        Viewport viewport = new Viewport(100, 480);
+        assertEquals("The partially visible column on the left is included", 3, viewport.getFirstVisibleCol());
+        assertEquals("The partially visible column on the right is included", 18, viewport.getLastVisibleCol());
+
+        Viewport wholeBoard = new Viewport(0, TileMap.TOTAL_WIDTH_OF_COLUMNS);
+        assertEquals("The first column of the board", 0, wholeBoard.getFirstVisibleCol());
+        assertEquals("The last column of the board", TileMap.NUM_OF_COLS - 1, wholeBoard.getLastVisibleCol());
+    }
+}
@@ -0,0 +1,44 @@
+package SystemController;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrameStatsTest {
+
+    private static final long FRAME = 10000000L;
+
+    @Test
+    public void testRecordFrame() throws Exception {
+        FrameStats frameStats = new FrameStats(FRAME);
+        frameStats.recordFrame(0, 1000000L);
+        assertEquals("The first frame only sets the reference for the next interval", 0, frameStats.getFrameCount());
+
+        // Two frames on time, one missing its deadline.
+        frameStats.recordFrame(FRAME, FRAME + 1000000L);
+        frameStats.recordFrame(2 * FRAME, 2 * FRAME + 3000000L);
+        frameStats.recordFrame(4 * FRAME, 4 * FRAME + 1000000L);
+
+        assertEquals("Three frame intervals are recorded", 3, frameStats.getFrameCount());
+        assertEquals("Only the frame presented a whole frame late misses its deadline",
+                1, frameStats.getMissedDeadlines());
+        assertEquals("The average present time is computed over the window",
+                5.0 / 3, frameStats.getAveragePresentMillis(), 1e-9);
+        assertEquals("The longest present time is kept", 3.0, frameStats.getMaxPresentMillis(), 1e-9);
+        // Intervals of 10, 12 and 18 ms for a 10 ms target.
+        assertEquals("The jitter is the average deviation from the targeted frame duration",
+                10.0 / 3, frameStats.getJitterMillis(), 1e-9);
+        assertEquals("The frame rate is computed over the window", 3 * 1e9 / 40000000L,
+                frameStats.getFramesPerSecond(), 1e-9);
+    }
+
+    @Test
+    public void testRollingWindow() throws Exception {
+        FrameStats frameStats = new FrameStats(FRAME);
+        for (int i = 0; i <= FrameStats.WINDOW_SIZE + 10; i++) {
+            frameStats.recordFrame(i * FRAME, i * FRAME);
+        }
+        assertEquals("The window only keeps the most recent frames", FrameStats.WINDOW_SIZE, frameStats.getFrameCount());
+        assertEquals("Every frame is counted in the totals", FrameStats.WINDOW_SIZE + 10, frameStats.getTotalFrames());
+    }
+}